@@ -0,0 +1,80 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AI FACTORY - Builds the pursuit AI for a difficulty
+ * GameWindow and BatchSimulator both get their GreedyAI from here, so a
+ * batch game plays exactly the AI a player meets in the window:
+ * - "hard": AdversarialSearch lookahead evaluated with the layout's DistanceOracle
+ * - "perfect": the RetrogradeSolver table (hard scoring if the maze is too big to solve)
+ * - useOracle: the oracle also scores the one-ply candidates
+ *
+ * newAI() is cheap; equip() does the expensive part (oracle, solved
+ * table, lookahead) and may run on a worker thread. Oracles and tables
+ * are cached per layout (wall fingerprint) and shared between AIs; they
+ * are immutable, so one factory can serve many threads. Each GreedyAI
+ * belongs to one game.
+ */
+class AIFactory {
+    
+    private final Map<Long, DistanceOracle> oracles = new ConcurrentHashMap<>();
+    private final Map<Long, RetrogradeSolver> solutions = new ConcurrentHashMap<>();
+    
+    /**
+     * Fully equipped AI for a difficulty
+     */
+    public GreedyAI create(MazeGraph graph, int exitCell, String difficulty,
+                           boolean mazeDistance, boolean useOracle) {
+        GreedyAI ai = newAI(graph, difficulty, mazeDistance);
+        equip(ai, graph, exitCell, useOracle);
+        return ai;
+    }
+    
+    /**
+     * Bare AI: plays with one-ply scoring until equip() has run
+     */
+    public GreedyAI newAI(MazeGraph graph, String difficulty, boolean mazeDistance) {
+        return new GreedyAI(graph, difficulty, mazeDistance);
+    }
+    
+    /**
+     * Attach the oracle, solved table or lookahead the AI's difficulty uses
+     * Time Complexity: first call per layout O(V × E) for the oracle or
+     * O(V² × degree) for the solved table; cached afterwards
+     */
+    public void equip(GreedyAI ai, MazeGraph graph, int exitCell, boolean useOracle) {
+        ai.setDistanceOracle(useOracle ? oracleFor(graph) : null);
+        String difficulty = ai.getDifficulty().toLowerCase();
+        if (difficulty.equals("perfect")) {
+            ai.setSolution(solutionFor(graph, exitCell));
+        } else if (difficulty.equals("hard")) {
+            ai.setLookahead(new AdversarialSearch(graph, exitCell, oracleFor(graph)));
+        }
+    }
+    
+    /**
+     * Distance oracle for a layout, built once and then reused
+     */
+    public DistanceOracle oracleFor(MazeGraph graph) {
+        return oracles.computeIfAbsent(WallGrid.fingerprint(graph.getGrid()),
+                                       key -> DistanceOracle.forGraph(graph));
+    }
+    
+    /**
+     * Solved pursuit table for a layout and exit, solved once and then
+     * reused; null when the maze has too many cells to solve
+     */
+    public RetrogradeSolver solutionFor(MazeGraph graph, int exitCell) {
+        if (!solvable(graph)) return null;
+        return solutions.computeIfAbsent(WallGrid.fingerprint(graph.getGrid()) * 31 + exitCell,
+                                         key -> RetrogradeSolver.solve(graph, exitCell));
+    }
+    
+    private static boolean solvable(MazeGraph graph) {
+        int walkable = 0;
+        for (int id = 0; id < graph.getCellCount(); id++) {
+            if (!graph.isWall(id)) walkable++;
+        }
+        return walkable <= RetrogradeSolver.MAX_WALKABLE_CELLS;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+import javax.swing.SwingUtilities;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * AI WORKER - Computes AI decisions off the Swing event dispatch thread
+ * GameWindow asks for the AI's move as soon as the player has moved;
+ * the decision runs on one background thread and the result is handed
+ * back to the EDT with invokeLater, so input and painting never wait on
+ * the AI however expensive its strategy.
+ *
+ * - One daemon thread: a game's AI, planners and search tables are only
+ *   ever used by one thread at a time (none of them are thread-safe)
+ * - The engine is not stepped while the AI is thinking (the player turn
+ *   is locked), so the worker can read its positions directly
+ * - cancel() (new game, menu, game over) interrupts a running decision,
+ *   which alpha-beta search notices at its next time check, and drops
+ *   any result still on its way to the EDT
+ * - prepare() runs a game's expensive setup (oracle, solved table,
+ *   lookahead) ahead of its first decision; the thread runs tasks in
+ *   order, so every later request sees the finished setup
+ *
+ * Speculation: while the player thinks, speculate() computes the AI's
+ * reply to each of the player's (at most four) moves. When the real
+ * move arrives, request() finds its reply already computed and only
+ * hands it over. Speculative replies use GreedyAI.preview(), so the AI's
+ * move history only changes for the reply that is played; they live on
+ * the worker thread alone and are dropped on the next request.
+ *
+ * All methods are called on the EDT.
+ */
+class AIWorker {
+    
+    /**
+     * A finished decision for one engine
+     */
+    static class Result {
+        final GameEngine engine;
+        final GreedyAI.DecisionBuffer decision = new GreedyAI.DecisionBuffer();
+        boolean decided;
+        long nanos;
+        boolean speculative;  // computed during the player's turn
+        
+        Result(GameEngine engine) {
+            this.engine = engine;
+        }
+    }
+    
+    /** Receives results on the EDT */
+    interface Listener {
+        void decided(Result result);
+    }
+    
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "AI worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Bumped by every request and cancel; results from older tickets are dropped
+    private int ticket;
+    private Future<?> pending;
+    
+    // Speculative replies for one position (worker thread only)
+    private GameEngine specEngine;
+    private int specAiCell = -1;
+    private final int[] specPlayerCells = new int[4];
+    private final Result[] specResults = new Result[4];
+    private int specCount;
+    
+    /**
+     * Run setup work on the worker ahead of any later request or
+     * speculation; cancel() does not interrupt it, since its results
+     * (cached oracles and tables) outlive the game that asked for them
+     */
+    public void prepare(Runnable setup) {
+        executor.submit(() -> {
+            try {
+                setup.run();
+            } catch (RuntimeException e) {
+                // The AI keeps playing with whatever setup it got
+                e.printStackTrace();
+            }
+        });
+    }
+    
+    /**
+     * Start computing the AI's move for the engine's current position,
+     * cancelling any earlier request
+     */
+    public void request(GameEngine engine, Listener listener) {
+        cancel();
+        int requestTicket = ticket;
+        int aiRow = engine.getAiRow();
+        int aiCol = engine.getAiCol();
+        int aiCell = engine.getGraph().getCellId(aiRow, aiCol);
+        int playerCell = engine.getGraph().getCellId(engine.getPlayerRow(), engine.getPlayerCol());
+        pending = executor.submit(() -> {
+            Result result = takeSpeculation(engine, aiCell, playerCell);
+            if (result != null) {
+                engine.getAI().remember(aiRow, aiCol);
+            } else {
+                result = new Result(engine);
+                long start = System.nanoTime();
+                try {
+                    result.decided = engine.decideAI(result.decision);
+                } catch (RuntimeException e) {
+                    // Publish "no move" so the turn still passes back to the player
+                    e.printStackTrace();
+                }
+                result.nanos = System.nanoTime() - start;
+            }
+            Result published = result;
+            SwingUtilities.invokeLater(() -> {
+                if (requestTicket == ticket) listener.decided(published);
+            });
+        });
+    }
+    
+    /**
+     * Start computing the AI's reply to each legal player move, during
+     * the player's turn; cancelling any earlier request
+     * Time Complexity: up to four AI decisions
+     */
+    public void speculate(GameEngine engine) {
+        cancel();
+        
+        // Snapshot on the EDT: the player may move while the worker runs
+        int aiRow = engine.getAiRow();
+        int aiCol = engine.getAiCol();
+        int aiCell = engine.getGraph().getCellId(aiRow, aiCol);
+        int[] playerCells = new int[4];
+        int count = 0;
+        for (int direction : new int[] {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT}) {
+            int cell = engine.playerCellAfter(direction);
+            if (cell >= 0) playerCells[count++] = cell;
+        }
+        int moves = count;
+        
+        pending = executor.submit(() -> {
+            MazeGraph graph = engine.getGraph();
+            specEngine = engine;
+            specAiCell = aiCell;
+            specCount = 0;
+            for (int i = 0; i < moves; i++) {
+                Result result = new Result(engine);
+                result.speculative = true;
+                long start = System.nanoTime();
+                try {
+                    result.decided = engine.getAI().preview(aiRow, aiCol,
+                        graph.getRowOf(playerCells[i]), graph.getColOf(playerCells[i]), result.decision);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    return;
+                }
+                result.nanos = System.nanoTime() - start;
+                
+                // An interrupted search stopped early: keep only full replies
+                if (Thread.currentThread().isInterrupted()) return;
+                specPlayerCells[specCount] = playerCells[i];
+                specResults[specCount++] = result;
+            }
+        });
+    }
+    
+    /**
+     * Speculative reply for the position, if one was computed; clears
+     * the rest (worker thread only)
+     */
+    private Result takeSpeculation(GameEngine engine, int aiCell, int playerCell) {
+        Result found = null;
+        if (engine == specEngine && aiCell == specAiCell) {
+            for (int i = 0; i < specCount; i++) {
+                if (specPlayerCells[i] == playerCell) found = specResults[i];
+            }
+        }
+        specEngine = null;
+        specCount = 0;
+        java.util.Arrays.fill(specResults, null);
+        return found;
+    }
+    
+    /**
+     * Whether a request or speculation is still running on the worker
+     */
+    public boolean isBusy() {
+        return pending != null && !pending.isDone();
+    }
+    
+    /**
+     * Abandon the current request or speculation, if any
+     */
+    public void cancel() {
+        ticket++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+import javax.swing.SwingUtilities;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * AI WORKER CHECK - Headless replay check for AIWorker speculation
+ * Seeded random games on the built-in mazes and difficulties are played
+ * three ways with the same player moves: stepAI() on the calling thread,
+ * AIWorker.request() alone, and speculate() during the player's turn
+ * followed by request(). All three must give the same AI moves and
+ * decisions, and with speculation every reply must be served from the
+ * speculated results. A "hard" AI equipped through prepare(), with a
+ * cancel() in between, must have its lookahead in place by the first
+ * request.
+ *
+ * Usage: java AIWorkerCheck
+ * Exits with status 1 on a failure.
+ */
+public class AIWorkerCheck {
+    
+    private static final int GAMES_PER_SETUP = 20;
+    private static final int TURNS_PER_GAME = 200;
+    private static final int[] DIRECTIONS = {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT};
+    
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        AIWorker worker = new AIWorker();
+        boolean ok = true;
+        for (String maze : new String[] {"easy", "medium", "hard"}) {
+            for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+                for (boolean mazeDistance : new boolean[] {false, true}) {
+                    ok &= check(worker, maze, difficulty, mazeDistance);
+                }
+            }
+        }
+        ok &= checkPrepare(worker);
+        if (!ok) System.exit(1);
+    }
+    
+    /**
+     * Setup queued by prepare() runs before the next request and survives
+     * cancel(), as when GameWindow starts a game
+     */
+    private static boolean checkPrepare(AIWorker worker) throws Exception {
+        AIFactory factory = new AIFactory();
+        String problem = null;
+        for (String maze : new String[] {"easy", "medium", "hard"}) {
+            MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze(maze);
+            MazeGraph graph = new MazeGraph(config.packedGrid);
+            int exitCell = graph.getCellId(config.exit.x, config.exit.y);
+            GreedyAI ai = factory.newAI(graph, "hard", false);
+            GameEngine engine = new GameEngine(config, graph, ai);
+            
+            AIWorker.Result[] result = new AIWorker.Result[1];
+            boolean[] equipped = new boolean[1];
+            CountDownLatch done = new CountDownLatch(1);
+            SwingUtilities.invokeAndWait(() -> {
+                worker.prepare(() -> factory.equip(ai, graph, exitCell, true));
+                worker.cancel();
+                worker.request(engine, published -> {
+                    result[0] = published;
+                    equipped[0] = ai.getLookahead() != null;
+                    done.countDown();
+                });
+            });
+            done.await();
+            if (!equipped[0]) {
+                problem = maze + " maze: request ran before the lookahead was attached";
+            } else if (!result[0].decided) {
+                problem = maze + " maze: no decision after prepare()";
+            }
+            if (problem != null) break;
+        }
+        if (problem != null) {
+            System.out.printf("FAIL prepare: %s%n", problem);
+            return false;
+        }
+        System.out.println("ok   prepare: hard AI equipped on the worker before its first request");
+        return true;
+    }
+    
+    private static boolean check(AIWorker worker, String maze, String difficulty, boolean mazeDistance)
+            throws Exception {
+        int turns = 0;
+        int speculated = 0;
+        String problem = null;
+        for (int seed = 0; seed < GAMES_PER_SETUP && problem == null; seed++) {
+            long direct = play(null, maze, difficulty, mazeDistance, seed, false, new int[2]);
+            long requested = play(worker, maze, difficulty, mazeDistance, seed, false, new int[2]);
+            int[] counts = new int[2];
+            long withSpeculation = play(worker, maze, difficulty, mazeDistance, seed, true, counts);
+            turns += counts[0];
+            speculated += counts[1];
+            
+            if (requested != direct) {
+                problem = "game " + seed + ": request() differs from stepAI()";
+            } else if (withSpeculation != direct) {
+                problem = "game " + seed + ": speculation differs from stepAI()";
+            } else if (counts[1] != counts[0]) {
+                problem = "game " + seed + ": " + (counts[0] - counts[1]) + " replies not speculated";
+            }
+        }
+        String name = maze + " maze, " + difficulty + (mazeDistance ? " (maze distance)" : "");
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return false;
+        }
+        System.out.printf("ok   %s: %d AI turns, %d served from speculation%n", name, turns, speculated);
+        return true;
+    }
+    
+    /**
+     * One game; returns a hash of every AI move and decision. counts[0]
+     * gets the worker's AI turns and counts[1] the speculative ones
+     */
+    private static long play(AIWorker worker, String maze, String difficulty, boolean mazeDistance,
+                             long seed, boolean speculate, int[] counts) throws Exception {
+        MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze(maze);
+        MazeGraph graph = new MazeGraph(config.packedGrid);
+        GameEngine engine = new GameEngine(config, graph, new GreedyAI(graph, difficulty, mazeDistance));
+        SplittableRandom random = new SplittableRandom(seed);
+        
+        long hash = 0;
+        for (int t = 0; t < TURNS_PER_GAME && engine.getState() == GameEngine.State.PLAYING; t++) {
+            if (speculate) {
+                SwingUtilities.invokeAndWait(() -> worker.speculate(engine));
+                awaitIdle(worker);
+            }
+            if (!engine.movePlayer(DIRECTIONS[random.nextInt(4)])) continue;
+            if (engine.getState() != GameEngine.State.PLAYING) break;
+            
+            if (worker == null) {
+                engine.stepAI();
+            } else {
+                AIWorker.Result[] result = new AIWorker.Result[1];
+                CountDownLatch done = new CountDownLatch(1);
+                SwingUtilities.invokeAndWait(() -> worker.request(engine, published -> {
+                    engine.applyAI(published.decided, published.decision);
+                    result[0] = published;
+                    done.countDown();
+                }));
+                done.await();
+                counts[0]++;
+                if (result[0].speculative) counts[1]++;
+            }
+            hash = hash * 31 + engine.getAiRow() * 1000 + engine.getAiCol();
+            GreedyAI.Decision played = engine.getLastAiDecision();
+            if (played != null) hash = DecisionCheck.hash(hash, played);
+        }
+        return hash * 7 + engine.getState().ordinal();
+    }
+    
+    private static void awaitIdle(AIWorker worker) throws Exception {
+        boolean[] busy = {true};
+        while (busy[0]) {
+            SwingUtilities.invokeAndWait(() -> busy[0] = worker.isBusy());
+            if (busy[0]) Thread.sleep(1);
+        }
+    }
+}
\ No newline at end of file
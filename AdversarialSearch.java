@@ -0,0 +1,356 @@
+import java.util.SplittableRandom;
+
+/**
+ * ADVERSARIAL SEARCH - Alpha-beta lookahead over (AI cell, player cell)
+ * The chase is a two-player game: the AI maximizes, the player
+ * minimizes, and states are (AI cell, player cell, side to move). The
+ * AI wins by reaching the player (or the player stepping into it); the
+ * player wins by reaching the exit.
+ *
+ * - Negamax with alpha-beta pruning; moves ordered transposition-table
+ *   move first, then by static evaluation
+ * - Iterative deepening until the per-move time budget or the depth cap
+ *   runs out, or the thread is interrupted; the last completed depth
+ *   decides the move
+ * - Transposition table keyed by Zobrist hashes (one random 64-bit key
+ *   per cell and role), fixed size, depth-preferred replacement; entries
+ *   from earlier moves age out and are always replaceable
+ * - Evaluation: maze distance to the player (DistanceOracle, exact on
+ *   small mazes) and the race to the exit
+ *
+ * Not thread-safe; one instance per AI.
+ */
+public class AdversarialSearch {
+    
+    public static final int DEFAULT_MAX_DEPTH = 32;
+    public static final long DEFAULT_TIME_BUDGET_NANOS = 2_000_000L;
+    public static final int DEFAULT_TABLE_BITS = 16;
+    
+    // Scores are from the side to move; captures and escapes are WIN - ply
+    static final int WIN = 1_000_000;
+    static final int WIN_BOUND = WIN - 1000;
+    private static final int INFINITY = WIN + 1;
+    private static final int CHASE_WEIGHT = 2;
+    private static final int EXIT_WEIGHT = 1;
+    
+    private static final byte EXACT = 0;
+    private static final byte LOWER = 1;
+    private static final byte UPPER = 2;
+    
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final int cols;
+    private final int exitCell;
+    private final int[] exitDistance;
+    private final DistanceOracle oracle;
+    private final int unreachable;
+    
+    // Zobrist keys
+    private final long[] aiKeys;
+    private final long[] playerKeys;
+    private final long aiToMoveKey;
+    
+    // Transposition table (parallel arrays, one slot per index)
+    private final int tableMask;
+    private final long[] tableKeys;
+    private final int[] tableValues;
+    private final int[] tableMoves;
+    private final byte[] tableDepths;
+    private final byte[] tableFlags;
+    private final short[] tableAges;
+    private short age;
+    private boolean tableEnabled = true;
+    
+    // Per-ply move lists and their ordering scores
+    private final int[][] moveLists = new int[DEFAULT_MAX_DEPTH + 2][4];
+    private final int[][] moveScores = new int[DEFAULT_MAX_DEPTH + 2][4];
+    
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private long timeBudgetNanos = DEFAULT_TIME_BUDGET_NANOS;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private int completedDepth;
+    private int lastScore;
+    
+    /**
+     * @param exitCell exit cell id, or -1 to search the chase alone
+     * @param oracle   distances for the evaluation; null builds one
+     */
+    public AdversarialSearch(MazeGraph graph, int exitCell, DistanceOracle oracle) {
+        this(graph, exitCell, oracle, DEFAULT_TABLE_BITS);
+    }
+    
+    public AdversarialSearch(MazeGraph graph, int exitCell, DistanceOracle oracle, int tableBits) {
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        this.cols = graph.getCols();
+        this.exitCell = exitCell;
+        this.oracle = (oracle != null) ? oracle : DistanceOracle.forGraph(graph);
+        this.unreachable = graph.getCellCount();
+        
+        if (exitCell >= 0) {
+            FlowField field = new FlowField(graph);
+            field.update(exitCell);
+            this.exitDistance = new int[graph.getCellCount()];
+            for (int cell = 0; cell < exitDistance.length; cell++) {
+                int d = field.distanceTo(cell);
+                exitDistance[cell] = (d == FlowField.UNREACHABLE) ? unreachable : d;
+            }
+        } else {
+            this.exitDistance = null;
+        }
+        
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        this.aiKeys = new long[graph.getCellCount()];
+        this.playerKeys = new long[graph.getCellCount()];
+        for (int cell = 0; cell < aiKeys.length; cell++) {
+            aiKeys[cell] = random.nextLong();
+            playerKeys[cell] = random.nextLong();
+        }
+        this.aiToMoveKey = random.nextLong();
+        
+        int size = 1 << tableBits;
+        this.tableMask = size - 1;
+        this.tableKeys = new long[size];
+        this.tableValues = new int[size];
+        this.tableMoves = new int[size];
+        this.tableDepths = new byte[size];
+        this.tableFlags = new byte[size];
+        this.tableAges = new short[size];
+    }
+    
+    // ========== ROOT ==========
+    
+    /**
+     * Best AI move from (aiCell, playerCell) with the AI to move
+     * @return the cell to step onto, or -1 if the AI has no move
+     */
+    public int bestMove(int aiCell, int playerCell) {
+        age++;
+        nodes = 0;
+        completedDepth = 0;
+        aborted = false;
+        deadline = System.nanoTime() + timeBudgetNanos;
+        
+        int count = orderMoves(aiCell, playerCell, true, 0, -1);
+        if (count == 0) return -1;
+        int bestMove = moveLists[0][0];
+        
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int alpha = -INFINITY;
+            int iterationMove = -1;
+            for (int i = 0; i < count; i++) {
+                int to = moveLists[0][i];
+                int value = (to == playerCell) ? WIN - 1
+                          : -search(to, playerCell, false, depth - 1, -INFINITY, -alpha, 1);
+                if (aborted && depth > 1) break;
+                if (value > alpha) {
+                    alpha = value;
+                    iterationMove = to;
+                }
+            }
+            if (aborted && depth > 1) break;
+            
+            bestMove = iterationMove;
+            lastScore = alpha;
+            completedDepth = depth;
+            promote(0, count, bestMove);
+            if (Math.abs(alpha) > WIN_BOUND) break;
+        }
+        return bestMove;
+    }
+    
+    // ========== SEARCH ==========
+    
+    /**
+     * Negamax value of the state for the side to move
+     */
+    private int search(int ai, int player, boolean aiToMove, int depth,
+                       int alpha, int beta, int ply) {
+        nodes++;
+        // Out of time, or the caller's thread was interrupted (decision cancelled)
+        if ((nodes & 1023) == 0 && completedDepth > 0 &&
+            (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+        if (depth == 0 || ply > DEFAULT_MAX_DEPTH) {
+            return aiToMove ? evaluate(ai, player) : -evaluate(ai, player);
+        }
+        
+        long key = aiKeys[ai] ^ playerKeys[player] ^ (aiToMove ? aiToMoveKey : 0);
+        int slot = (int) key & tableMask;
+        int tableMove = -1;
+        if (tableEnabled && tableKeys[slot] == key) {
+            tableMove = tableMoves[slot];
+            if (tableDepths[slot] >= depth) {
+                int value = fromTable(tableValues[slot], ply);
+                byte flag = tableFlags[slot];
+                if (flag == EXACT) return value;
+                if (flag == LOWER && value >= beta) return value;
+                if (flag == UPPER && value <= alpha) return value;
+            }
+        }
+        
+        int count = orderMoves(ai, player, aiToMove, ply, tableMove);
+        if (count == 0) {
+            // Boxed in: the turn passes
+            return -search(ai, player, !aiToMove, depth - 1, -beta, -alpha, ply + 1);
+        }
+        
+        int alphaStart = alpha;
+        int best = -INFINITY;
+        int bestMove = -1;
+        int[] moves = moveLists[ply];
+        for (int i = 0; i < count; i++) {
+            int to = moves[i];
+            int value;
+            if (aiToMove) {
+                value = (to == player) ? WIN - ply - 1
+                      : -search(to, player, false, depth - 1, -beta, -alpha, ply + 1);
+            } else if (to == ai) {
+                value = -(WIN - ply - 1);
+            } else if (to == exitCell) {
+                value = WIN - ply - 1;
+            } else {
+                value = -search(ai, to, true, depth - 1, -beta, -alpha, ply + 1);
+            }
+            if (aborted) return 0;
+            
+            if (value > best) {
+                best = value;
+                bestMove = to;
+            }
+            if (best > alpha) alpha = best;
+            if (alpha >= beta) break;
+        }
+        
+        byte flag = best <= alphaStart ? UPPER : best >= beta ? LOWER : EXACT;
+        if (tableEnabled) store(slot, key, depth, toTable(best, ply), bestMove, flag);
+        return best;
+    }
+    
+    /**
+     * Fill moveLists[ply] with the mover's moves, best first
+     * Table move first, then by static evaluation for the mover
+     */
+    private int orderMoves(int ai, int player, boolean aiToMove, int ply, int tableMove) {
+        int from = aiToMove ? ai : player;
+        int[] moves = moveLists[ply];
+        int[] scores = moveScores[ply];
+        int count = 0;
+        for (int e = neighborOffsets[from]; e < neighborOffsets[from + 1]; e++) {
+            int to = neighborTargets[e];
+            int score;
+            if (to == tableMove) {
+                score = INFINITY;
+            } else if (aiToMove) {
+                score = evaluate(to, player);
+            } else {
+                score = -evaluate(ai, to);
+            }
+            
+            // Insertion by descending score (at most four moves)
+            int j = count++;
+            while (j > 0 && scores[j - 1] < score) {
+                moves[j] = moves[j - 1];
+                scores[j] = scores[j - 1];
+                j--;
+            }
+            moves[j] = to;
+            scores[j] = score;
+        }
+        return count;
+    }
+    
+    /**
+     * Move the previous iteration's best root move to the front
+     */
+    private void promote(int ply, int count, int move) {
+        int[] moves = moveLists[ply];
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Static value for the AI: close the gap, and be nearer the exit than the player
+     * (package-private for the reference minimax in AdversarialSearchCheck)
+     */
+    int evaluate(int ai, int player) {
+        int score = -CHASE_WEIGHT * distance(ai, player);
+        if (exitDistance != null) {
+            score += EXIT_WEIGHT * (exitDistance[player] - exitDistance[ai]);
+        }
+        return score;
+    }
+    
+    private int distance(int from, int to) {
+        int manhattan = Math.abs(from / cols - to / cols) + Math.abs(from % cols - to % cols);
+        int bound = oracle.lowerBound(from, to);
+        return bound == DistanceOracle.UNREACHABLE ? unreachable : Math.max(bound, manhattan);
+    }
+    
+    // ========== TRANSPOSITION TABLE ==========
+    
+    /**
+     * Depth-preferred: a deeper entry from the current move survives;
+     * anything from an earlier move is replaced
+     */
+    private void store(int slot, long key, int depth, int value, int move, byte flag) {
+        if (tableKeys[slot] != key && tableAges[slot] == age && tableDepths[slot] > depth) return;
+        tableKeys[slot] = key;
+        tableValues[slot] = value;
+        tableMoves[slot] = move;
+        tableDepths[slot] = (byte) depth;
+        tableFlags[slot] = flag;
+        tableAges[slot] = age;
+    }
+    
+    // Win scores are stored relative to the node, not the root
+    private static int toTable(int value, int ply) {
+        return value > WIN_BOUND ? value + ply : value < -WIN_BOUND ? value - ply : value;
+    }
+    
+    private static int fromTable(int value, int ply) {
+        return value > WIN_BOUND ? value - ply : value < -WIN_BOUND ? value + ply : value;
+    }
+    
+    // ========== SETTINGS AND STATS ==========
+    
+    /**
+     * Depth cap in plies (1 .. DEFAULT_MAX_DEPTH)
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(1, Math.min(DEFAULT_MAX_DEPTH, maxDepth));
+    }
+    
+    /**
+     * Per-move time budget; Long.MAX_VALUE / 2 searches to the depth cap
+     */
+    public void setTimeBudgetNanos(long timeBudgetNanos) {
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+    
+    /**
+     * Plain alpha-beta without the transposition table (for reference checks)
+     */
+    void setTableEnabled(boolean enabled) {
+        this.tableEnabled = enabled;
+    }
+    
+    public long getNodes() { return nodes; }
+    public int getCompletedDepth() { return completedDepth; }
+    
+    /**
+     * Root score of the last move; above WIN_BOUND means a forced capture
+     */
+    public int getLastScore() { return lastScore; }
+    
+    public boolean isForcedCapture() { return lastScore > WIN_BOUND; }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+import java.util.SplittableRandom;
+
+/**
+ * ADVERSARIAL SEARCH CHECK - Reference check for AdversarialSearch
+ * On the built-in mazes and a small braided one (loops make transpositions),
+ * random AI / player positions searched to a fixed depth:
+ * - Table off: the root score must equal a plain minimax (no pruning,
+ *   same evaluation, same pass rule), and the chosen move must reach it
+ * - Table on (one instance per maze, as in a game): entries from deeper
+ *   searches and earlier moves refine heuristic scores and can change
+ *   a forced line's length, so the search must agree on which side is
+ *   forced to win, report no other forced line within DEPTH plies, and
+ *   play a forced capture
+ * - Forced catch (chase only, perfect maze): positions whose catch
+ *   needs all DEPTH plies must be reported as forced captures at depth
+ *   DEPTH (exact score with the table off), and not two plies shallower
+ * - Interrupt: a table-less search with no time limit in an open room, interrupted
+ *   from another thread, must stop and return the move of its last
+ *   completed depth (a fresh search capped at that depth agrees)
+ *
+ * Usage: java AdversarialSearchCheck [positions per maze]
+ * Exits with status 1 on a failure.
+ */
+public class AdversarialSearchCheck {
+    
+    private static final int DEFAULT_POSITIONS = 300;
+    private static final int DEPTH = 7;
+    private static final long INTERRUPT_AFTER_MS = 100;
+    private static final long STOP_TIMEOUT_MS = 2000;
+    private static final int ROOM_SIZE = 25;
+    private static final int INFINITY = AdversarialSearch.WIN + 1;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty), positions);
+        }
+        failures += check("generated 21x21 BRAIDED",
+                          MazeGenerator.generateConfig(21, 21, MazeGenerator.Algorithm.BRAIDED, 7), positions);
+        failures += checkForcedCatch(MazeGenerator.generate(21, 21, MazeGenerator.Algorithm.BACKTRACKER, 5),
+                                     positions * 10);
+        failures += checkInterrupt();
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, MazeConfigurations.MazeConfig config, int positions) {
+        MazeGraph graph = new MazeGraph(config.wallGrid);
+        int exit = graph.getCellId(config.exit.x, config.exit.y);
+        DistanceOracle oracle = DistanceOracle.forGraph(graph);
+        AdversarialSearch withTable = new AdversarialSearch(graph, exit, oracle);
+        withTable.setMaxDepth(DEPTH);
+        withTable.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+        Minimax minimax = new Minimax(graph, exit, withTable);
+        
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        int[] offsets = graph.getNeighborOffsets();
+        SplittableRandom random = new SplittableRandom(name.hashCode());
+        int searched = 0;
+        int forced = 0;
+        String problem = null;
+        for (int p = 0; p < positions && problem == null; p++) {
+            int ai = walkable[random.nextInt(walkable.length)];
+            int player = walkable[random.nextInt(walkable.length)];
+            if (ai == player || player == exit || offsets[ai] == offsets[ai + 1]) continue;
+            searched++;
+            
+            int expected = minimax.rootValue(ai, player, DEPTH);
+            boolean forcedResult = Math.abs(expected) > AdversarialSearch.WIN_BOUND;
+            if (forcedResult) forced++;
+            
+            AdversarialSearch plain = new AdversarialSearch(graph, exit, oracle);
+            plain.setTableEnabled(false);
+            plain.setMaxDepth(DEPTH);
+            plain.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+            int move = plain.bestMove(ai, player);
+            String where = ai + " vs " + player;
+            if (plain.getLastScore() != expected) {
+                problem = where + ": table off scores " + plain.getLastScore() + ", minimax " + expected;
+            } else if (minimax.moveValue(ai, player, move, DEPTH) != expected) {
+                problem = where + ": table off picks " + move + ", which scores below " + expected;
+            } else if (plain.isForcedCapture() != (expected > AdversarialSearch.WIN_BOUND)) {
+                problem = where + ": table off reports forced capture " + plain.isForcedCapture();
+            }
+            
+            move = withTable.bestMove(ai, player);
+            int score = withTable.getLastScore();
+            boolean forcedScore = Math.abs(score) > AdversarialSearch.WIN_BOUND;
+            if (problem == null &&
+                (forcedResult ? !forcedScore || Integer.signum(score) != Integer.signum(expected)
+                              : forcedScore && AdversarialSearch.WIN - Math.abs(score) <= DEPTH)) {
+                // A forced line the minimax misses must lie beyond its horizon
+                problem = where + ": table on scores " + score + ", minimax " + expected;
+            } else if (problem == null && expected > AdversarialSearch.WIN_BOUND &&
+                       minimax.moveValue(ai, player, move, DEPTH) <= AdversarialSearch.WIN_BOUND) {
+                problem = where + ": table on picks " + move + ", which lets the player go";
+            }
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d positions at depth %d, %d forced%n", name, searched, DEPTH, forced);
+        return 0;
+    }
+    
+    /**
+     * Chase only (no exit) on a perfect maze, where the player runs into
+     * dead ends: positions whose catch takes exactly DEPTH plies
+     */
+    private static int checkForcedCatch(PackedGrid grid, int positions) {
+        MazeGraph graph = new MazeGraph(grid);
+        DistanceOracle oracle = DistanceOracle.forGraph(graph);
+        AdversarialSearch evaluator = new AdversarialSearch(graph, -1, oracle);
+        Minimax minimax = new Minimax(graph, -1, evaluator);
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        SplittableRandom random = new SplittableRandom(DEPTH);
+        int found = 0;
+        String problem = null;
+        for (int p = 0; p < positions && problem == null; p++) {
+            int ai = walkable[random.nextInt(walkable.length)];
+            int player = walkable[random.nextInt(walkable.length)];
+            if (ai == player || minimax.rootValue(ai, player, DEPTH) != AdversarialSearch.WIN - DEPTH) continue;
+            found++;
+            
+            String where = ai + " vs " + player;
+            for (boolean table : new boolean[] {false, true}) {
+                AdversarialSearch search = new AdversarialSearch(graph, -1, oracle);
+                search.setTableEnabled(table);
+                search.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+                search.setMaxDepth(DEPTH - 2);
+                search.bestMove(ai, player);
+                if (search.isForcedCapture()) {
+                    problem = where + ": caught within " + (DEPTH - 2) + " plies (table " + table + ")";
+                    break;
+                }
+                search.setMaxDepth(DEPTH);
+                int move = search.bestMove(ai, player);
+                if (!search.isForcedCapture() || (!table && search.getLastScore() != AdversarialSearch.WIN - DEPTH)) {
+                    problem = where + ": scores " + search.getLastScore() + " at depth " + DEPTH +
+                              " (table " + table + ")";
+                } else if (minimax.moveValue(ai, player, move, DEPTH) != AdversarialSearch.WIN - DEPTH) {
+                    problem = where + ": picks " + move + ", which does not force the catch (table " + table + ")";
+                }
+                if (problem != null) break;
+            }
+        }
+        if (problem == null && found == 0) problem = "no position needs all " + DEPTH + " plies";
+        
+        if (problem != null) {
+            System.out.printf("FAIL forced catch: %s%n", problem);
+            return 1;
+        }
+        System.out.printf("ok   forced catch: %d positions caught at ply %d, none sooner%n", found, DEPTH);
+        return 0;
+    }
+    
+    /**
+     * Interrupt a search that has no time limit; it must return the last
+     * completed depth's move
+     */
+    private static int checkInterrupt() throws InterruptedException {
+        // Open room without the table: four moves a side, so depth 32 is out of reach
+        int[][] room = new int[ROOM_SIZE][ROOM_SIZE];
+        for (int i = 0; i < ROOM_SIZE; i++) {
+            room[0][i] = room[ROOM_SIZE - 1][i] = room[i][0] = room[i][ROOM_SIZE - 1] = 1;
+        }
+        MazeGraph graph = new MazeGraph(room);
+        int exit = graph.getCellId(ROOM_SIZE - 2, 1);
+        int ai = graph.getCellId(1, 1);
+        int player = graph.getCellId(ROOM_SIZE - 2, ROOM_SIZE - 2);
+        DistanceOracle oracle = DistanceOracle.forGraph(graph);
+        
+        AdversarialSearch search = new AdversarialSearch(graph, exit, oracle);
+        search.setTableEnabled(false);
+        search.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+        int[] move = {-2};
+        Thread thread = new Thread(() -> move[0] = search.bestMove(ai, player));
+        thread.start();
+        Thread.sleep(INTERRUPT_AFTER_MS);
+        thread.interrupt();
+        thread.join(STOP_TIMEOUT_MS);
+        
+        String problem = null;
+        int depth = search.getCompletedDepth();
+        if (thread.isAlive()) {
+            problem = "still searching " + STOP_TIMEOUT_MS + " ms after the interrupt";
+        } else if (depth < 1 || depth >= AdversarialSearch.DEFAULT_MAX_DEPTH) {
+            problem = "completed depth " + depth + " (expected an interrupted search)";
+        } else {
+            AdversarialSearch capped = new AdversarialSearch(graph, exit, oracle);
+            capped.setTableEnabled(false);
+            capped.setMaxDepth(depth);
+            capped.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+            int expected = capped.bestMove(ai, player);
+            if (move[0] != expected) {
+                problem = "returned " + move[0] + ", depth " + depth + " picks " + expected;
+            }
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL interrupt: %s%n", problem);
+            return 1;
+        }
+        System.out.printf("ok   interrupt: stopped after depth %d, kept its move%n", depth);
+        return 0;
+    }
+    
+    /**
+     * Plain negamax over the same game: no pruning, no table
+     * Time Complexity: O(4^depth) per root
+     */
+    private static class Minimax {
+        private final int[] offsets;
+        private final int[] targets;
+        private final int exit;
+        private final AdversarialSearch evaluator;
+        
+        Minimax(MazeGraph graph, int exit, AdversarialSearch evaluator) {
+            this.offsets = graph.getNeighborOffsets();
+            this.targets = graph.getNeighborTargets();
+            this.exit = exit;
+            this.evaluator = evaluator;
+        }
+        
+        int rootValue(int ai, int player, int depth) {
+            int best = -INFINITY;
+            for (int e = offsets[ai]; e < offsets[ai + 1]; e++) {
+                best = Math.max(best, moveValue(ai, player, targets[e], depth));
+            }
+            return best;
+        }
+        
+        /**
+         * Value for the AI of stepping from ai to 'to' at the root
+         */
+        int moveValue(int ai, int player, int to, int depth) {
+            return (to == player) ? AdversarialSearch.WIN - 1 : -value(to, player, false, depth - 1, 1);
+        }
+        
+        private int value(int ai, int player, boolean aiToMove, int depth, int ply) {
+            if (depth == 0) {
+                int score = evaluator.evaluate(ai, player);
+                return aiToMove ? score : -score;
+            }
+            int from = aiToMove ? ai : player;
+            if (offsets[from] == offsets[from + 1]) {
+                // Boxed in: the turn passes
+                return -value(ai, player, !aiToMove, depth - 1, ply + 1);
+            }
+            int best = -INFINITY;
+            for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                int to = targets[e];
+                int v;
+                if (aiToMove) {
+                    v = (to == player) ? AdversarialSearch.WIN - ply - 1
+                      : -value(to, player, false, depth - 1, ply + 1);
+                } else if (to == ai) {
+                    v = -(AdversarialSearch.WIN - ply - 1);
+                } else if (to == exit) {
+                    v = AdversarialSearch.WIN - ply - 1;
+                } else {
+                    v = -value(ai, to, true, depth - 1, ply + 1);
+                }
+                best = Math.max(best, v);
+            }
+            return best;
+        }
+    }
+}
\ No newline at end of file
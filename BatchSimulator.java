@@ -0,0 +1,305 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * BATCH SIMULATOR - Plays thousands of headless games across all cores
+ * Scripted player policies against GreedyAI at every difficulty, for
+ * difficulty tuning at scale. The AI comes from the same AIFactory as
+ * the game window's, so "hard" searches ahead with AdversarialSearch and
+ * "perfect" plays from a RetrogradeSolver table (hard scoring if the
+ * maze is too big); oracle and table are built once up front.
+ *
+ * One MazeGraph is shared read-only by all workers; each game owns its
+ * GameEngine, GreedyAI and random stream, so nothing shared is written.
+ * Games are split into ranges on a fork-join pool.
+ *
+ * Usage: java BatchSimulator [games] [maze: easy|medium|hard] [threads]
+ */
+public class BatchSimulator {
+    
+    private static final String[] DIFFICULTIES = {"easy", "medium", "hard", "perfect"};
+    private static final int[] DIRECTIONS = {
+        PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT
+    };
+    private static final int BATCH_SIZE = 64;
+    
+    /**
+     * Scripted player: picks a direction for the current position
+     * Returns 0 when the player has no legal move
+     */
+    public interface PlayerPolicy {
+        int chooseMove(GameEngine engine, SplittableRandom random);
+    }
+    
+    /**
+     * Aggregated results of one batch
+     */
+    public static class Summary {
+        public final String difficulty;
+        public final String policy;
+        public final int games;
+        public final int won;
+        public final int lost;
+        public final int draws;
+        public final long totalTurns;
+        public final long wallNanos;
+        public final long[] gameNanos;
+        
+        Summary(String difficulty, String policy, int games, int won, int lost, int draws,
+                long totalTurns, long wallNanos, long[] gameNanos) {
+            this.difficulty = difficulty;
+            this.policy = policy;
+            this.games = games;
+            this.won = won;
+            this.lost = lost;
+            this.draws = draws;
+            this.totalTurns = totalTurns;
+            this.wallNanos = wallNanos;
+            this.gameNanos = gameNanos;
+        }
+        
+        public double gamesPerSecond() { return games * 1e9 / wallNanos; }
+        public double turnsPerSecond() { return totalTurns * 1e9 / wallNanos; }
+        
+        /**
+         * Per-game latency percentile in microseconds (gameNanos is sorted)
+         */
+        public double percentileMicros(double p) {
+            int index = (int) Math.min(gameNanos.length - 1, Math.floor(p * gameNanos.length));
+            return gameNanos[index] / 1000.0;
+        }
+    }
+    
+    private final MazeConfigurations.MazeConfig config;
+    private final MazeGraph graph;
+    private final int[] exitDistance;
+    private final int exitCell;
+    private final AIFactory factory = new AIFactory();
+    private final ForkJoinPool pool;
+    private final int maxTurns;
+    
+    public BatchSimulator(MazeConfigurations.MazeConfig config, int threads, int maxTurns) {
+        this.config = config;
+        this.graph = new MazeGraph(config.wallGrid);
+        this.exitCell = graph.getCellId(config.exit.x, config.exit.y);
+        this.exitDistance = distancesFrom(graph, exitCell);
+        this.pool = new ForkJoinPool(threads);
+        // Build the shared oracle and solved table before any game starts
+        factory.oracleFor(graph);
+        factory.solutionFor(graph, exitCell);
+        this.maxTurns = maxTurns;
+    }
+    
+    // ========== PLAYER POLICIES ==========
+    
+    /**
+     * Uniformly random legal move
+     */
+    public static final PlayerPolicy RANDOM = (engine, random) -> {
+        int mask = engine.getGraph().getGrid().getOpenMask(engine.getPlayerRow(), engine.getPlayerCol());
+        if (mask == 0) return 0;
+        int choice = random.nextInt(Integer.bitCount(mask));
+        for (int direction : DIRECTIONS) {
+            if ((mask & direction) != 0 && choice-- == 0) return direction;
+        }
+        return 0;
+    };
+    
+    /**
+     * Shortest path to the exit, ignoring the AI
+     */
+    public PlayerPolicy rushExit() {
+        return (engine, random) -> bestMove(engine, false);
+    }
+    
+    /**
+     * Heads for the exit but refuses cells next to the AI when it can
+     */
+    public PlayerPolicy evasive() {
+        return (engine, random) -> bestMove(engine, true);
+    }
+    
+    private int bestMove(GameEngine engine, boolean avoidAI) {
+        int row = engine.getPlayerRow();
+        int col = engine.getPlayerCol();
+        int mask = graph.getGrid().getOpenMask(row, col);
+        
+        int best = 0;
+        long bestScore = Long.MAX_VALUE;
+        for (int direction : DIRECTIONS) {
+            if ((mask & direction) == 0) continue;
+            int nextRow = row + (direction == PackedGrid.UP ? -1 : direction == PackedGrid.DOWN ? 1 : 0);
+            int nextCol = col + (direction == PackedGrid.LEFT ? -1 : direction == PackedGrid.RIGHT ? 1 : 0);
+            
+            long score = exitDistance[graph.getCellId(nextRow, nextCol)];
+            if (avoidAI) {
+                int aiDistance = Math.abs(nextRow - engine.getAiRow()) +
+                                 Math.abs(nextCol - engine.getAiCol());
+                if (aiDistance <= 1) score += graph.getCellCount();
+            }
+            if (score < bestScore) {
+                bestScore = score;
+                best = direction;
+            }
+        }
+        return best;
+    }
+    
+    // ========== SIMULATION ==========
+    
+    /**
+     * Play games independent games of policy vs GreedyAI(difficulty)
+     */
+    public Summary run(String difficulty, String policyName, PlayerPolicy policy,
+                       int games, long seed) {
+        int[] outcomes = new int[games];
+        int[] turns = new int[games];
+        long[] gameNanos = new long[games];
+        
+        long start = System.nanoTime();
+        pool.invoke(new GameRange(difficulty, policy, seed, 0, games, outcomes, turns, gameNanos));
+        long wallNanos = System.nanoTime() - start;
+        
+        int won = 0;
+        int lost = 0;
+        long totalTurns = 0;
+        for (int i = 0; i < games; i++) {
+            if (outcomes[i] == 1) won++;
+            else if (outcomes[i] == -1) lost++;
+            totalTurns += turns[i];
+        }
+        Arrays.sort(gameNanos);
+        return new Summary(difficulty, policyName, games, won, lost, games - won - lost,
+                           totalTurns, wallNanos, gameNanos);
+    }
+    
+    /**
+     * Plays one game; returns 1 (player escaped), -1 (caught) or 0 (draw)
+     */
+    private int playGame(String difficulty, PlayerPolicy policy, SplittableRandom random,
+                         int[] turnsOut, int index) {
+        GreedyAI ai = newAI(difficulty);
+        GameEngine engine = new GameEngine(config, graph, ai);
+        while (engine.getState() == GameEngine.State.PLAYING && engine.getTurns() < maxTurns) {
+            int direction = policy.chooseMove(engine, random);
+            if (direction == 0 || !engine.movePlayer(direction)) break;
+            engine.stepAI();
+        }
+        turnsOut[index] = engine.getTurns();
+        switch (engine.getState()) {
+            case WON: return 1;
+            case LOST: return -1;
+            default: return 0;
+        }
+    }
+    
+    /**
+     * Fork-join task over a range of game indices
+     */
+    private class GameRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final String difficulty;
+        private final PlayerPolicy policy;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int[] outcomes;
+        private final int[] turns;
+        private final long[] gameNanos;
+        
+        GameRange(String difficulty, PlayerPolicy policy, long seed, int from, int to,
+                  int[] outcomes, int[] turns, long[] gameNanos) {
+            this.difficulty = difficulty;
+            this.policy = policy;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.outcomes = outcomes;
+            this.turns = turns;
+            this.gameNanos = gameNanos;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GameRange(difficulty, policy, seed, from, mid, outcomes, turns, gameNanos),
+                          new GameRange(difficulty, policy, seed, mid, to, outcomes, turns, gameNanos));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                long gameStart = System.nanoTime();
+                outcomes[i] = playGame(difficulty, policy, new SplittableRandom(seed + i), turns, i);
+                gameNanos[i] = System.nanoTime() - gameStart;
+            }
+        }
+    }
+    
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    /**
+     * The AI a game at this difficulty plays against, set up as the game
+     * window does with its default options (no maze-distance or oracle
+     * scoring)
+     */
+    GreedyAI newAI(String difficulty) {
+        return factory.create(graph, exitCell, difficulty, false, false);
+    }
+    
+    MazeGraph getGraph() {
+        return graph;
+    }
+    
+    int getExitCell() {
+        return exitCell;
+    }
+    
+    private static int[] distancesFrom(MazeGraph graph, int root) {
+        DistanceField field = new DistanceField(graph);
+        field.setRoot(root);
+        int[] distance = new int[graph.getCellCount()];
+        for (int cell = 0; cell < distance.length; cell++) {
+            int d = field.distanceTo(cell);
+            distance[cell] = (d == DistanceField.UNREACHABLE) ? graph.getCellCount() : d;
+        }
+        return distance;
+    }
+    
+    // ========== ENTRY POINT ==========
+    
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        String maze = args.length > 1 ? args[1] : "medium";
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                       : Runtime.getRuntime().availableProcessors();
+        
+        BatchSimulator simulator = new BatchSimulator(MazeConfigurations.getMaze(maze), threads, 1000);
+        String[] policyNames = {"random", "rush-exit", "evasive"};
+        PlayerPolicy[] policies = {RANDOM, simulator.rushExit(), simulator.evasive()};
+        
+        System.out.printf("Maze: %s, games per batch: %d, threads: %d%n", maze, games, threads);
+        System.out.printf("%-8s %-10s %7s %7s %7s %7s %10s %12s %10s %10s%n",
+                          "AI", "Policy", "Won", "Lost", "Draw", "Turns", "Games/s",
+                          "Turns/s", "p50 (us)", "p99 (us)");
+        
+        // Warm-up pass so the JIT has compiled the hot paths
+        simulator.run("hard", "warmup", RANDOM, Math.min(games, 2000), 0);
+        
+        for (String difficulty : DIFFICULTIES) {
+            for (int p = 0; p < policies.length; p++) {
+                Summary s = simulator.run(difficulty, policyNames[p], policies[p], games, 42);
+                System.out.printf("%-8s %-10s %7d %7d %7d %7.1f %10.0f %12.0f %10.1f %10.1f%n",
+                                  s.difficulty, s.policy, s.won, s.lost, s.draws,
+                                  (double) s.totalTurns / s.games, s.gamesPerSecond(),
+                                  s.turnsPerSecond(), s.percentileMicros(0.50),
+                                  s.percentileMicros(0.99));
+            }
+        }
+        simulator.shutdown();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+import java.util.SplittableRandom;
+
+/**
+ * BATCH SIMULATOR CHECK - The batch must play the game window's AI
+ * For every built-in maze and difficulty, the AI BatchSimulator builds
+ * for a game and the one GameWindow builds with its default options
+ * (own factory, graph from the packed grid) must:
+ * - carry a lookahead exactly when the difficulty is "hard"
+ * - pick the same first move from the start position and from random
+ *   AI / player positions
+ * The time budget makes the lookahead's depth machine-dependent, so both
+ * searches are pinned to the same fixed depth first.
+ *
+ * Usage: java BatchSimulatorCheck [positions per maze]
+ * Exits with status 1 on a failure.
+ */
+public class BatchSimulatorCheck {
+    
+    private static final int DEFAULT_POSITIONS = 200;
+    private static final int SEARCH_DEPTH = 6;
+    private static final String[] DIFFICULTIES = {"easy", "medium", "hard", "perfect"};
+    
+    public static void main(String[] args) {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSITIONS;
+        int failures = 0;
+        for (String maze : new String[] {"easy", "medium", "hard"}) {
+            MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze(maze);
+            BatchSimulator simulator = new BatchSimulator(config, 2, 1000);
+            AIFactory gameFactory = new AIFactory();
+            MazeGraph gameGraph = new MazeGraph(config.packedGrid);
+            int exit = gameGraph.getCellId(config.exit.x, config.exit.y);
+            for (String difficulty : DIFFICULTIES) {
+                GreedyAI batchAI = simulator.newAI(difficulty);
+                GreedyAI gameAI = gameFactory.create(gameGraph, exit, difficulty, false, false);
+                failures += check(maze + " maze, " + difficulty, config, gameGraph,
+                                  batchAI, gameAI, difficulty.equals("hard"), positions);
+            }
+            simulator.shutdown();
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, MazeConfigurations.MazeConfig config, MazeGraph graph,
+                             GreedyAI batchAI, GreedyAI gameAI, boolean searches, int positions) {
+        String problem = null;
+        if ((batchAI.getLookahead() != null) != searches) {
+            problem = "batch AI lookahead " + (searches ? "missing" : "unexpected");
+        } else if ((gameAI.getLookahead() != null) != searches) {
+            problem = "game AI lookahead " + (searches ? "missing" : "unexpected");
+        }
+        if (searches && problem == null) {
+            for (AdversarialSearch search : new AdversarialSearch[] {batchAI.getLookahead(),
+                                                                     gameAI.getLookahead()}) {
+                search.setMaxDepth(SEARCH_DEPTH);
+                search.setTimeBudgetNanos(Long.MAX_VALUE / 2);
+            }
+        }
+        
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        SplittableRandom random = new SplittableRandom(name.hashCode());
+        GreedyAI.DecisionBuffer batchMove = new GreedyAI.DecisionBuffer();
+        GreedyAI.DecisionBuffer gameMove = new GreedyAI.DecisionBuffer();
+        int cols = graph.getCols();
+        for (int p = 0; p <= positions && problem == null; p++) {
+            int aiCell;
+            int playerCell;
+            if (p == 0) {
+                aiCell = graph.getCellId(config.aiStart.x, config.aiStart.y);
+                playerCell = graph.getCellId(config.playerStart.x, config.playerStart.y);
+            } else {
+                aiCell = walkable[random.nextInt(walkable.length)];
+                playerCell = walkable[random.nextInt(walkable.length)];
+                if (aiCell == playerCell) continue;
+            }
+            boolean batchDecided = batchAI.preview(aiCell / cols, aiCell % cols,
+                                                   playerCell / cols, playerCell % cols, batchMove);
+            boolean gameDecided = gameAI.preview(aiCell / cols, aiCell % cols,
+                                                 playerCell / cols, playerCell % cols, gameMove);
+            if (batchDecided != gameDecided ||
+                (batchDecided && batchMove.chosenCell != gameMove.chosenCell)) {
+                problem = "AI " + aiCell + ", player " + playerCell + ": batch moves to " +
+                          (batchDecided ? batchMove.chosenCell : -1) + ", game to " +
+                          (gameDecided ? gameMove.chosenCell : -1);
+            }
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d positions%n", name, positions + 1);
+        return 0;
+    }
+}
\ No newline at end of file
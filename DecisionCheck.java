@@ -0,0 +1,126 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * DECISION CHECK - Regression and allocation check for GreedyAI.decide
+ *
+ * - Replay: 16,200 seeded random games (every built-in maze and
+ *   difficulty, Manhattan and maze distance, NODES and COMPACT storage,
+ *   with and without an A* planner) are hashed over every AI move,
+ *   candidate, score and planned path. The hash must equal
+ *   EXPECTED_HASH, recorded from the Node-based getGreedyMove()
+ *   implementation that decide() replaced.
+ * - Allocation: warm decide() calls into a reused DecisionBuffer must
+ *   allocate nothing (HotSpot's per-thread allocation counter).
+ *
+ * Usage: java DecisionCheck
+ * Exits with status 1 on a failure.
+ */
+public class DecisionCheck {
+    
+    private static final long EXPECTED_HASH = -9105997093963651917L;
+    private static final int GAMES_PER_SETUP = 300;
+    private static final int TURNS_PER_GAME = 300;
+    private static final int WARMUP_DECISIONS = 2_000_000;
+    private static final int MEASURED_DECISIONS = 1_000_000;
+    
+    public static void main(String[] args) {
+        boolean ok = checkReplay();
+        ok &= checkAllocation();
+        if (!ok) System.exit(1);
+    }
+    
+    // ========== REPLAY ==========
+    
+    private static boolean checkReplay() {
+        String[] names = {"easy", "medium", "hard"};
+        int[] directions = {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT};
+        long hash = 0;
+        for (String maze : names) {
+            for (String difficulty : names) {
+                for (boolean mazeDistance : new boolean[] {false, true}) {
+                    for (int seed = 0; seed < GAMES_PER_SETUP; seed++) {
+                        MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze(maze);
+                        MazeGraph graph = new MazeGraph(config.packedGrid, seed % 2 == 0
+                            ? MazeGraph.Storage.NODES : MazeGraph.Storage.COMPACT);
+                        GreedyAI ai = new GreedyAI(graph, difficulty, mazeDistance);
+                        if (seed % 3 == 0) ai.setPlanner(new PathFinder(graph)::aStar, null);
+                        GameEngine engine = new GameEngine(config, graph, ai);
+                        SplittableRandom random = new SplittableRandom(seed);
+                        
+                        for (int t = 0; t < TURNS_PER_GAME && engine.getState() == GameEngine.State.PLAYING; t++) {
+                            if (!engine.movePlayer(directions[random.nextInt(4)])) continue;
+                            GreedyAI.Decision decision = engine.moveAI();
+                            hash = hash * 31 + engine.getAiRow() * 1000 + engine.getAiCol();
+                            if (decision != null) hash = hash(hash, decision);
+                        }
+                        hash = hash * 7 + engine.getState().ordinal();
+                    }
+                }
+            }
+        }
+        boolean ok = hash == EXPECTED_HASH;
+        System.out.printf("%s replay: hash %d, expected %d%n", ok ? "ok  " : "FAIL", hash, EXPECTED_HASH);
+        return ok;
+    }
+    
+    /**
+     * Fold a decision's move, candidates and planned path into hash
+     */
+    static long hash(long hash, GreedyAI.Decision decision) {
+        hash = hash * 31 + Double.hashCode(decision.chosenScore) + decision.candidates.size();
+        for (GreedyAI.Candidate candidate : decision.candidates) {
+            hash = hash * 17 + Double.hashCode(candidate.score) + candidate.distance +
+                   candidate.node.getRow() * 7 + candidate.node.getCol();
+        }
+        if (decision.plannedPath != null) {
+            hash = hash * 13 + Arrays.hashCode(decision.plannedPath) + decision.nodesExpanded;
+        }
+        return hash;
+    }
+    
+    // ========== ALLOCATION ==========
+    
+    private static boolean checkAllocation() {
+        java.lang.management.ThreadMXBean bean = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("skip allocation: no per-thread allocation counter on this JVM");
+            return true;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        
+        boolean ok = true;
+        MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze("hard");
+        MazeGraph graph = new MazeGraph(config.packedGrid);
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        for (boolean mazeDistance : new boolean[] {false, true}) {
+            for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+                GreedyAI ai = new GreedyAI(graph, difficulty, mazeDistance);
+                GreedyAI.DecisionBuffer buffer = new GreedyAI.DecisionBuffer();
+                decideMany(ai, graph, walkable, buffer, WARMUP_DECISIONS);
+                
+                long before = threads.getCurrentThreadAllocatedBytes();
+                decideMany(ai, graph, walkable, buffer, MEASURED_DECISIONS);
+                long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+                
+                // The counter's own bookkeeping may show a few bytes; a per-move allocation shows millions
+                boolean pass = bytes < MEASURED_DECISIONS / 100;
+                ok &= pass;
+                System.out.printf("%s allocation %s%s: %d bytes over %d decisions%n",
+                                  pass ? "ok  " : "FAIL", difficulty, mazeDistance ? " (maze distance)" : "",
+                                  bytes, MEASURED_DECISIONS);
+            }
+        }
+        return ok;
+    }
+    
+    private static void decideMany(GreedyAI ai, MazeGraph graph, int[] walkable,
+                                   GreedyAI.DecisionBuffer buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            int from = walkable[i % walkable.length];
+            int to = walkable[(i * 7 + 3) % walkable.length];
+            ai.decide(graph.getRowOf(from), graph.getColOf(from),
+                      graph.getRowOf(to), graph.getColOf(to), buffer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+/**
+ * DENSITY MIPMAP - Wall density pyramid for zoomed-out maze views
+ * Level k has one texel per 2^k × 2^k block of cells holding the
+ * fraction of walls in the block (0-255). Level 1 is built from the
+ * wall grid, each further level by averaging 2 × 2 texels of the one
+ * below, so the whole pyramid costs about a third of a byte per cell.
+ * Levels are built on first use.
+ *
+ * render() fills a pixel buffer for a MazeViewport: one color per
+ * cell when zoomed in, one mipmap texel per pixel when zoomed out,
+ * so its cost is bounded by the pixels drawn, not the maze size.
+ */
+class DensityMipmap {
+    
+    private final WallGrid grid;
+    private final byte[][] levels;
+    private final int[] levelRows;
+    private final int[] levelCols;
+    
+    // Density -> RGB for the last pathRgb / wallRgb pair rendered
+    private final int[] palette = new int[256];
+    private int palettePath;
+    private int paletteWall;
+    private boolean paletteValid;
+    
+    DensityMipmap(WallGrid grid) {
+        this.grid = grid;
+        int count = 1;
+        while ((1 << count) < Math.max(grid.getRows(), grid.getCols())) count++;
+        this.levels = new byte[count + 1][];
+        this.levelRows = new int[count + 1];
+        this.levelCols = new int[count + 1];
+    }
+    
+    public WallGrid getGrid() { return grid; }
+    
+    /**
+     * Coarsest level: the whole maze fits in one or two texels
+     */
+    public int getMaxLevel() { return levels.length - 1; }
+    
+    // ========== LEVELS ==========
+    
+    /**
+     * Texels of level (1 .. getMaxLevel()), built on first use
+     * Time Complexity: O(cells) for level 1, O(cells / 4^k) after
+     */
+    private byte[] level(int level) {
+        if (levels[level] != null) return levels[level];
+        
+        int rows = (grid.getRows() + (1 << level) - 1) >> level;
+        int cols = (grid.getCols() + (1 << level) - 1) >> level;
+        byte[] texels = new byte[rows * cols];
+        
+        if (level == 1) {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    texels[r * cols + c] = (byte) average(
+                        wallValue(2 * r, 2 * c), wallValue(2 * r, 2 * c + 1),
+                        wallValue(2 * r + 1, 2 * c), wallValue(2 * r + 1, 2 * c + 1));
+                }
+            }
+        } else {
+            byte[] below = level(level - 1);
+            int belowRows = levelRows[level - 1];
+            int belowCols = levelCols[level - 1];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    texels[r * cols + c] = (byte) average(
+                        texel(below, belowRows, belowCols, 2 * r, 2 * c),
+                        texel(below, belowRows, belowCols, 2 * r, 2 * c + 1),
+                        texel(below, belowRows, belowCols, 2 * r + 1, 2 * c),
+                        texel(below, belowRows, belowCols, 2 * r + 1, 2 * c + 1));
+                }
+            }
+        }
+        levelRows[level] = rows;
+        levelCols[level] = cols;
+        levels[level] = texels;
+        return texels;
+    }
+    
+    // -1 marks "outside the maze" so edge blocks average only real cells
+    private int wallValue(int row, int col) {
+        if (row >= grid.getRows() || col >= grid.getCols()) return -1;
+        return grid.isWall(row, col) ? 255 : 0;
+    }
+    
+    private static int texel(byte[] texels, int rows, int cols, int row, int col) {
+        if (row >= rows || col >= cols) return -1;
+        return texels[row * cols + col] & 0xFF;
+    }
+    
+    /**
+     * Rounded mean of the values that are not -1 (at least a is real)
+     */
+    private static int average(int a, int b, int c, int d) {
+        int sum = a;
+        int count = 1;
+        if (b >= 0) {
+            sum += b;
+            count++;
+        }
+        if (c >= 0) {
+            sum += c;
+            count++;
+        }
+        if (d >= 0) {
+            sum += d;
+            count++;
+        }
+        return (sum + count / 2) / count;
+    }
+    
+    // ========== RENDERING ==========
+    
+    /**
+     * Fill pixels (width × height, row-major RGB) with the viewport's
+     * view of the maze; pixels outside the maze are left untouched
+     * Zoomed in: wall / path color per cell, gridRgb on cell borders once
+     * cells reach gridFrom pixels (gridFrom 0 = no grid lines)
+     * Zoomed out: density blended between pathRgb and wallRgb
+     * Time Complexity: O(width × height)
+     */
+    public void render(int[] pixels, int width, int height, MazeViewport view,
+                       int wallRgb, int pathRgb, int gridRgb, int gridFrom) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int shrink = view.getShrink();
+        int scale = view.getPixelsPerCell();
+        int panX = view.getPanX();
+        int panY = view.getPanY();
+        boolean gridLines = gridFrom > 0 && shrink == 0 && scale >= gridFrom;
+        
+        // Visible pixel span of the maze (world pixels = pan + screen offset)
+        int worldWidth = view.getWorldWidth();
+        int worldHeight = view.getWorldHeight();
+        int x0 = Math.max(0, -panX);
+        int x1 = Math.min(width, worldWidth - panX);
+        int y0 = Math.max(0, -panY);
+        int y1 = Math.min(height, worldHeight - panY);
+        if (x0 >= x1 || y0 >= y1) return;
+        
+        if (shrink > 0) {
+            byte[] texels = level(shrink);
+            int texelCols = levelCols[shrink];
+            int[] palette = palette(pathRgb, wallRgb);
+            for (int y = y0; y < y1; y++) {
+                int base = (y + panY) * texelCols + panX;
+                int out = y * width;
+                for (int x = x0; x < x1; x++) {
+                    pixels[out + x] = palette[texels[base + x] & 0xFF];
+                }
+            }
+            return;
+        }
+        
+        // One color per visible cell of the row, then spread over its pixels
+        int firstCol = (x0 + panX) / scale;
+        int lastCol = Math.min(cols - 1, (x1 - 1 + panX) / scale);
+        int[] rowColors = new int[lastCol - firstCol + 1];
+        int cachedRow = -1;
+        for (int y = y0; y < y1; y++) {
+            int worldY = y + panY;
+            int row = worldY / scale;
+            if (row >= rows) break;
+            int out = y * width;
+            
+            if (gridLines && worldY % scale == 0) {
+                java.util.Arrays.fill(pixels, out + x0, out + x1, gridRgb);
+                continue;
+            }
+            if (row != cachedRow) {
+                for (int c = firstCol; c <= lastCol; c++) {
+                    rowColors[c - firstCol] = grid.isWall(row, c) ? wallRgb : pathRgb;
+                }
+                cachedRow = row;
+            }
+            for (int x = x0; x < x1; x++) {
+                int worldX = x + panX;
+                pixels[out + x] = (gridLines && worldX % scale == 0)
+                    ? gridRgb : rowColors[worldX / scale - firstCol];
+            }
+        }
+    }
+    
+    /**
+     * 256-step blend from pathRgb to wallRgb, rebuilt only when the
+     * colors change
+     */
+    private int[] palette(int pathRgb, int wallRgb) {
+        if (!paletteValid || pathRgb != palettePath || wallRgb != paletteWall) {
+            for (int i = 0; i < 256; i++) {
+                palette[i] = blend(pathRgb, wallRgb, i);
+            }
+            palettePath = pathRgb;
+            paletteWall = wallRgb;
+            paletteValid = true;
+        }
+        return palette;
+    }
+    
+    private static int blend(int from, int to, int amount) {
+        int r = ((from >> 16) & 0xFF) + (((to >> 16) & 0xFF) - ((from >> 16) & 0xFF)) * amount / 255;
+        int g = ((from >> 8) & 0xFF) + (((to >> 8) & 0xFF) - ((from >> 8) & 0xFF)) * amount / 255;
+        int b = (from & 0xFF) + ((to & 0xFF) - (from & 0xFF)) * amount / 255;
+        return (r << 16) | (g << 8) | b;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+/**
+ * DISTANCE FIELD - True shortest-path distances to a moving root
+ * Rooted at the player's cell; the AI reads maze distances instead of
+ * Manhattan estimates, so walls and dead ends are accounted for.
+ *
+ * Two backings:
+ * - Precomputed (forPursuit() on mazes up to MAX_PRECOMPUTED_CELLS
+ *   walkable cells): an exact all-pairs DistanceOracle holds the field
+ *   for every possible root, so a player step updates nothing and every
+ *   lookup is one table read, O(1).
+ * - Lazy BFS (larger mazes): moving the root bumps a generation counter
+ *   (O(1)) and a query resumes the BFS just far enough to settle the
+ *   requested cell, so a turn costs the cells within the chase radius.
+ *
+ * An exact field cannot be patched in place any cheaper: a maze grid is
+ * bipartite, so when the root moves one step every reachable cell's
+ * distance changes by exactly +1 or -1.
+ */
+public class DistanceField {
+    
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    
+    // Largest maze (walkable cells) forPursuit() precomputes: 8 MB of table
+    public static final int MAX_PRECOMPUTED_CELLS = 2048;
+    
+    private final DistanceOracle table;
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final int[] distance;
+    private final int[] stamp;
+    private final int[] queue;
+    private int generation;
+    private int head;
+    private int tail;
+    private int root = -1;
+    
+    /**
+     * Lazy BFS field
+     */
+    public DistanceField(MazeGraph graph) {
+        this.table = null;
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        int cells = graph.getCellCount();
+        this.distance = new int[cells];
+        this.stamp = new int[cells];
+        this.queue = new int[cells];
+    }
+    
+    /**
+     * Field read from an exact (all-pairs) oracle for the same graph
+     */
+    public DistanceField(DistanceOracle table) {
+        if (!table.isExact()) {
+            throw new IllegalArgumentException("Distance field needs an all-pairs oracle");
+        }
+        this.table = table;
+        this.neighborOffsets = null;
+        this.neighborTargets = null;
+        this.distance = null;
+        this.stamp = null;
+        this.queue = null;
+    }
+    
+    /**
+     * Precomputed field when the maze is small enough, lazy BFS otherwise
+     */
+    public static DistanceField forPursuit(MazeGraph graph) {
+        int walkable = 0;
+        for (int id = 0; id < graph.getCellCount(); id++) {
+            if (!graph.isWall(id)) walkable++;
+        }
+        return walkable <= MAX_PRECOMPUTED_CELLS
+            ? new DistanceField(DistanceOracle.allPairs(graph))
+            : new DistanceField(graph);
+    }
+    
+    /**
+     * Move the root; O(1) for both backings
+     */
+    public void setRoot(int cellId) {
+        if (cellId == root) return;
+        root = cellId;
+        if (table != null) return;
+        
+        if (++generation == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        head = 0;
+        tail = 0;
+        stamp[cellId] = generation;
+        distance[cellId] = 0;
+        queue[tail++] = cellId;
+    }
+    
+    /**
+     * Maze distance from the root, or UNREACHABLE (the caller decides
+     * what an unreachable cell is worth)
+     * Precomputed: O(1). Lazy: resumes the BFS only until cellId is discovered
+     */
+    public int distanceTo(int cellId) {
+        if (root < 0) {
+            throw new IllegalStateException("Distance field has no root");
+        }
+        if (table != null) {
+            return table.distance(root, cellId);
+        }
+        while (stamp[cellId] != generation && head < tail) {
+            expand(queue[head++]);
+        }
+        return stamp[cellId] == generation ? distance[cellId] : UNREACHABLE;
+    }
+    
+    public int getRoot() {
+        return root;
+    }
+    
+    public boolean isPrecomputed() {
+        return table != null;
+    }
+    
+    private void expand(int cell) {
+        int next = distance[cell] + 1;
+        for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+            int neighbor = neighborTargets[e];
+            if (stamp[neighbor] != generation) {
+                stamp[neighbor] = generation;
+                distance[neighbor] = next;
+                queue[tail++] = neighbor;
+            }
+        }
+    }
+}
\ No newline at end of file
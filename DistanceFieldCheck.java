@@ -0,0 +1,49 @@
+/**
+ * DISTANCE FIELD CHECK - Reference check for DistanceField
+ * For every root of the built-in mazes and a few generated ones, both
+ * backings (precomputed table and lazy BFS) must agree with a plain BFS
+ * over the wall grid, including UNREACHABLE for walls.
+ *
+ * Usage: java DistanceFieldCheck
+ * Exits with status 1 on the first mismatch.
+ */
+public class DistanceFieldCheck {
+    
+    public static void main(String[] args) {
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty).packedGrid);
+        }
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            failures += check("generated 41x41 " + algorithm,
+                              MazeGenerator.generate(41, 41, algorithm, 7));
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, PackedGrid grid) {
+        MazeGraph graph = new MazeGraph(grid);
+        DistanceField lazy = new DistanceField(graph);
+        DistanceField precomputed = new DistanceField(DistanceOracle.allPairs(graph));
+        
+        int roots = 0;
+        for (int root = 0; root < graph.getCellCount(); root++) {
+            if (graph.isWall(root)) continue;
+            int[] expected = PathFinderCheck.referenceDistances(grid, root);
+            lazy.setRoot(root);
+            precomputed.setRoot(root);
+            roots++;
+            for (int cell = 0; cell < graph.getCellCount(); cell++) {
+                if (lazy.distanceTo(cell) != expected[cell] ||
+                    precomputed.distanceTo(cell) != expected[cell]) {
+                    System.out.printf("FAIL %s: root %d cell %d expected %d, lazy %d, precomputed %d%n",
+                                      name, root, cell, expected[cell],
+                                      lazy.distanceTo(cell), precomputed.distanceTo(cell));
+                    return 1;
+                }
+            }
+        }
+        System.out.printf("ok   %s: %d roots%n", name, roots);
+        return 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,358 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * DISTANCE ORACLE - Precomputed maze distances for O(1) heuristics
+ *
+ * - ALL_PAIRS: one BFS per walkable cell fills an n x n char table
+ *   (2 bytes a pair), so distance() is exact and O(1). Meant for the
+ *   built-in and medium mazes: a few hundred cells take a few hundred
+ *   KB, MAX_ALL_PAIRS_CELLS (8192) takes 128 MB.
+ * - LANDMARKS (ALT): BFS from k landmarks picked by farthest-point
+ *   sampling; lowerBound(a, b) = max over L of |d(L, a) - d(L, b)|,
+ *   an admissible and consistent A* heuristic for any maze size.
+ *
+ * Only walkable cells are numbered, so walls take no table space. The
+ * all-pairs BFS runs in batches of sources on a fork-join pool. save()
+ * writes the table once per layout (keyed by the wall fingerprint) and
+ * load() reads it back. Immutable once built; safe to share.
+ */
+public class DistanceOracle {
+    
+    public enum Mode { ALL_PAIRS, LANDMARKS }
+    
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int MAX_ALL_PAIRS_CELLS = 8192;
+    public static final int DEFAULT_LANDMARKS = 16;
+    
+    // Stored as char: 0xFFFF marks unreachable; landmark distances are
+    // clamped below it, which keeps |d(L, a) - d(L, b)| a lower bound
+    private static final char NONE = 0xFFFF;
+    private static final int MAX_STORED = 0xFFFE;
+    private static final int SOURCES_PER_TASK = 32;
+    
+    // Cache file: "DST1", version, rows, cols, mode, landmark count, wall fingerprint
+    private static final int MAGIC = 0x44535431;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    
+    private final MazeGraph graph;
+    private final Mode mode;
+    private final int cols;
+    private final int[] denseIndex;
+    private final int[] cellOf;
+    private final int[] landmarks;
+    private final char[] table;
+    
+    private DistanceOracle(MazeGraph graph, Mode mode, int landmarkCount) {
+        this.graph = graph;
+        this.mode = mode;
+        this.cols = graph.getCols();
+        this.denseIndex = new int[graph.getCellCount()];
+        
+        int walkable = 0;
+        for (int id = 0; id < denseIndex.length; id++) {
+            denseIndex[id] = graph.isWall(id) ? -1 : walkable++;
+        }
+        this.cellOf = new int[walkable];
+        for (int id = 0; id < denseIndex.length; id++) {
+            if (denseIndex[id] >= 0) cellOf[denseIndex[id]] = id;
+        }
+        
+        if (mode == Mode.ALL_PAIRS && walkable > MAX_ALL_PAIRS_CELLS) {
+            throw new IllegalArgumentException("Too many walkable cells for an all-pairs table: " +
+                                               walkable + " > " + MAX_ALL_PAIRS_CELLS);
+        }
+        int rows = (mode == Mode.ALL_PAIRS) ? walkable : Math.min(landmarkCount, walkable);
+        if ((long) rows * walkable > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Distance table too large: " + rows + " x " + walkable);
+        }
+        this.landmarks = (mode == Mode.ALL_PAIRS) ? null : new int[rows];
+        this.table = new char[rows * walkable];
+    }
+    
+    // ========== BUILD ==========
+    
+    /**
+     * Exact table, BFS sources spread over the common fork-join pool
+     */
+    public static DistanceOracle allPairs(MazeGraph graph) {
+        return allPairs(graph, ForkJoinPool.commonPool());
+    }
+    
+    public static DistanceOracle allPairs(MazeGraph graph, ForkJoinPool pool) {
+        DistanceOracle oracle = new DistanceOracle(graph, Mode.ALL_PAIRS, 0);
+        pool.invoke(oracle.new SourceRange(0, oracle.cellOf.length));
+        return oracle;
+    }
+    
+    /**
+     * ALT lower bounds from count landmarks
+     * Each landmark is the cell farthest from those already chosen (an
+     * unreachable cell counts as farthest, so every component gets one)
+     * Time Complexity: O(count × cells)
+     */
+    public static DistanceOracle landmarks(MazeGraph graph, int count) {
+        DistanceOracle oracle = new DistanceOracle(graph, Mode.LANDMARKS, count);
+        int walkable = oracle.cellOf.length;
+        int[] queue = new int[walkable];
+        int[] nearest = new int[walkable];
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+        
+        int next = 0;
+        for (int l = 0; l < oracle.landmarks.length; l++) {
+            oracle.landmarks[l] = next;
+            oracle.bfs(next, l, queue);
+            
+            int farthest = -1;
+            for (int i = 0; i < walkable; i++) {
+                char d = oracle.table[l * walkable + i];
+                nearest[i] = Math.min(nearest[i], d == NONE ? Integer.MAX_VALUE : d);
+                if (farthest < 0 || nearest[i] > nearest[farthest]) farthest = i;
+            }
+            next = farthest;
+        }
+        return oracle;
+    }
+    
+    /**
+     * All-pairs when the maze is small enough, landmarks otherwise
+     */
+    public static DistanceOracle forGraph(MazeGraph graph) {
+        int walkable = 0;
+        for (int id = 0; id < graph.getCellCount(); id++) {
+            if (!graph.isWall(id)) walkable++;
+        }
+        return walkable <= MAX_ALL_PAIRS_CELLS ? allPairs(graph) : landmarks(graph, DEFAULT_LANDMARKS);
+    }
+    
+    /**
+     * BFS from dense cell source into table row
+     */
+    private void bfs(int source, int row, int[] queue) {
+        int walkable = cellOf.length;
+        int base = row * walkable;
+        int[] neighborOffsets = graph.getNeighborOffsets();
+        int[] neighborTargets = graph.getNeighborTargets();
+        Arrays.fill(table, base, base + walkable, NONE);
+        
+        int head = 0;
+        int tail = 0;
+        table[base + source] = 0;
+        queue[tail++] = cellOf[source];
+        
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = Math.min(table[base + denseIndex[cell]] + 1, MAX_STORED);
+            for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                int neighbor = neighborTargets[e];
+                int index = base + denseIndex[neighbor];
+                if (table[index] == NONE) {
+                    table[index] = (char) next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fork-join split over BFS sources; each leaf owns one queue
+     */
+    private class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        SourceRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > SOURCES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SourceRange(from, mid), new SourceRange(mid, to));
+                return;
+            }
+            int[] queue = new int[cellOf.length];
+            for (int source = from; source < to; source++) {
+                bfs(source, source, queue);
+            }
+        }
+    }
+    
+    // ========== QUERIES ==========
+    
+    /**
+     * Exact maze distance between cell ids, or UNREACHABLE
+     * Only for ALL_PAIRS; walls are unreachable. O(1)
+     */
+    public int distance(int from, int to) {
+        if (mode != Mode.ALL_PAIRS) {
+            throw new IllegalStateException("Landmark oracle only gives lower bounds");
+        }
+        int a = denseIndex[from];
+        int b = denseIndex[to];
+        if (a < 0 || b < 0) return UNREACHABLE;
+        char d = table[a * cellOf.length + b];
+        return d == NONE ? UNREACHABLE : d;
+    }
+    
+    /**
+     * Admissible, consistent estimate of the maze distance
+     * Exact for ALL_PAIRS; UNREACHABLE when the cells are known to be
+     * in different components. O(1), or O(landmarks)
+     */
+    public int lowerBound(int from, int to) {
+        if (mode == Mode.ALL_PAIRS) return distance(from, to);
+        
+        int a = denseIndex[from];
+        int b = denseIndex[to];
+        if (a < 0 || b < 0) return UNREACHABLE;
+        int walkable = cellOf.length;
+        int best = 0;
+        for (int l = 0; l < landmarks.length; l++) {
+            char da = table[l * walkable + a];
+            char db = table[l * walkable + b];
+            if (da == NONE || db == NONE) {
+                if (da != db) return UNREACHABLE;
+                continue;
+            }
+            best = Math.max(best, Math.abs(da - db));
+        }
+        return best;
+    }
+    
+    public boolean isExact() { return mode == Mode.ALL_PAIRS; }
+    public Mode getMode() { return mode; }
+    public int getWalkableCount() { return cellOf.length; }
+    public int getLandmarkCount() { return landmarks == null ? 0 : landmarks.length; }
+    public long getTableBytes() { return 2L * table.length; }
+    
+    // ========== CACHE FILE ==========
+    
+    /**
+     * Load the table cached for this layout, or build (forGraph) and cache it
+     */
+    public static DistanceOracle loadOrBuild(Path path, MazeGraph graph) throws IOException {
+        if (Files.exists(path)) {
+            try {
+                return load(path, graph);
+            } catch (IOException stale) {
+                // Different maze or format: rebuild below
+            }
+        }
+        DistanceOracle oracle = forGraph(graph);
+        oracle.save(path);
+        return oracle;
+    }
+    
+    /**
+     * Write the table (little-endian, streamed in 64 KiB blocks)
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer block = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            block.putInt(MAGIC).putInt(VERSION).putInt(graph.getRows()).putInt(cols)
+                 .putInt(mode.ordinal()).putInt(getLandmarkCount())
+                 .putLong(WallGrid.fingerprint(graph.getGrid()));
+            
+            for (int l = 0; l < getLandmarkCount(); l++) {
+                ensure(channel, block, 4);
+                block.putInt(landmarks[l]);
+            }
+            for (char d : table) {
+                ensure(channel, block, 2);
+                block.putChar(d);
+            }
+            block.flip();
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+        }
+    }
+    
+    private static void ensure(FileChannel channel, ByteBuffer block, int bytes)
+            throws IOException {
+        if (block.remaining() >= bytes) return;
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+    
+    /**
+     * Read a cached table; fails if it was built for other walls
+     */
+    public static DistanceOracle load(Path path, MazeGraph graph) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a distance oracle: " + path);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a distance oracle: " + path);
+            }
+            int rows = in.getInt();
+            int cols = in.getInt();
+            int modeIndex = in.getInt();
+            int landmarkCount = in.getInt();
+            long fingerprint = in.getLong();
+            if (rows != graph.getRows() || cols != graph.getCols() ||
+                fingerprint != WallGrid.fingerprint(graph.getGrid())) {
+                throw new IOException("Distance oracle does not match this maze: " + path);
+            }
+            if (modeIndex < 0 || modeIndex >= Mode.values().length) {
+                throw new IOException("Corrupt distance oracle: " + path);
+            }
+            
+            DistanceOracle oracle = new DistanceOracle(graph, Mode.values()[modeIndex], landmarkCount);
+            try {
+                for (int l = 0; l < oracle.getLandmarkCount(); l++) {
+                    oracle.landmarks[l] = in.getInt();
+                }
+                in.asCharBuffer().get(oracle.table);
+            } catch (RuntimeException truncated) {
+                throw new IOException("Corrupt distance oracle: " + path, truncated);
+            }
+            return oracle;
+        }
+    }
+    
+    // ========== COMMAND LINE ==========
+    
+    /**
+     * Build and cache the oracle for a maze file:
+     * java DistanceOracle maze.maze out.oracle [landmarks]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java DistanceOracle <maze.maze> <out.oracle> [landmarks]");
+            return;
+        }
+        MazeGraph graph = MazeGraph.buildParallel(MazeFile.open(Path.of(args[0])),
+                                                  MazeGraph.Storage.COMPACT);
+        long start = System.nanoTime();
+        DistanceOracle oracle = args.length > 2
+            ? landmarks(graph, Integer.parseInt(args[2]))
+            : forGraph(graph);
+        oracle.save(Path.of(args[1]));
+        System.out.printf("%s oracle: %d walkable cells, %d KB, built in %.1f ms%n",
+                          oracle.mode, oracle.getWalkableCount(), oracle.getTableBytes() >> 10,
+                          (System.nanoTime() - start) / 1e6);
+    }
+}
\ No newline at end of file
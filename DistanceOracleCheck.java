@@ -0,0 +1,179 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * DISTANCE ORACLE CHECK - Reference check for DistanceOracle
+ * Against PathFinderCheck.referenceDistances (a plain BFS per source):
+ * - All-pairs: distance() must equal the BFS for every pair of cells
+ *   (walls and other components UNREACHABLE), on the common pool and on
+ *   a 3-thread pool
+ * - Landmarks (1, 4 and 16): lowerBound() must be admissible (never
+ *   above the BFS distance, UNREACHABLE only across components) and
+ *   consistent (changes by at most 1 across every edge, 0 at the goal)
+ * - Cache: save() then load() must answer every query the same way,
+ *   load() must reject another maze's file and loadOrBuild() rebuild it
+ * Mazes: the built-in ones, a braided 41x41, and random noise with many
+ * separate components.
+ *
+ * Usage: java DistanceOracleCheck [landmark goals per maze]
+ * Exits with status 1 on a failure.
+ */
+public class DistanceOracleCheck {
+    
+    private static final int DEFAULT_GOALS = 40;
+    private static final int[] LANDMARK_COUNTS = {1, 4, 16};
+    
+    public static void main(String[] args) throws IOException {
+        int goals = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GOALS;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty).packedGrid, pool, goals);
+        }
+        failures += check("generated 41x41 BRAIDED",
+                          MazeGenerator.generate(41, 41, MazeGenerator.Algorithm.BRAIDED, 3), pool, goals);
+        failures += check("noise 30x40", noise(30, 40), pool, goals);
+        pool.shutdown();
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, PackedGrid grid, ForkJoinPool pool, int goals) throws IOException {
+        MazeGraph graph = new MazeGraph(grid);
+        int n = graph.getCellCount();
+        int[][] reference = new int[n][];
+        for (int cell = 0; cell < n; cell++) {
+            if (!graph.isWall(cell)) reference[cell] = PathFinderCheck.referenceDistances(grid, cell);
+        }
+        
+        DistanceOracle exact = DistanceOracle.allPairs(graph);
+        String problem = allPairsProblem(graph, exact, reference);
+        if (problem == null) {
+            problem = allPairsProblem(graph, DistanceOracle.allPairs(graph, pool), reference);
+            if (problem != null) problem = "3-thread pool: " + problem;
+        }
+        for (int count : LANDMARK_COUNTS) {
+            if (problem != null) break;
+            problem = landmarkProblem(graph, DistanceOracle.landmarks(graph, count), reference,
+                                      new SplittableRandom(count), goals);
+            if (problem != null) problem = count + " landmarks: " + problem;
+        }
+        if (problem == null) problem = cacheProblem(graph, exact);
+        if (problem == null) problem = cacheProblem(graph, DistanceOracle.landmarks(graph, 4));
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d walkable cells, all pairs + %d landmark sets + cache%n",
+                          name, exact.getWalkableCount(), LANDMARK_COUNTS.length);
+        return 0;
+    }
+    
+    private static String allPairsProblem(MazeGraph graph, DistanceOracle oracle, int[][] reference) {
+        int n = graph.getCellCount();
+        if (!oracle.isExact()) return "not exact";
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                int expected = reference[from] == null || graph.isWall(to)
+                             ? DistanceOracle.UNREACHABLE : reference[from][to];
+                if (oracle.distance(from, to) != expected) {
+                    return "distance(" + from + ", " + to + ") = " + oracle.distance(from, to) +
+                           ", BFS " + expected;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Admissible for every pair into the sampled goals; consistent over
+     * every edge
+     */
+    private static String landmarkProblem(MazeGraph graph, DistanceOracle oracle, int[][] reference,
+                                          SplittableRandom random, int goals) {
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        int[] offsets = graph.getNeighborOffsets();
+        int[] targets = graph.getNeighborTargets();
+        for (int g = 0; g < goals; g++) {
+            int goal = walkable[random.nextInt(walkable.length)];
+            if (oracle.lowerBound(goal, goal) != 0) return "lowerBound(" + goal + ", itself) != 0";
+            for (int from : walkable) {
+                int bound = oracle.lowerBound(from, goal);
+                int actual = reference[from][goal];
+                boolean separate = actual == Integer.MAX_VALUE;
+                if (bound == DistanceOracle.UNREACHABLE ? !separate : !separate && bound > actual) {
+                    return "lowerBound(" + from + ", " + goal + ") = " + bound + ", BFS " +
+                           (separate ? "unreachable" : actual);
+                }
+                for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                    int next = oracle.lowerBound(targets[e], goal);
+                    boolean unreachable = bound == DistanceOracle.UNREACHABLE;
+                    if (unreachable != (next == DistanceOracle.UNREACHABLE) ||
+                        (!unreachable && Math.abs(bound - next) > 1)) {
+                        return "bound jumps from " + bound + " to " + next + " on edge " + from +
+                               " -> " + targets[e] + " (goal " + goal + ")";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static String cacheProblem(MazeGraph graph, DistanceOracle oracle) throws IOException {
+        Path cache = Files.createTempFile("oracle", ".bin");
+        try {
+            oracle.save(cache);
+            DistanceOracle loaded = DistanceOracle.load(cache, graph);
+            String what = oracle.getMode() + " reload: ";
+            if (loaded.getMode() != oracle.getMode() || loaded.getLandmarkCount() != oracle.getLandmarkCount() ||
+                loaded.getWalkableCount() != oracle.getWalkableCount()) {
+                return what + "mode or sizes differ";
+            }
+            int n = graph.getCellCount();
+            for (int from = 0; from < n; from++) {
+                for (int to = 0; to < n; to++) {
+                    if (loaded.lowerBound(from, to) != oracle.lowerBound(from, to)) {
+                        return what + "lowerBound(" + from + ", " + to + ") differs";
+                    }
+                }
+            }
+            
+            // Another layout: load() must refuse, loadOrBuild() must rebuild for it
+            PackedGrid other = MazeGenerator.generate(21, 21, MazeGenerator.Algorithm.KRUSKAL, n);
+            MazeGraph otherGraph = new MazeGraph(other);
+            try {
+                DistanceOracle.load(cache, otherGraph);
+                return what + "loaded for another maze";
+            } catch (IOException expected) {
+                // Fingerprint mismatch
+            }
+            DistanceOracle rebuilt = DistanceOracle.loadOrBuild(cache, otherGraph);
+            if (rebuilt.getWalkableCount() != PathFinderCheck.walkableCells(otherGraph).length) {
+                return what + "loadOrBuild kept the stale table";
+            }
+            if (DistanceOracle.load(cache, otherGraph).getWalkableCount() != rebuilt.getWalkableCount()) {
+                return what + "loadOrBuild did not rewrite the cache";
+            }
+        } finally {
+            Files.delete(cache);
+        }
+        return null;
+    }
+    
+    /**
+     * Random walls with a closed border: many separate components
+     */
+    private static PackedGrid noise(int rows, int cols) {
+        SplittableRandom random = new SplittableRandom((long) rows * cols);
+        PackedGrid grid = new PackedGrid(rows, cols);
+        for (int r = 1; r < rows - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                grid.setWall(r, c, random.nextInt(5) < 2);
+            }
+        }
+        return grid;
+    }
+}
\ No newline at end of file
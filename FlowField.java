@@ -0,0 +1,96 @@
+/**
+ * FLOW FIELD - Shared "next step toward the player" for every chaser
+ * One BFS from the root (the player's cell) records, for each reachable
+ * cell, its distance and the neighbor one step closer to the root. Any
+ * number of chasers then follow the field with an O(1) lookup each, so
+ * a turn costs one BFS plus O(chasers) instead of one search per chaser.
+ *
+ * Recomputed only when the root moves; marks are generation-stamped
+ * like DistanceField, so a rebuild never clears the arrays.
+ * Not thread-safe; read-only between updates.
+ */
+public class FlowField {
+    
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final int[] distance;
+    private final int[] next;
+    private final int[] stamp;
+    private final int[] queue;
+    private int generation;
+    private int root = -1;
+    private int reached;
+    
+    public FlowField(MazeGraph graph) {
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        int cells = graph.getCellCount();
+        this.distance = new int[cells];
+        this.next = new int[cells];
+        this.stamp = new int[cells];
+        this.queue = new int[cells];
+    }
+    
+    /**
+     * Re-root the field with a full BFS; no-op if the root is unchanged
+     * Time Complexity: O(reachable cells)
+     * @return true if the field was recomputed
+     */
+    public boolean update(int rootCell) {
+        if (rootCell == root) return false;
+        
+        if (++generation == Integer.MAX_VALUE) {
+            java.util.Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        root = rootCell;
+        int head = 0;
+        int tail = 0;
+        stamp[rootCell] = generation;
+        distance[rootCell] = 0;
+        next[rootCell] = rootCell;
+        queue[tail++] = rootCell;
+        
+        while (head < tail) {
+            int cell = queue[head++];
+            int d = distance[cell] + 1;
+            for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                int neighbor = neighborTargets[e];
+                if (stamp[neighbor] != generation) {
+                    stamp[neighbor] = generation;
+                    distance[neighbor] = d;
+                    next[neighbor] = cell;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        reached = tail;
+        return true;
+    }
+    
+    /**
+     * Force the next update() to rebuild (e.g. after wall changes)
+     */
+    public void invalidate() {
+        root = -1;
+    }
+    
+    // ========== QUERIES (O(1)) ==========
+    
+    /**
+     * Neighbor one step closer to the root; the root maps to itself,
+     * unreachable cells to -1
+     */
+    public int nextCell(int cell) {
+        return stamp[cell] == generation ? next[cell] : -1;
+    }
+    
+    public int distanceTo(int cell) {
+        return stamp[cell] == generation ? distance[cell] : UNREACHABLE;
+    }
+    
+    public int getRoot() { return root; }
+    public int getReachedCount() { return reached; }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+/**
+ * GAME ENGINE - Headless turn-based game logic
+ * Owns positions, turn order and win/lose checks with no Swing
+ * dependency. GameWindow drives it from key events and timers;
+ * simulators call the step API directly, as fast as the AI allows.
+ *
+ * Turn order: player moves -> AI moves -> player moves ...
+ */
+public class GameEngine {
+    
+    public enum State { PLAYING, WON, LOST }
+    
+    private final MazeGraph graph;
+    private final WallGrid grid;
+    private final GreedyAI ai;
+    private SwarmAI swarm;
+    private final int exitRow;
+    private final int exitCol;
+    
+    private int playerRow;
+    private int playerCol;
+    private int aiRow;
+    private int aiCol;
+    private int moves;
+    private int turns;
+    private State state;
+    private boolean playerTurn;
+    private final GreedyAI.DecisionBuffer aiDecision = new GreedyAI.DecisionBuffer();
+    private boolean aiDecided;
+    private GreedyAI.Decision lastAiDecision;  // built on demand from aiDecision
+    
+    public GameEngine(MazeConfigurations.MazeConfig config, MazeGraph graph, GreedyAI ai) {
+        this.graph = graph;
+        this.grid = graph.getGrid();
+        this.ai = ai;
+        this.exitRow = config.exit.x;
+        this.exitCol = config.exit.y;
+        this.playerRow = config.playerStart.x;
+        this.playerCol = config.playerStart.y;
+        this.aiRow = config.aiStart.x;
+        this.aiCol = config.aiStart.y;
+        this.state = State.PLAYING;
+        this.playerTurn = true;
+    }
+    
+    // ========== STEP API ==========
+    
+    /**
+     * Player move in one PackedGrid direction (UP, DOWN, LEFT, RIGHT)
+     * @return false if it is not the player's turn or the move is blocked
+     */
+    public boolean movePlayer(int direction) {
+        if (state != State.PLAYING || !playerTurn) return false;
+        if (!grid.canMove(playerRow, playerCol, direction)) return false;
+        
+        switch (direction) {
+            case PackedGrid.UP: playerRow--; break;
+            case PackedGrid.DOWN: playerRow++; break;
+            case PackedGrid.LEFT: playerCol--; break;
+            case PackedGrid.RIGHT: playerCol++; break;
+            default: return false;
+        }
+        moves++;
+        
+        // Check win/lose conditions
+        if (playerRow == exitRow && playerCol == exitCol) {
+            state = State.WON;
+        } else if ((playerRow == aiRow && playerCol == aiCol) ||
+                   (swarm != null && swarm.isOccupied(graph.getCellId(playerRow, playerCol)))) {
+            state = State.LOST;
+        } else {
+            playerTurn = false;
+        }
+        return true;
+    }
+    
+    /**
+     * Cell a player move would reach if it passes the turn to the AI
+     * @return -1 if the move is blocked, not allowed now, or would end the game
+     */
+    public int playerCellAfter(int direction) {
+        if (state != State.PLAYING || !playerTurn) return -1;
+        if (!grid.canMove(playerRow, playerCol, direction)) return -1;
+        
+        int row = playerRow;
+        int col = playerCol;
+        switch (direction) {
+            case PackedGrid.UP: row--; break;
+            case PackedGrid.DOWN: row++; break;
+            case PackedGrid.LEFT: col--; break;
+            case PackedGrid.RIGHT: col++; break;
+            default: return -1;
+        }
+        int cell = graph.getCellId(row, col);
+        if ((row == exitRow && col == exitCol) || (row == aiRow && col == aiCol) ||
+            (swarm != null && swarm.isOccupied(cell))) {
+            return -1;
+        }
+        return cell;
+    }
+    
+    /**
+     * AI turn; returns the decision, or null if it is not the AI's turn
+     * The turn passes back to the player even if the AI has no move
+     */
+    public GreedyAI.Decision moveAI() {
+        return stepAI() ? getLastAiDecision() : null;
+    }
+    
+    /**
+     * AI turn without building a Decision object (no allocation once warm)
+     * @return false if it is not the AI's turn
+     */
+    public boolean stepAI() {
+        if (state != State.PLAYING || playerTurn) return false;
+        return applyAI(decideAI(aiDecision), aiDecision);
+    }
+    
+    /**
+     * First half of stepAI(): the AI's decision for the current position,
+     * written to out without changing the game. May run on another thread
+     * while the engine waits on the AI's turn (nothing else steps it then).
+     * @return false if the AI has no decision
+     */
+    public boolean decideAI(GreedyAI.DecisionBuffer out) {
+        return ai.decide(aiRow, aiCol, playerRow, playerCol, out);
+    }
+    
+    /**
+     * Second half of stepAI(): play a decision from decideAI()
+     * @return false if it is not the AI's turn
+     */
+    public boolean applyAI(boolean decided, GreedyAI.DecisionBuffer decision) {
+        if (state != State.PLAYING || playerTurn) return false;
+        
+        aiDecided = decided;
+        if (decision != aiDecision) aiDecision.copyFrom(decision);
+        lastAiDecision = null;
+        if (aiDecided && aiDecision.chosenCell >= 0) {
+            aiRow = graph.getRowOf(aiDecision.chosenCell);
+            aiCol = graph.getColOf(aiDecision.chosenCell);
+        }
+        turns++;
+        
+        // Extra chasers follow the shared flow field
+        boolean swarmCaught = swarm != null && swarm.step(graph.getCellId(playerRow, playerCol));
+        
+        // Check if AI caught player
+        if ((aiRow == playerRow && aiCol == playerCol) || swarmCaught) {
+            state = State.LOST;
+        } else {
+            playerTurn = true;
+        }
+        return true;
+    }
+    
+    // ========== STATE QUERIES ==========
+    
+    public State getState() { return state; }
+    public boolean isPlayerTurn() { return state == State.PLAYING && playerTurn; }
+    public int getPlayerRow() { return playerRow; }
+    public int getPlayerCol() { return playerCol; }
+    public int getAiRow() { return aiRow; }
+    public int getAiCol() { return aiCol; }
+    public int getExitRow() { return exitRow; }
+    public int getExitCol() { return exitCol; }
+    public int getMoves() { return moves; }
+    public int getTurns() { return turns; }
+    public MazeGraph getGraph() { return graph; }
+    public GreedyAI getAI() { return ai; }
+    public SwarmAI getSwarm() { return swarm; }
+    
+    /**
+     * Add a swarm of extra chasers that move on every AI turn (null removes it)
+     */
+    public void setSwarm(SwarmAI swarm) {
+        this.swarm = swarm;
+    }
+    
+    /**
+     * Node-based view of the last AI decision, built on first request
+     */
+    public GreedyAI.Decision getLastAiDecision() {
+        if (lastAiDecision == null && aiDecided) {
+            lastAiDecision = aiDecision.toDecision(graph);
+        }
+        return lastAiDecision;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+/**
+ * GAME VIEW - Read-only game state drawn by MazePanel and GraphPanel
+ * GameWindow implements it for the live game; benchmarks and other
+ * headless callers can supply their own, without creating a JFrame.
+ */
+interface GameView {
+    
+    /** Current game, or null before the first game starts */
+    GameEngine getEngine();
+    
+    PackedGrid getMaze();
+    
+    MazeGraph getGraph();
+    
+    String getDifficulty();
+    
+    String getPlannerName();
+}
\ No newline at end of file
@@ -13,26 +13,40 @@ import java.awt.event.*;
  * - Complex maze navigation
  * - Professional UI/UX
  */
-public class GameWindow extends JFrame {
+public class GameWindow extends JFrame implements GameView {
     
     private enum GameState { MENU, PLAYING, WON, LOST }
     
+    static final String[] PLANNERS = {
+        "Greedy (one step)", "A*", "Bidirectional A*", "Jump Point Search",
+        "D* Lite (incremental)", "Hierarchical (HPA*)"
+    };
+    
+    static final Integer[] CHASER_COUNTS = {0, 2, 5, 10};
+    
     // ========== GAME STATE ==========
     GameState gameState;
     String difficulty;
+    boolean mazeDistancePursuit;
+    boolean useDistanceOracle;
+    boolean perfectPursuit;
+    boolean speculativeAI;
+    String planner = PLANNERS[0];
+    boolean comparePlanners;
+    int extraChasers = CHASER_COUNTS[0];
     MazeGraph graph;
     GreedyAI ai;
-    Point playerPos;
-    Point aiPos;
-    Point exitPos;
-    int[][] currentMaze;
-    int moves;
+    GameEngine engine;
+    PackedGrid currentMaze;
     int seconds;
-    GreedyAI.Decision lastAiDecision;
     
-    // ========== TURN-BASED CONTROL ==========
-    boolean waitingForPlayer = true;
-    boolean isProcessingMove = false;
+    // Shared with BatchSimulator; caches oracles and solved tables per layout
+    private final AIFactory aiFactory = new AIFactory();
+    
+    // AI turn: decision computed off the EDT, applied once the display delay has passed
+    private final AIWorker aiWorker = new AIWorker();
+    private AIWorker.Result aiResult;
+    private boolean aiDelayElapsed;
     
     // ========== UI COMPONENTS ==========
     private JPanel mainPanel;
@@ -119,6 +133,107 @@ public class GameWindow extends JFrame {
             menuPanel.add(Box.createVerticalStrut(15));
         }
         
+        // Pursuit option
+        JCheckBox mazeDistanceBox = new JCheckBox("Chase by true maze distance (BFS field)");
+        mazeDistanceBox.setSelected(mazeDistancePursuit);
+        mazeDistanceBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        mazeDistanceBox.setForeground(Color.LIGHT_GRAY);
+        mazeDistanceBox.setBackground(new Color(15, 23, 42));
+        mazeDistanceBox.setFocusPainted(false);
+        mazeDistanceBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        mazeDistanceBox.addActionListener(e -> 
+            mazeDistancePursuit = mazeDistanceBox.isSelected());
+        menuPanel.add(mazeDistanceBox);
+        menuPanel.add(Box.createVerticalStrut(5));
+        
+        JCheckBox oracleBox = new JCheckBox("Precomputed all-pairs distances (oracle)");
+        oracleBox.setSelected(useDistanceOracle);
+        oracleBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        oracleBox.setForeground(Color.LIGHT_GRAY);
+        oracleBox.setBackground(new Color(15, 23, 42));
+        oracleBox.setFocusPainted(false);
+        oracleBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        oracleBox.addActionListener(e -> 
+            useDistanceOracle = oracleBox.isSelected());
+        menuPanel.add(oracleBox);
+        
+        JCheckBox perfectBox = new JCheckBox("Perfect AI (solved game table)");
+        perfectBox.setSelected(perfectPursuit);
+        perfectBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        perfectBox.setForeground(Color.LIGHT_GRAY);
+        perfectBox.setBackground(new Color(15, 23, 42));
+        perfectBox.setFocusPainted(false);
+        perfectBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        perfectBox.addActionListener(e -> 
+            perfectPursuit = perfectBox.isSelected());
+        menuPanel.add(perfectBox);
+        
+        JCheckBox speculateBox = new JCheckBox("Precompute AI replies during your turn");
+        speculateBox.setSelected(speculativeAI);
+        speculateBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        speculateBox.setForeground(Color.LIGHT_GRAY);
+        speculateBox.setBackground(new Color(15, 23, 42));
+        speculateBox.setFocusPainted(false);
+        speculateBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        speculateBox.addActionListener(e -> 
+            speculativeAI = speculateBox.isSelected());
+        menuPanel.add(speculateBox);
+        menuPanel.add(Box.createVerticalStrut(10));
+        
+        // Planner selection
+        JPanel plannerRow = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        plannerRow.setBackground(new Color(15, 23, 42));
+        plannerRow.setMaximumSize(new Dimension(600, 35));
+        plannerRow.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
+        JLabel plannerLabel = new JLabel("AI Planner:");
+        plannerLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        plannerLabel.setForeground(Color.LIGHT_GRAY);
+        
+        JComboBox<String> plannerBox = new JComboBox<>(PLANNERS);
+        plannerBox.setSelectedItem(planner);
+        plannerBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        plannerBox.setFocusable(false);
+        plannerBox.addActionListener(e -> 
+            planner = (String) plannerBox.getSelectedItem());
+        
+        plannerRow.add(plannerLabel);
+        plannerRow.add(plannerBox);
+        menuPanel.add(plannerRow);
+        
+        JCheckBox compareBox = new JCheckBox("Also run plain A* each move (compare nodes expanded)");
+        compareBox.setSelected(comparePlanners);
+        compareBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        compareBox.setForeground(Color.LIGHT_GRAY);
+        compareBox.setBackground(new Color(15, 23, 42));
+        compareBox.setFocusPainted(false);
+        compareBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        compareBox.addActionListener(e -> 
+            comparePlanners = compareBox.isSelected());
+        menuPanel.add(compareBox);
+        menuPanel.add(Box.createVerticalStrut(5));
+        
+        // Extra flow-field chasers
+        JPanel chaserRow = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        chaserRow.setBackground(new Color(15, 23, 42));
+        chaserRow.setMaximumSize(new Dimension(600, 35));
+        chaserRow.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
+        JLabel chaserLabel = new JLabel("Extra chasers:");
+        chaserLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        chaserLabel.setForeground(Color.LIGHT_GRAY);
+        
+        JComboBox<Integer> chaserBox = new JComboBox<>(CHASER_COUNTS);
+        chaserBox.setSelectedItem(extraChasers);
+        chaserBox.setFont(new Font("Arial", Font.PLAIN, 13));
+        chaserBox.setFocusable(false);
+        chaserBox.addActionListener(e -> 
+            extraChasers = (Integer) chaserBox.getSelectedItem());
+        
+        chaserRow.add(chaserLabel);
+        chaserRow.add(chaserBox);
+        menuPanel.add(chaserRow);
+        
         // Turn-based explanation panel
         JPanel infoPanel = new JPanel();
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
@@ -219,29 +334,73 @@ public class GameWindow extends JFrame {
         // Get maze configuration
         MazeConfigurations.MazeConfig config = MazeConfigurations.getMaze(difficulty);
         
-        currentMaze = config.grid;
-        playerPos = new Point(config.playerStart);
-        aiPos = new Point(config.aiStart);
-        exitPos = new Point(config.exit);
+        currentMaze = config.packedGrid;
         
         // Reset stats
-        moves = 0;
         seconds = 0;
-        lastAiDecision = null;
         
-        // Reset turn system
-        waitingForPlayer = true;
-        isProcessingMove = false;
-        
-        // Build graph and AI
+        // Build graph and AI; the oracle, solved table and lookahead are
+        // built on the AI worker, before its first decision, not on the EDT
         graph = new MazeGraph(currentMaze);
-        ai = new GreedyAI(graph, difficulty);
+        int exitCell = graph.getCellId(config.exit.x, config.exit.y);
+        ai = aiFactory.newAI(graph, perfectPursuit ? "perfect" : difficulty, mazeDistancePursuit);
+        aiWorker.cancel();
+        aiWorker.prepare(setupTask(ai, graph, exitCell));
+        
+        // Fresh engine resets positions, moves and the turn system
+        engine = new GameEngine(config, graph, ai);
+        if (extraChasers > 0) {
+            SwarmAI swarm = new SwarmAI(graph);
+            swarm.spawnRandom(extraChasers, System.nanoTime(), config.playerStart.x,
+                              config.playerStart.y, (graph.getRows() + graph.getCols()) / 3);
+            engine.setSwarm(swarm);
+        }
         
         // Setup game UI
         setupGameUI();
         startGameTimer();
         
         gameState = GameState.PLAYING;
+        speculateAIReplies();
+    }
+    
+    /**
+     * Worker-side setup for a new game: equip the AI and attach the
+     * selected planner. Menu choices are read now, on the EDT
+     */
+    private Runnable setupTask(GreedyAI ai, MazeGraph graph, int exitCell) {
+        boolean useOracle = useDistanceOracle;
+        String selected = planner;
+        boolean compare = comparePlanners;
+        return () -> {
+            aiFactory.equip(ai, graph, exitCell, useOracle);
+            configurePlanner(ai, graph, useOracle ? aiFactory.oracleFor(graph) : null, selected, compare);
+        };
+    }
+    
+    /**
+     * Attach the selected full-path planner to the AI
+     * With compare on, plain A* also runs on each query so the savings
+     * show up (off by default: it doubles the search work per decision);
+     * with the oracle, A* variants use it as the heuristic
+     */
+    private static void configurePlanner(GreedyAI ai, MazeGraph graph, DistanceOracle oracle,
+                                         String planner, boolean compare) {
+        PathFinder finder = new PathFinder(graph);
+        finder.setOracle(oracle);
+        PathPlanner baseline = compare ? new PathFinder(graph)::aStar : null;
+        
+        if (planner.equals("A*")) {
+            ai.setPlanner(finder::aStar, baseline);
+        } else if (planner.equals("Bidirectional A*")) {
+            ai.setPlanner(finder::bidirectionalAStar, baseline);
+        } else if (planner.equals("Jump Point Search")) {
+            ai.setPlanner(new JumpPointSearch(graph), baseline);
+        } else if (planner.equals("D* Lite (incremental)")) {
+            ai.setPlanner(new IncrementalPlanner(graph), baseline);
+        } else if (planner.equals("Hierarchical (HPA*)")) {
+            ai.setPlanner(new HierarchicalPlanner(graph), baseline);
+        }
     }
     
     /**
@@ -346,11 +505,13 @@ public class GameWindow extends JFrame {
     }
     
     /**
-     * Stop all timers
+     * Stop all timers and any AI decision in progress
      */
     private void stopTimers() {
         if (gameTimer != null) gameTimer.stop();
         if (aiMoveTimer != null) aiMoveTimer.stop();
+        aiWorker.cancel();
+        aiResult = null;
     }
     
     /**
@@ -361,8 +522,7 @@ public class GameWindow extends JFrame {
             .addKeyEventDispatcher(e -> {
                 if (e.getID() == KeyEvent.KEY_PRESSED && 
                     gameState == GameState.PLAYING &&
-                    waitingForPlayer && 
-                    !isProcessingMove) {
+                    engine.isPlayerTurn()) {
                     handleKeyPress(e.getKeyCode());
                     return true;
                 }
@@ -372,64 +532,56 @@ public class GameWindow extends JFrame {
     
     /**
      * Handle player movement (TURN-BASED)
-     * Player can only move when waitingForPlayer = true
+     * Player can only move on the engine's player turn
      */
     private void handleKeyPress(int keyCode) {
         // Prevent multiple moves in same turn
-        if (isProcessingMove || !waitingForPlayer) return;
+        if (!engine.isPlayerTurn()) return;
         
-        int newRow = playerPos.x;
-        int newCol = playerPos.y;
+        int direction;
         
         // Map keys to directions
         switch (keyCode) {
             case KeyEvent.VK_UP:
             case KeyEvent.VK_W:
-                newRow--;
+                direction = PackedGrid.UP;
                 break;
             case KeyEvent.VK_DOWN:
             case KeyEvent.VK_S:
-                newRow++;
+                direction = PackedGrid.DOWN;
                 break;
             case KeyEvent.VK_LEFT:
             case KeyEvent.VK_A:
-                newCol--;
+                direction = PackedGrid.LEFT;
                 break;
             case KeyEvent.VK_RIGHT:
             case KeyEvent.VK_D:
-                newCol++;
+                direction = PackedGrid.RIGHT;
                 break;
             default:
                 return;
         }
         
-        // Validate and execute move
-        if (isValidMove(newRow, newCol)) {
-            // Lock player turn
-            isProcessingMove = true;
-            waitingForPlayer = false;
-            
-            // Move player
-            playerPos.setLocation(newRow, newCol);
-            moves++;
-            movesLabel.setText("🚶 Moves: " + moves);
+        // Validate and execute move (engine locks the player turn)
+        if (engine.movePlayer(direction)) {
+            movesLabel.setText("🚶 Moves: " + engine.getMoves());
             
             // Update turn indicator
             turnLabel.setText("🤖 AI TURN");
             turnLabel.setBackground(new Color(239, 68, 68));
             
             // Check win/lose conditions
-            if (playerPos.equals(exitPos)) { 
+            if (engine.getState() == GameEngine.State.WON) { 
                 gameWon(); 
                 return; 
             }
-            if (playerPos.equals(aiPos)) { 
+            if (engine.getState() == GameEngine.State.LOST) { 
                 gameLost(); 
                 return; 
             }
             
             // Update display
-            mazePanel.repaint();
+            mazePanel.repaintActors();
             graphPanel.repaint();
             
             // Schedule AI move
@@ -437,28 +589,27 @@ public class GameWindow extends JFrame {
         }
     }
     
-    /**
-     * Check if move is valid
-     */
-    private boolean isValidMove(int row, int col) {
-        if (row < 0 || row >= currentMaze.length || 
-            col < 0 || col >= currentMaze[0].length) {
-            return false;
-        }
-        return currentMaze[row][col] == 0;
-    }
-    
     /**
      * Schedule AI move with difficulty-based delay
+     * The decision is computed on the AI worker meanwhile; the move is
+     * made when both the delay and the decision are done
      */
     private void scheduleAIMove() {
         if (aiMoveTimer != null) aiMoveTimer.stop();
         
+        aiResult = null;
+        aiDelayElapsed = false;
+        aiWorker.request(engine, result -> {
+            aiResult = result;
+            moveAI();
+        });
+        
         // Delay based on difficulty (gives player time to see AI thinking)
         int delay = difficulty.equals("easy") ? 600 : 
                    difficulty.equals("medium") ? 450 : 300;
         
         aiMoveTimer = new Timer(delay, e -> { 
+            aiDelayElapsed = true;
             moveAI(); 
             aiMoveTimer.stop(); 
         });
@@ -472,32 +623,35 @@ public class GameWindow extends JFrame {
      */
     private void moveAI() {
         if (gameState != GameState.PLAYING) return;
+        if (!aiDelayElapsed || aiResult == null || aiResult.engine != engine) return;
         
-        // Get greedy decision
-        lastAiDecision = ai.getGreedyMove(
-            aiPos.x, aiPos.y, 
-            playerPos.x, playerPos.y
-        );
+        // Apply the worker's greedy decision
+        engine.applyAI(aiResult.decided, aiResult.decision);
+        aiResult = null;
         
-        if (lastAiDecision != null && lastAiDecision.chosenMove != null) {
-            Node chosen = lastAiDecision.chosenMove;
-            aiPos.setLocation(chosen.getRow(), chosen.getCol());
-            
-            // Check if AI caught player
-            if (aiPos.equals(playerPos)) { 
-                gameLost(); 
-                return; 
-            }
-            
-            // Return turn to player
-            waitingForPlayer = true;
-            isProcessingMove = false;
-            turnLabel.setText("🎮 YOUR TURN");
-            turnLabel.setBackground(new Color(59, 130, 246));
-            
-            // Update display
-            mazePanel.repaint();
-            graphPanel.repaint();
+        // Check if AI caught player
+        if (engine.getState() == GameEngine.State.LOST) { 
+            gameLost(); 
+            return; 
+        }
+        
+        // Return turn to player
+        turnLabel.setText("🎮 YOUR TURN");
+        turnLabel.setBackground(new Color(59, 130, 246));
+        
+        // Update display
+        mazePanel.repaintActors();
+        graphPanel.repaint();
+        speculateAIReplies();
+    }
+    
+    /**
+     * While the player thinks, compute the AI's reply to each of their
+     * moves so the real one is ready as soon as they move
+     */
+    private void speculateAIReplies() {
+        if (speculativeAI && engine.isPlayerTurn()) {
+            aiWorker.speculate(engine);
         }
     }
     
@@ -527,11 +681,19 @@ public class GameWindow extends JFrame {
     private void showEndDialog(String title, String msg, Color color) {
         String fullMsg = msg + "\n\n" +
                         "Time: " + seconds + "s\n" +
-                        "Moves: " + moves + "\n" +
+                        "Moves: " + engine.getMoves() + "\n" +
                         "Difficulty: " + difficulty.toUpperCase();
         
         JOptionPane.showMessageDialog(this, fullMsg, title, 
                                      JOptionPane.INFORMATION_MESSAGE);
         showMenu();
     }
+    
+    // ========== GAME VIEW (read by the panels) ==========
+    
+    @Override public GameEngine getEngine() { return engine; }
+    @Override public PackedGrid getMaze() { return currentMaze; }
+    @Override public MazeGraph getGraph() { return graph; }
+    @Override public String getDifficulty() { return difficulty; }
+    @Override public String getPlannerName() { return planner; }
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * ENHANCED GRAPH PANEL - Professional real-time visualization
+ * The grid, edges and plain nodes are pre-rendered into a cached layer
+ * (rebuilt per maze and viewport); decision arrows, agent nodes and the
+ * analysis panel are drawn live on top. Zoom and pan with the mouse
+ * (MazeViewport): only cells inside the view are drawn, and below
+ * MIN_CELL_SIZE the graph gives way to a DensityMipmap image of the
+ * maze with the agents as dots.
  */
 class GraphPanel extends JPanel {
     
-    private GameWindow parent;
+    private GameView parent;
     
     private static final Color NODE_COLOR = new Color(100, 116, 139);
     private static final Color EDGE_COLOR = new Color(71, 85, 105);
@@ -18,6 +26,31 @@ class GraphPanel extends JPanel {
     private static final Color REJECTED_PATH = new Color(239, 68, 68);
     private static final Color PANEL_BG = new Color(15, 23, 42);
     
+    private static final int MIN_CELL_SIZE = 16;
+    private static final int AGENT_DOT = 8;
+    
+    // Node sprites reach past their cell when cells are small
+    private static final int LAYER_MARGIN = 12;
+    
+    private final MazeViewport viewport = new MazeViewport(this);
+    private DensityMipmap mipmap;
+    
+    // Cached edge / node (or density) layer and the view it was built for
+    private BufferedImage edgeLayer;
+    private MazeGraph layerGraph;
+    private int layerVersion;
+    
+    // Current view: visible cell range and its screen placement
+    private int cellSize;
+    private int originX;
+    private int originY;
+    private int firstRow;
+    private int firstCol;
+    private int visibleRows;
+    private int visibleCols;
+    private boolean nodeView;
+    private boolean clipped;
+    
     public GraphPanel() {
         setBackground(PANEL_BG);
         setBorder(BorderFactory.createCompoundBorder(
@@ -26,15 +59,26 @@ class GraphPanel extends JPanel {
         ));
     }
     
-    public void setParent(GameWindow parent) {
+    public void setParent(GameView parent) {
         this.parent = parent;
+        invalidateEdgeLayer();
     }
     
+    /**
+     * Force the edge layer to be redrawn (e.g. after wall changes)
+     */
+    public void invalidateEdgeLayer() {
+        edgeLayer = null;
+    }
+    
+    public MazeViewport getViewport() { return viewport; }
+    
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         
-        if (parent == null || parent.graph == null) return;
+        if (parent == null || parent.getEngine() == null) return;
+        GreedyAI.Decision decision = parent.getEngine().getLastAiDecision();
         
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -43,34 +87,124 @@ class GraphPanel extends JPanel {
         // Enhanced title with gradient
         drawTitle(g2d);
         
-        int rows = parent.currentMaze.length;
-        int cols = parent.currentMaze[0].length;
-        
-        int graphWidth = getWidth() - 40;
-        int graphHeight = getHeight() - 240;
-        int cellSize = Math.min(graphWidth / cols, graphHeight / rows);
+        updateView();
+        ensureEdgeLayer();
         
-        int offsetX = (graphWidth - cellSize * cols) / 2 + 20;
-        int offsetY = (graphHeight - cellSize * rows) / 2 + 60;
+        // Layer 1: Grid, edges and plain nodes, or the density image (cached)
+        int margin = nodeView ? LAYER_MARGIN : 0;
+        g2d.drawImage(edgeLayer, viewport.getAreaX() - margin, viewport.getAreaY() - margin, null);
         
-        // Draw background grid
-        drawBackgroundGrid(g2d, rows, cols, cellSize, offsetX, offsetY);
-        
-        // Layer 1: All edges
-        drawEdges(g2d, cellSize, offsetX, offsetY);
-        
-        // Layer 2: AI decision paths (with glow effect)
-        if (parent.lastAiDecision != null) {
-            drawAIDecisionPaths(g2d, cellSize, offsetX, offsetY);
+        // Live layers are clipped to the view once it is zoomed past the panel
+        Graphics2D live = (Graphics2D) g2d.create();
+        if (clipped || !nodeView) {
+            live.clipRect(viewport.getAreaX(), viewport.getAreaY(),
+                          viewport.getAreaWidth(), viewport.getAreaHeight());
         }
         
-        // Layer 3: All nodes with shadows
-        drawNodes(g2d, rows, cols, cellSize, offsetX, offsetY);
+        if (nodeView) {
+            // Layer 2: AI decision paths (with glow effect)
+            if (decision != null) {
+                drawAIDecisionPaths(live, cellSize, originX, originY);
+            }
+            
+            // Layer 3: Agent nodes with shadows, and nodes under the arrows
+            drawNodes(live, decision, cellSize, originX, originY);
+        } else {
+            drawAgentDots(live);
+        }
+        live.dispose();
         
         // Layer 4: AI analysis panel
         drawEnhancedAIAnalysis(g2d);
     }
     
+    // ========== VIEW AND CACHED LAYER ==========
+    
+    /**
+     * Lay the viewport out over the graph area and read back the visible cells
+     */
+    private void updateView() {
+        int rows = parent.getMaze().getRows();
+        int cols = parent.getMaze().getCols();
+        viewport.layout(20, 60, getWidth() - 40, getHeight() - 240, rows, cols);
+        
+        cellSize = viewport.getCellSpan();
+        nodeView = viewport.getShrink() == 0 && cellSize >= MIN_CELL_SIZE;
+        clipped = viewport.getWorldWidth() > viewport.getAreaWidth() ||
+                  viewport.getWorldHeight() > viewport.getAreaHeight();
+        originX = viewport.cellX(0);
+        originY = viewport.cellY(0);
+        firstRow = viewport.getFirstVisibleRow();
+        firstCol = viewport.getFirstVisibleCol();
+        visibleRows = Math.max(0, viewport.getLastVisibleRow() - firstRow + 1);
+        visibleCols = Math.max(0, viewport.getLastVisibleCol() - firstCol + 1);
+    }
+    
+    /**
+     * Rebuild the cached layer if the maze or view changed
+     * Time Complexity: O(visible cells) for the graph, O(area pixels)
+     * for the density image; only on a rebuild
+     */
+    private void ensureEdgeLayer() {
+        MazeGraph graph = parent.getGraph();
+        if (edgeLayer != null && graph == layerGraph && viewport.getVersion() == layerVersion) {
+            return;
+        }
+        layerGraph = graph;
+        layerVersion = viewport.getVersion();
+        int areaWidth = viewport.getAreaWidth();
+        int areaHeight = viewport.getAreaHeight();
+        
+        if (!nodeView) {
+            if (mipmap == null || mipmap.getGrid() != parent.getMaze()) {
+                mipmap = new DensityMipmap(parent.getMaze());
+            }
+            edgeLayer = new BufferedImage(areaWidth, areaHeight, BufferedImage.TYPE_INT_RGB);
+            int[] pixels = ((DataBufferInt) edgeLayer.getRaster().getDataBuffer()).getData();
+            java.util.Arrays.fill(pixels, PANEL_BG.getRGB());
+            mipmap.render(pixels, areaWidth, areaHeight, viewport,
+                          PANEL_BG.getRGB(), EDGE_COLOR.getRGB(), 0, 0);
+            return;
+        }
+        
+        edgeLayer = new BufferedImage(areaWidth + 2 * LAYER_MARGIN, areaHeight + 2 * LAYER_MARGIN,
+                                      BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = edgeLayer.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (clipped) {
+            g2d.clipRect(LAYER_MARGIN, LAYER_MARGIN, areaWidth, areaHeight);
+        }
+        
+        // Layer coordinates: the area's top-left sits at (LAYER_MARGIN, LAYER_MARGIN)
+        int layerX = originX - viewport.getAreaX() + LAYER_MARGIN;
+        int layerY = originY - viewport.getAreaY() + LAYER_MARGIN;
+        drawBackgroundGrid(g2d, visibleRows, visibleCols, cellSize,
+                           layerX + firstCol * cellSize, layerY + firstRow * cellSize);
+        drawEdges(g2d, graph, cellSize, layerX, layerY);
+        drawPlainNodes(g2d, graph, cellSize, layerX, layerY);
+        g2d.dispose();
+    }
+    
+    /**
+     * Zoomed-out view: exit, player and AI as dots over the density image
+     */
+    private void drawAgentDots(Graphics2D g2d) {
+        GameEngine engine = parent.getEngine();
+        drawAgentDot(g2d, engine.getExitRow(), engine.getExitCol(), EXIT_NODE);
+        drawAgentDot(g2d, engine.getPlayerRow(), engine.getPlayerCol(), PLAYER_NODE);
+        drawAgentDot(g2d, engine.getAiRow(), engine.getAiCol(), AI_NODE);
+    }
+    
+    private void drawAgentDot(Graphics2D g2d, int row, int col, Color color) {
+        int x = viewport.cellX(col) + cellSize / 2;
+        int y = viewport.cellY(row) + cellSize / 2;
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x - AGENT_DOT / 2 - 1, y - AGENT_DOT / 2 - 1, AGENT_DOT + 2, AGENT_DOT + 2);
+        g2d.setColor(color);
+        g2d.fillOval(x - AGENT_DOT / 2, y - AGENT_DOT / 2, AGENT_DOT, AGENT_DOT);
+    }
+    
     private void drawTitle(Graphics2D g2d) {
         g2d.setFont(new Font("Arial", Font.BOLD, 18));
         
@@ -104,23 +238,32 @@ class GraphPanel extends JPanel {
         }
     }
     
-    private void drawEdges(Graphics2D g2d, int cellSize, int offsetX, int offsetY) {
-        Node[] allNodes = parent.graph.getAllWalkableNodes();
+    /**
+     * Edges of the visible window, each once (from its lower cell id)
+     * Starts one row / column early so edges entering from above or the
+     * left are drawn too
+     */
+    private void drawEdges(Graphics2D g2d, MazeGraph graph, int cellSize, 
+                           int offsetX, int offsetY) {
+        int[] neighborOffsets = graph.getNeighborOffsets();
+        int[] neighborTargets = graph.getNeighborTargets();
+        int cols = graph.getCols();
         
         g2d.setStroke(new BasicStroke(2.0f));
         g2d.setColor(EDGE_COLOR);
         
-        for (Node node : allNodes) {
-            int x1 = offsetX + node.getCol() * cellSize + cellSize / 2;
-            int y1 = offsetY + node.getRow() * cellSize + cellSize / 2;
-            
-            for (Node neighbor : node.getNeighbors()) {
-                if (neighbor.getRow() > node.getRow() || 
-                    (neighbor.getRow() == node.getRow() && neighbor.getCol() > node.getCol())) {
-                    
-                    int x2 = offsetX + neighbor.getCol() * cellSize + cellSize / 2;
-                    int y2 = offsetY + neighbor.getRow() * cellSize + cellSize / 2;
+        for (int r = Math.max(0, firstRow - 1); r < firstRow + visibleRows; r++) {
+            for (int c = Math.max(0, firstCol - 1); c < firstCol + visibleCols; c++) {
+                int cell = r * cols + c;
+                int x1 = offsetX + c * cellSize + cellSize / 2;
+                int y1 = offsetY + r * cellSize + cellSize / 2;
+                
+                for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                    int neighbor = neighborTargets[e];
+                    if (neighbor < cell) continue;
                     
+                    int x2 = offsetX + (neighbor % cols) * cellSize + cellSize / 2;
+                    int y2 = offsetY + (neighbor / cols) * cellSize + cellSize / 2;
                     g2d.drawLine(x1, y1, x2, y2);
                 }
             }
@@ -129,18 +272,20 @@ class GraphPanel extends JPanel {
     
     private void drawAIDecisionPaths(Graphics2D g2d, int cellSize, 
                                      int offsetX, int offsetY) {
-        if (parent.lastAiDecision == null || parent.lastAiDecision.candidates == null) return;
+        GameEngine engine = parent.getEngine();
+        GreedyAI.Decision decision = engine.getLastAiDecision();
+        if (decision == null || decision.candidates == null) return;
         
-        Node aiNode = parent.graph.getNode(parent.aiPos.x, parent.aiPos.y);
+        Node aiNode = parent.getGraph().getNode(engine.getAiRow(), engine.getAiCol());
         if (aiNode == null) return;
         
         int aiX = offsetX + aiNode.getCol() * cellSize + cellSize / 2;
         int aiY = offsetY + aiNode.getRow() * cellSize + cellSize / 2;
         
         // Draw glow effect for rejected paths first
-        for (GreedyAI.Candidate candidate : parent.lastAiDecision.candidates) {
+        for (GreedyAI.Candidate candidate : decision.candidates) {
             Node candidateNode = candidate.node;
-            boolean isChosen = (candidateNode == parent.lastAiDecision.chosenMove);
+            boolean isChosen = (candidateNode == decision.chosenMove);
             
             if (!isChosen) {
                 int candX = offsetX + candidateNode.getCol() * cellSize + cellSize / 2;
@@ -160,9 +305,9 @@ class GraphPanel extends JPanel {
         }
         
         // Draw chosen path with glow
-        for (GreedyAI.Candidate candidate : parent.lastAiDecision.candidates) {
+        for (GreedyAI.Candidate candidate : decision.candidates) {
             Node candidateNode = candidate.node;
-            boolean isChosen = (candidateNode == parent.lastAiDecision.chosenMove);
+            boolean isChosen = (candidateNode == decision.chosenMove);
             
             if (isChosen) {
                 int candX = offsetX + candidateNode.getCol() * cellSize + cellSize / 2;
@@ -223,62 +368,96 @@ class GraphPanel extends JPanel {
                       y + fm.getAscent()/2 - 2);
     }
     
-    private void drawNodes(Graphics2D g2d, int rows, int cols, int cellSize, 
-                          int offsetX, int offsetY) {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Node node = parent.graph.getNode(r, c);
-                if (node == null || node.isWall()) continue;
+    /**
+     * Every walkable node of the window in its plain style (cached layer)
+     */
+    private void drawPlainNodes(Graphics2D g2d, MazeGraph graph, int cellSize, 
+                                int offsetX, int offsetY) {
+        for (int r = firstRow; r < firstRow + visibleRows; r++) {
+            for (int c = firstCol; c < firstCol + visibleCols; c++) {
+                if (graph.isWall(graph.getCellId(r, c))) continue;
                 
                 int x = offsetX + c * cellSize + cellSize / 2;
                 int y = offsetY + r * cellSize + cellSize / 2;
-                
-                Color nodeColor = NODE_COLOR;
-                int nodeSize = 10;
-                boolean isSpecial = false;
-                
-                if (r == parent.exitPos.x && c == parent.exitPos.y) {
-                    nodeColor = EXIT_NODE;
-                    nodeSize = 14;
-                    isSpecial = true;
-                }
-                if (r == parent.playerPos.x && c == parent.playerPos.y) {
-                    nodeColor = PLAYER_NODE;
-                    nodeSize = 16;
-                    isSpecial = true;
-                }
-                if (r == parent.aiPos.x && c == parent.aiPos.y) {
-                    nodeColor = AI_NODE;
-                    nodeSize = 16;
-                    isSpecial = true;
-                }
-                
-                // Shadow effect for special nodes
-                if (isSpecial) {
-                    g2d.setColor(new Color(0, 0, 0, 50));
-                    g2d.fillOval(x - nodeSize/2 + 2, y - nodeSize/2 + 2, 
-                                nodeSize, nodeSize);
-                }
-                
-                // White border
-                g2d.setColor(Color.WHITE);
-                g2d.fillOval(x - nodeSize/2 - 2, y - nodeSize/2 - 2, 
-                            nodeSize + 4, nodeSize + 4);
-                
-                // Node
-                g2d.setColor(nodeColor);
-                g2d.fillOval(x - nodeSize/2, y - nodeSize/2, nodeSize, nodeSize);
-                
-                // Pulse effect for AI and Player
-                if (isSpecial && (r == parent.aiPos.x || r == parent.playerPos.x)) {
-                    g2d.setColor(new Color(nodeColor.getRed(), nodeColor.getGreen(), 
-                                          nodeColor.getBlue(), 80));
-                    g2d.setStroke(new BasicStroke(2.0f));
-                    g2d.drawOval(x - nodeSize/2 - 4, y - nodeSize/2 - 4, 
-                                nodeSize + 8, nodeSize + 8);
-                }
+                drawNode(g2d, x, y, NODE_COLOR, 10, false, false);
+            }
+        }
+    }
+    
+    /**
+     * Live nodes: the decision candidates (their arrows run over the
+     * cached layer), then exit, player and AI
+     */
+    private void drawNodes(Graphics2D g2d, GreedyAI.Decision decision, int cellSize, 
+                          int offsetX, int offsetY) {
+        GameEngine engine = parent.getEngine();
+        if (decision != null && decision.candidates != null) {
+            for (GreedyAI.Candidate candidate : decision.candidates) {
+                drawLiveNode(g2d, candidate.node.getRow(), candidate.node.getCol(), 
+                             cellSize, offsetX, offsetY);
             }
         }
+        drawLiveNode(g2d, engine.getExitRow(), engine.getExitCol(), cellSize, offsetX, offsetY);
+        drawLiveNode(g2d, engine.getPlayerRow(), engine.getPlayerCol(), cellSize, offsetX, offsetY);
+        drawLiveNode(g2d, engine.getAiRow(), engine.getAiCol(), cellSize, offsetX, offsetY);
+    }
+    
+    private void drawLiveNode(Graphics2D g2d, int r, int c, int cellSize, 
+                              int offsetX, int offsetY) {
+        GameEngine engine = parent.getEngine();
+        int x = offsetX + c * cellSize + cellSize / 2;
+        int y = offsetY + r * cellSize + cellSize / 2;
+        
+        Color nodeColor = NODE_COLOR;
+        int nodeSize = 10;
+        boolean isSpecial = false;
+        
+        if (r == engine.getExitRow() && c == engine.getExitCol()) {
+            nodeColor = EXIT_NODE;
+            nodeSize = 14;
+            isSpecial = true;
+        }
+        if (r == engine.getPlayerRow() && c == engine.getPlayerCol()) {
+            nodeColor = PLAYER_NODE;
+            nodeSize = 16;
+            isSpecial = true;
+        }
+        if (r == engine.getAiRow() && c == engine.getAiCol()) {
+            nodeColor = AI_NODE;
+            nodeSize = 16;
+            isSpecial = true;
+        }
+        
+        drawNode(g2d, x, y, nodeColor, nodeSize, isSpecial,
+                 isSpecial && (r == engine.getAiRow() || r == engine.getPlayerRow()));
+    }
+    
+    private void drawNode(Graphics2D g2d, int x, int y, Color nodeColor, int nodeSize, 
+                          boolean isSpecial, boolean pulse) {
+        // Shadow effect for special nodes
+        if (isSpecial) {
+            g2d.setColor(new Color(0, 0, 0, 50));
+            g2d.fillOval(x - nodeSize/2 + 2, y - nodeSize/2 + 2, 
+                        nodeSize, nodeSize);
+        }
+        
+        // White border
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval(x - nodeSize/2 - 2, y - nodeSize/2 - 2, 
+                    nodeSize + 4, nodeSize + 4);
+        
+        // Node
+        g2d.setColor(nodeColor);
+        g2d.fillOval(x - nodeSize/2, y - nodeSize/2, nodeSize, nodeSize);
+        
+        // Pulse effect for AI and Player
+        if (pulse) {
+            g2d.setColor(new Color(nodeColor.getRed(), nodeColor.getGreen(), 
+                                  nodeColor.getBlue(), 80));
+            g2d.setStroke(new BasicStroke(2.0f));
+            g2d.drawOval(x - nodeSize/2 - 4, y - nodeSize/2 - 4, 
+                        nodeSize + 8, nodeSize + 8);
+        }
     }
     
     private void drawEnhancedAIAnalysis(Graphics2D g2d) {
@@ -307,34 +486,49 @@ class GraphPanel extends JPanel {
         g2d.setColor(new Color(6, 182, 212));
         g2d.drawString("🧠 Greedy Algorithm Analysis", 30, panelY + 30);
         
-        if (parent.lastAiDecision != null) {
+        GameEngine engine = parent.getEngine();
+        GreedyAI.Decision decision = engine.getLastAiDecision();
+        if (decision != null) {
             int textY = panelY + 55;
             int lineHeight = 22;
             
             // Turn indicator
             g2d.setFont(new Font("Arial", Font.BOLD, 13));
-            g2d.setColor(parent.waitingForPlayer ? new Color(59, 130, 246) : 
+            g2d.setColor(engine.isPlayerTurn() ? new Color(59, 130, 246) : 
                         new Color(239, 68, 68));
-            String turnText = parent.waitingForPlayer ? "🎮 YOUR TURN" : "🤖 AI THINKING...";
+            String turnText = engine.isPlayerTurn() ? "🎮 YOUR TURN" : "🤖 AI THINKING...";
             g2d.drawString(turnText, getWidth() - 180, panelY + 30);
             
             // Stats
             g2d.setFont(new Font("Arial", Font.PLAIN, 12));
             
             drawStatRow(g2d, 30, textY, "Moves Evaluated:", 
-                       String.valueOf(parent.lastAiDecision.candidates.size()),
+                       String.valueOf(decision.candidates.size()),
                        new Color(250, 204, 21));
             
             drawStatRow(g2d, 30, textY + lineHeight, "Best Score:", 
-                       String.format("%.2f", parent.lastAiDecision.chosenScore),
+                       String.format("%.2f", decision.chosenScore),
                        new Color(34, 197, 94));
             
-            String algoType = parent.difficulty.equals("easy") ? "Pure Greedy" :
-                            parent.difficulty.equals("medium") ? "Greedy + Penalties" :
+            String algoType = parent.getDifficulty().equals("easy") ? "Pure Greedy" :
+                            parent.getDifficulty().equals("medium") ? "Greedy + Penalties" :
                             "Greedy + Lookahead";
+            if (decision.plannedPath != null) {
+                algoType = parent.getPlannerName();
+            }
             drawStatRow(g2d, 30, textY + lineHeight * 2, "Strategy:", 
                        algoType, new Color(147, 197, 253));
             
+            // Planner effort (right column)
+            if (decision.nodesExpanded >= 0) {
+                String expanded = String.valueOf(decision.nodesExpanded);
+                if (decision.baselineExpanded >= 0) {
+                    expanded += " (A*: " + decision.baselineExpanded + ")";
+                }
+                drawStatRow(g2d, getWidth() / 2, textY, "Nodes Expanded:", 
+                           expanded, new Color(250, 204, 21));
+            }
+            
         } else {
             g2d.setFont(new Font("Arial", Font.ITALIC, 13));
             g2d.setColor(Color.GRAY);
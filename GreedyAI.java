@@ -4,12 +4,33 @@ import java.util.*;
  * GREEDY AI CLASS - Implements intelligent pursuit algorithms
  * Core greedy algorithm: selects move with minimum distance to target
  * Time Complexity: O(1) per decision
+ *
+ * decide() works on int cell ids and writes into a caller-owned
+ * DecisionBuffer, so a warm AI move allocates nothing. getGreedyMove()
+ * wraps it and returns the Node-based Decision used by the UI.
  */
 public class GreedyAI {
     
+    // Difficulty modes, parsed once from the difficulty string
+    private static final int EASY = 0;
+    private static final int MEDIUM = 1;
+    private static final int HARD = 2;
+    private static final int PERFECT = 3;
+    
     private final MazeGraph graph;
     private final String difficulty;
-    private Node lastPosition;
+    private final int mode;
+    private final int cols;
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final DistanceField distanceField;
+    private DistanceOracle oracle;
+    private final DecisionBuffer wrapperBuffer = new DecisionBuffer();
+    private PathPlanner planner;
+    private PathPlanner baselinePlanner;
+    private AdversarialSearch lookahead;
+    private RetrogradeSolver solution;
+    private int lastCell = -1;
     
     /**
      * Decision data class
@@ -18,11 +39,83 @@ public class GreedyAI {
         public final Node chosenMove;
         public final List<Candidate> candidates;
         public final double chosenScore;
+        public final int[] plannedPath;
+        public final int nodesExpanded;
+        public final int baselineExpanded;
         
         public Decision(Node chosenMove, List<Candidate> candidates, double chosenScore) {
+            this(chosenMove, candidates, chosenScore, null, -1, -1);
+        }
+        
+        /**
+         * @param plannedPath      full planned path (cell ids), null for one-step strategies
+         * @param nodesExpanded    planner effort, -1 when no planner ran
+         * @param baselineExpanded A* effort on the same query, -1 when not measured
+         */
+        public Decision(Node chosenMove, List<Candidate> candidates, double chosenScore,
+                        int[] plannedPath, int nodesExpanded, int baselineExpanded) {
             this.chosenMove = chosenMove;
             this.candidates = candidates;
             this.chosenScore = chosenScore;
+            this.plannedPath = plannedPath;
+            this.nodesExpanded = nodesExpanded;
+            this.baselineExpanded = baselineExpanded;
+        }
+    }
+    
+    /**
+     * Reusable primitive decision result, filled by decide()
+     * A cell has at most four neighbors, so the arrays never grow.
+     */
+    public static class DecisionBuffer {
+        public final int[] candidateCells = new int[4];
+        public final double[] candidateScores = new double[4];
+        public final int[] candidateDistances = new int[4];
+        public int candidateCount;
+        public int chosenCell;
+        public double chosenScore;
+        public int[] plannedPath;
+        public int nodesExpanded;
+        public int baselineExpanded;
+        
+        void clear() {
+            candidateCount = 0;
+            chosenCell = -1;
+            chosenScore = Double.MAX_VALUE;
+            plannedPath = null;
+            nodesExpanded = -1;
+            baselineExpanded = -1;
+        }
+        
+        /**
+         * Copy of another buffer's decision (plannedPath is shared)
+         */
+        public void copyFrom(DecisionBuffer other) {
+            System.arraycopy(other.candidateCells, 0, candidateCells, 0, other.candidateCount);
+            System.arraycopy(other.candidateScores, 0, candidateScores, 0, other.candidateCount);
+            System.arraycopy(other.candidateDistances, 0, candidateDistances, 0, other.candidateCount);
+            candidateCount = other.candidateCount;
+            chosenCell = other.chosenCell;
+            chosenScore = other.chosenScore;
+            plannedPath = other.plannedPath;
+            nodesExpanded = other.nodesExpanded;
+            baselineExpanded = other.baselineExpanded;
+        }
+        
+        /**
+         * Node-based copy for the UI; chosenMove is the candidate's own Node
+         */
+        public Decision toDecision(MazeGraph graph) {
+            List<Candidate> candidates = new ArrayList<>(candidateCount);
+            Node chosenMove = null;
+            for (int i = 0; i < candidateCount; i++) {
+                int cell = candidateCells[i];
+                Node node = graph.getNode(graph.getRowOf(cell), graph.getColOf(cell));
+                candidates.add(new Candidate(node, candidateScores[i], candidateDistances[i]));
+                if (cell == chosenCell) chosenMove = node;
+            }
+            return new Decision(chosenMove, candidates, chosenScore,
+                                plannedPath, nodesExpanded, baselineExpanded);
         }
     }
     
@@ -42,89 +135,210 @@ public class GreedyAI {
     }
     
     public GreedyAI(MazeGraph graph, String difficulty) {
+        this(graph, difficulty, false);
+    }
+    
+    /**
+     * @param mazeDistance score moves by true maze distance (a field rooted
+     *                     at the target, precomputed on small mazes) instead
+     *                     of Manhattan distance
+     */
+    public GreedyAI(MazeGraph graph, String difficulty, boolean mazeDistance) {
         this.graph = graph;
         this.difficulty = difficulty;
-        this.lastPosition = null;
+        this.mode = parseMode(difficulty);
+        this.cols = graph.getCols();
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        this.distanceField = mazeDistance ? DistanceField.forPursuit(graph) : null;
+    }
+    
+    private static int parseMode(String difficulty) {
+        switch (difficulty.toLowerCase()) {
+            case "medium": return MEDIUM;
+            case "hard": return HARD;
+            case "perfect": return PERFECT;
+            case "easy":
+            default: return EASY;
+        }
     }
     
     /**
-     * CORE GREEDY ALGORITHM
-     * Evaluates all neighbors and selects move with minimum cost
+     * CORE GREEDY ALGORITHM (object API)
+     * Wrapper over decide() for callers that want Node objects
      */
     public Decision getGreedyMove(int currentRow, int currentCol, 
                                    int targetRow, int targetCol) {
-        
-        Node currentNode = graph.getNode(currentRow, currentCol);
-        Node targetNode = graph.getNode(targetRow, targetCol);
-        
-        if (currentNode == null || targetNode == null) {
+        if (!decide(currentRow, currentCol, targetRow, targetCol, wrapperBuffer)) {
             return null;
         }
+        return wrapperBuffer.toDecision(graph);
+    }
+    
+    /**
+     * CORE GREEDY ALGORITHM
+     * Evaluates all neighbors and selects move with minimum cost
+     * Writes the result into out; returns false for off-grid positions
+     */
+    public boolean decide(int currentRow, int currentCol, 
+                          int targetRow, int targetCol, DecisionBuffer out) {
+        if (!isValid(currentRow, currentCol) || !isValid(targetRow, targetCol)) {
+            return false;
+        }
         
-        Node bestMove = null;
-        double bestScore = Double.MAX_VALUE;
-        List<Candidate> candidates = new ArrayList<>();
+        int current = graph.getCellId(currentRow, currentCol);
+        int target = graph.getCellId(targetRow, targetCol);
+        if (distanceField != null) {
+            distanceField.setRoot(target);
+        }
+        
+        out.clear();
         
-        // Evaluate all valid neighbors
-        for (Node neighbor : currentNode.getNeighbors()) {
-            if (neighbor.isWall()) continue;
+        // Evaluate all valid neighbors (CSR targets are never walls)
+        for (int e = neighborOffsets[current]; e < neighborOffsets[current + 1]; e++) {
+            int neighbor = neighborTargets[e];
             
-            // Calculate Manhattan Distance
-            int distance = neighbor.calculateManhattanDistance(targetNode);
-            double score = distance;
+            // Calculate distance (Manhattan or maze distance)
+            int distance = distanceTo(neighbor, target);
             
             // Apply difficulty modifiers
-            score = applyDifficultyModifiers(neighbor, targetNode, distance, score);
+            double score = applyDifficultyModifiers(neighbor, target, distance, distance);
             
-            candidates.add(new Candidate(neighbor, score, distance));
+            int index = out.candidateCount++;
+            out.candidateCells[index] = neighbor;
+            out.candidateScores[index] = score;
+            out.candidateDistances[index] = distance;
             
             // Greedy choice: select minimum score
-            if (score < bestScore) {
-                bestScore = score;
-                bestMove = neighbor;
+            if (score < out.chosenScore) {
+                out.chosenScore = score;
+                out.chosenCell = neighbor;
             }
         }
         
-        lastPosition = currentNode;
+        if (solution != null && mode == PERFECT) {
+            followSolution(current, target, out);
+        } else if (planner != null) {
+            followPlan(current, target, out);
+        } else if (lookahead != null && mode == HARD) {
+            followLookahead(current, target, out);
+        }
         
-        return new Decision(bestMove, candidates, bestScore);
+        lastCell = current;
+        return true;
+    }
+    
+    /**
+     * decide() for a position that may never happen (speculating on the
+     * player's move): the move history is left as it was, and remember()
+     * records it if the decision is played
+     */
+    public boolean preview(int currentRow, int currentCol,
+                           int targetRow, int targetCol, DecisionBuffer out) {
+        int savedLastCell = lastCell;
+        boolean decided = decide(currentRow, currentCol, targetRow, targetCol, out);
+        lastCell = savedLastCell;
+        return decided;
+    }
+    
+    /**
+     * Record a previewed decision from this cell as played
+     */
+    public void remember(int currentRow, int currentCol) {
+        lastCell = graph.getCellId(currentRow, currentCol);
+    }
+    
+    /**
+     * Full-path strategy: step onto the second cell of the planned path
+     * Falls back to the greedy choice when the target is unreachable
+     */
+    private void followPlan(int current, int target, DecisionBuffer out) {
+        PathFinder.Result plan = planner.findPath(current, target);
+        out.baselineExpanded = (baselinePlanner != null) ? 
+            baselinePlanner.findPath(current, target).expanded : -1;
+        out.plannedPath = plan.path;
+        out.nodesExpanded = plan.expanded;
+        
+        if (plan.found() && plan.path.length > 1) {
+            int next = plan.path[1];
+            for (int i = 0; i < out.candidateCount; i++) {
+                if (out.candidateCells[i] == next) {
+                    out.chosenCell = next;
+                    // Remaining route after this step; cost covers all
+                    // of it even when the plan is only the first leg
+                    out.chosenScore = plan.cost - 1;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Hard-mode strategy: play the alpha-beta search's move
+     * Falls back to the greedy choice when the search has no move
+     */
+    private void followLookahead(int current, int target, DecisionBuffer out) {
+        int next = lookahead.bestMove(current, target);
+        out.nodesExpanded = (int) Math.min(Integer.MAX_VALUE, lookahead.getNodes());
+        
+        for (int i = 0; i < out.candidateCount; i++) {
+            if (out.candidateCells[i] == next) {
+                out.chosenCell = next;
+                out.chosenScore = out.candidateScores[i];
+            }
+        }
+    }
+    
+    /**
+     * Perfect strategy: one read from the solved table
+     */
+    private void followSolution(int current, int target, DecisionBuffer out) {
+        int next = solution.bestAiMove(current, target);
+        out.nodesExpanded = 1;
+        
+        for (int i = 0; i < out.candidateCount; i++) {
+            if (out.candidateCells[i] == next) {
+                out.chosenCell = next;
+                out.chosenScore = out.candidateScores[i];
+            }
+        }
     }
     
     /**
      * Apply difficulty-specific scoring
      */
-    private double applyDifficultyModifiers(Node neighbor, Node target, 
+    private double applyDifficultyModifiers(int neighbor, int target, 
                                             int distance, double baseScore) {
         double score = baseScore;
+        int degree = neighborOffsets[neighbor + 1] - neighborOffsets[neighbor];
         
-        switch (difficulty.toLowerCase()) {
-            case "medium":
-                int neighborCount = neighbor.getNeighbors().size();
-                if (neighborCount <= 1) {
+        switch (mode) {
+            case MEDIUM:
+                if (degree <= 1) {
                     score += 3;
-                } else if (neighborCount == 2) {
+                } else if (degree == 2) {
                     score += 1;
                 }
                 
-                if (lastPosition != null && neighbor.equals(lastPosition)) {
+                if (neighbor == lastCell) {
                     score += 2;
                 }
                 break;
                 
-            case "hard":
+            case HARD:
+            case PERFECT:
                 double lookaheadScore = evaluateLookahead(neighbor, target);
                 score = distance * 0.7 + lookaheadScore * 0.3;
                 
-                if (lastPosition != null && neighbor.equals(lastPosition)) {
+                if (neighbor == lastCell) {
                     score += 4;
                 }
                 
-                if (neighbor.getNeighbors().size() <= 1) {
+                if (degree <= 1) {
                     score += 5;
                 }
                 break;
                 
-            case "easy":
+            case EASY:
             default:
                 break;
         }
@@ -135,20 +349,82 @@ public class GreedyAI {
     /**
      * Lookahead evaluation for hard mode
      */
-    private double evaluateLookahead(Node node, Node target) {
+    private double evaluateLookahead(int cell, int target) {
         double minDistance = Double.MAX_VALUE;
         
-        for (Node futureNeighbor : node.getNeighbors()) {
-            if (!futureNeighbor.isWall()) {
-                int dist = futureNeighbor.calculateManhattanDistance(target);
-                minDistance = Math.min(minDistance, dist);
-            }
+        for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+            int dist = distanceTo(neighborTargets[e], target);
+            minDistance = Math.min(minDistance, dist);
         }
         
         return minDistance;
     }
     
+    /**
+     * Distance used for scoring
+     * Oracle distance (exact, or a landmark lower bound) when one is set,
+     * else maze distance when the field is enabled, Manhattan otherwise.
+     * Unreachable cells score as cellCount, longer than any maze path, so
+     * a maze-distance score never mixes in a Manhattan estimate.
+     */
+    private int distanceTo(int cell, int target) {
+        int manhattan = Math.abs(cell / cols - target / cols) + Math.abs(cell % cols - target % cols);
+        if (oracle != null) {
+            int dist = oracle.lowerBound(cell, target);
+            return (dist == DistanceOracle.UNREACHABLE) ? graph.getCellCount() : Math.max(dist, manhattan);
+        } else if (distanceField != null) {
+            int dist = distanceField.distanceTo(cell);
+            return (dist == DistanceField.UNREACHABLE) ? graph.getCellCount() : dist;
+        }
+        return manhattan;
+    }
+    
+    private boolean isValid(int row, int col) {
+        return row >= 0 && row < graph.getRows() && col >= 0 && col < cols;
+    }
+    
+    /**
+     * Switch to full-path planning
+     * @param baseline optional second planner run on the same query so
+     *                 its expansion count can be reported for comparison
+     */
+    public void setPlanner(PathPlanner planner, PathPlanner baseline) {
+        this.planner = planner;
+        this.baselinePlanner = baseline;
+    }
+    
+    /**
+     * Deep lookahead for hard mode (null for the one-ply greedy score);
+     * ignored while a full-path planner is set
+     */
+    public void setLookahead(AdversarialSearch lookahead) {
+        this.lookahead = lookahead;
+    }
+    
+    /**
+     * Solved table for the "perfect" difficulty (hard scoring without one)
+     */
+    public void setSolution(RetrogradeSolver solution) {
+        this.solution = solution;
+    }
+    
+    /**
+     * Score with precomputed distances (null to go back to the field or
+     * Manhattan); an all-pairs oracle makes every lookup O(1)
+     */
+    public void setDistanceOracle(DistanceOracle oracle) {
+        this.oracle = oracle;
+    }
+    
+    public boolean usesMazeDistance() {
+        return distanceField != null || (oracle != null && oracle.isExact());
+    }
+    
     public String getDifficulty() {
         return difficulty;
     }
+    
+    public AdversarialSearch getLookahead() {
+        return lookahead;
+    }
 }
\ No newline at end of file
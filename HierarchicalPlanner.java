@@ -0,0 +1,560 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * HIERARCHICAL PLANNER - HPA* over cached cluster abstractions
+ * The grid is cut into clusterSize x clusterSize clusters. Every open
+ * cell that faces an open cell across a cluster border is an entrance,
+ * and each cluster stores the in-cluster BFS distance between every pair
+ * of its entrances. A query links start and goal to their own clusters'
+ * entrances, runs A* on that small abstract graph and refines only the
+ * first leg into cells; the AI reaches the next waypoint before the
+ * rest matters.
+ *
+ * - findPath returns the cells up to the first waypoint (PathPlanner)
+ * - getAbstractPath() holds the whole route as waypoints
+ * - refinePath() expands every leg when a full cell path is needed
+ *
+ * Wall changes: call cellChanged() after PackedGrid.setWall(); only the
+ * touched clusters are rebuilt, on the next query. save()/load() cache
+ * the abstraction next to the maze, keyed by a fingerprint of the walls.
+ *
+ * Paths are optimal (as long as BFS): a shortest path splits into
+ * in-cluster stretches between border crossings, every crossing cell is
+ * an entrance, and each stretch is no shorter than the stored distance
+ * between its ends. Placing fewer entrances per crossing run (one in the
+ * middle, say) shrinks the abstract graph but makes paths detour through
+ * the chosen cells, by over a hundred steps on braided mazes.
+ * Not thread-safe.
+ */
+public class HierarchicalPlanner implements PathPlanner {
+    
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    
+    private static final int INF = Integer.MAX_VALUE / 2;
+    
+    // Cache file: "HPA1", version, rows, cols, cluster size, wall fingerprint
+    private static final int MAGIC = 0x48504131;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    
+    // Indexed like PackedGrid directions: up, down, left, right
+    private static final int[] DIRECTION_BITS = {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT};
+    private static final int[] STEP_ROW = {-1, 1, 0, 0};
+    private static final int[] STEP_COL = {0, 0, -1, 1};
+    
+    private final WallGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int clusterSize;
+    private final int clusterRows;
+    private final int clusterCols;
+    
+    // Per cluster: entrance cells, the border directions each one crosses,
+    // and the row-major entrance-to-entrance distance matrix (INF = none)
+    private final int[][] entrances;
+    private final byte[][] entranceLinks;
+    private final int[][] intraDistances;
+    
+    // Cell id -> index in its cluster's entrance list, or -1
+    private final int[] entranceIndex;
+    
+    // Clusters waiting for a rebuild after wall changes
+    private final boolean[] dirty;
+    private final int[] dirtyClusters;
+    private int dirtyCount;
+    
+    // Query state
+    private final SearchScratch scratch;
+    private final IntMinHeap open;
+    private final int[] startDist;
+    private final int[] startParent;
+    private final int[] goalDist;
+    private final int[] localDist;
+    private final int[] localParent;
+    private final int[] localQueue;
+    private final int[] buildCells;
+    private final byte[] buildLinks;
+    private int[] abstractPath;
+    private int expanded;
+    
+    public HierarchicalPlanner(MazeGraph graph) {
+        this(graph, DEFAULT_CLUSTER_SIZE);
+    }
+    
+    public HierarchicalPlanner(MazeGraph graph, int clusterSize) {
+        this(graph, clusterSize, true);
+    }
+    
+    private HierarchicalPlanner(MazeGraph graph, int clusterSize, boolean build) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2: " + clusterSize);
+        }
+        this.grid = graph.getGrid();
+        this.rows = graph.getRows();
+        this.cols = graph.getCols();
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        
+        int clusters = clusterRows * clusterCols;
+        this.entrances = new int[clusters][];
+        this.entranceLinks = new byte[clusters][];
+        this.intraDistances = new int[clusters][];
+        this.entranceIndex = new int[graph.getCellCount()];
+        Arrays.fill(entranceIndex, -1);
+        this.dirty = new boolean[clusters];
+        this.dirtyClusters = new int[clusters];
+        
+        this.scratch = new SearchScratch(graph.getCellCount());
+        this.open = new IntMinHeap(256);
+        int area = clusterSize * clusterSize;
+        this.startDist = new int[area];
+        this.startParent = new int[area];
+        this.goalDist = new int[area];
+        this.localDist = new int[area];
+        this.localParent = new int[area];
+        this.localQueue = new int[area];
+        this.buildCells = new int[4 * clusterSize];
+        this.buildLinks = new byte[4 * clusterSize];
+        
+        if (build) {
+            for (int c = 0; c < clusters; c++) {
+                entrances[c] = new int[0];
+                rebuildCluster(c);
+            }
+        }
+    }
+    
+    // ========== QUERIES ==========
+    
+    /**
+     * Plan on the abstract graph; the path holds only the first leg
+     * (start .. first waypoint) in cells, or the whole path when start
+     * and goal are connected inside one cluster
+     */
+    @Override
+    public PathFinder.Result findPath(int start, int goal) {
+        rebuildDirty();
+        expanded = 0;
+        abstractPath = null;
+        if (start == goal) {
+            abstractPath = new int[] {start};
+            return new PathFinder.Result(new int[] {start}, 0);
+        }
+        
+        // Same cluster with a straight-as-possible path inside it: no
+        // abstraction needed (a detour through a neighbor could be shorter)
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+        expanded += searchCluster(start, startDist, startParent);
+        if (startCluster == goalCluster && startDist[localIndex(goal)] == manhattan(start, goal)) {
+            abstractPath = new int[] {start, goal};
+            return new PathFinder.Result(clusterPath(start, goal, startDist, startParent), expanded);
+        }
+        
+        expanded += searchCluster(goal, goalDist, localParent);
+        if (!searchAbstract(start, goal, startCluster, goalCluster)) {
+            return new PathFinder.Result(null, expanded);
+        }
+        abstractPath = scratch.pathTo(goal);
+        int cost = scratch.getG(goal);
+        
+        // Refine the first leg: inside the start cluster, or one border step
+        int first = abstractPath[1];
+        if (clusterOf(first) == startCluster) {
+            return new PathFinder.Result(clusterPath(start, first, startDist, startParent), expanded, cost);
+        }
+        return new PathFinder.Result(new int[] {start, first}, expanded, cost);
+    }
+    
+    /**
+     * Full cell path start..goal with every leg refined; null when unreachable
+     */
+    public int[] refinePath(int start, int goal) {
+        if (!findPath(start, goal).found()) return null;
+        int[] waypoints = abstractPath;
+        
+        int[] path = new int[64];
+        int length = 0;
+        path[length++] = start;
+        for (int i = 1; i < waypoints.length; i++) {
+            int from = waypoints[i - 1];
+            int to = waypoints[i];
+            int[] leg;
+            if (clusterOf(from) == clusterOf(to)) {
+                searchCluster(from, localDist, localParent);
+                leg = clusterPath(from, to, localDist, localParent);
+            } else {
+                leg = new int[] {from, to};
+            }
+            if (length + leg.length > path.length) {
+                path = Arrays.copyOf(path, Math.max(path.length * 2, length + leg.length));
+            }
+            System.arraycopy(leg, 1, path, length, leg.length - 1);
+            length += leg.length - 1;
+        }
+        return Arrays.copyOf(path, length);
+    }
+    
+    /**
+     * A* over start, goal and the entrances
+     * Edge costs are true in-cluster distances, so Manhattan stays consistent
+     */
+    private boolean searchAbstract(int start, int goal, int startCluster, int goalCluster) {
+        scratch.begin();
+        open.clear();
+        scratch.open(start, 0, -1);
+        open.push(manhattan(start, goal), start);
+        
+        while (!open.isEmpty()) {
+            int f = open.peekKey();
+            int cell = open.pop();
+            if (scratch.isClosed(cell) || f != scratch.getG(cell) + manhattan(cell, goal)) {
+                continue;
+            }
+            scratch.close(cell);
+            expanded++;
+            if (cell == goal) return true;
+            
+            int g = scratch.getG(cell);
+            int cluster = clusterOf(cell);
+            int index = entranceIndex[cell];
+            int[] list = entrances[cluster];
+            
+            // Within the cluster
+            if (cell == start) {
+                for (int j = 0; j < list.length; j++) {
+                    int d = startDist[localIndex(list[j])];
+                    if (d < INF && list[j] != start) relax(list[j], g + d, cell, goal);
+                }
+            } else {
+                int[] distances = intraDistances[cluster];
+                for (int j = 0; j < list.length; j++) {
+                    int d = distances[index * list.length + j];
+                    if (d < INF && j != index) relax(list[j], g + d, cell, goal);
+                }
+            }
+            
+            // Across the border
+            if (index >= 0) {
+                int links = entranceLinks[cluster][index];
+                for (int d = 0; d < 4; d++) {
+                    if ((links & DIRECTION_BITS[d]) != 0) {
+                        relax(cell + STEP_ROW[d] * cols + STEP_COL[d], g + 1, cell, goal);
+                    }
+                }
+            }
+            
+            // Into the goal
+            if (cluster == goalCluster && goalDist[localIndex(cell)] < INF) {
+                relax(goal, g + goalDist[localIndex(cell)], cell, goal);
+            }
+        }
+        return false;
+    }
+    
+    private void relax(int cell, int g, int from, int goal) {
+        if (scratch.isUnseen(cell) || (scratch.isOpen(cell) && g < scratch.getG(cell))) {
+            scratch.open(cell, g, from);
+            open.push(g + manhattan(cell, goal), cell);
+        }
+    }
+    
+    // ========== CLUSTER SEARCH ==========
+    
+    /**
+     * BFS from source confined to its cluster
+     * dist and parent are indexed by localIndex(); returns cells visited
+     */
+    private int searchCluster(int source, int[] dist, int[] parent) {
+        int top = source / cols / clusterSize * clusterSize;
+        int left = source % cols / clusterSize * clusterSize;
+        int bottom = Math.min(rows, top + clusterSize);
+        int right = Math.min(cols, left + clusterSize);
+        Arrays.fill(dist, INF);
+        
+        int head = 0;
+        int tail = 0;
+        int origin = localIndex(source);
+        dist[origin] = 0;
+        parent[origin] = -1;
+        localQueue[tail++] = origin;
+        
+        while (head < tail) {
+            int local = localQueue[head++];
+            int row = top + local / clusterSize;
+            int col = left + local % clusterSize;
+            int mask = grid.getOpenMask(row, col);
+            for (int d = 0; d < 4; d++) {
+                if ((mask & DIRECTION_BITS[d]) == 0) continue;
+                int nextRow = row + STEP_ROW[d];
+                int nextCol = col + STEP_COL[d];
+                if (nextRow < top || nextRow >= bottom || nextCol < left || nextCol >= right) continue;
+                int next = local + STEP_ROW[d] * clusterSize + STEP_COL[d];
+                if (dist[next] == INF) {
+                    dist[next] = dist[local] + 1;
+                    parent[next] = local;
+                    localQueue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+    
+    /**
+     * Cells source..target from a searchCluster(source, ...) result
+     */
+    private int[] clusterPath(int source, int target, int[] dist, int[] parent) {
+        int top = source / cols / clusterSize * clusterSize;
+        int left = source % cols / clusterSize * clusterSize;
+        int local = localIndex(target);
+        int[] path = new int[dist[local] + 1];
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = (top + local / clusterSize) * cols + left + local % clusterSize;
+            local = parent[local];
+        }
+        return path;
+    }
+    
+    // ========== ABSTRACTION ==========
+    
+    /**
+     * Notify the planner that a cell's wall state changed in the grid
+     * The cell's cluster and any cluster across a border from it are rebuilt
+     */
+    public void cellChanged(int cellId) {
+        int row = cellId / cols;
+        int col = cellId % cols;
+        markDirty(row, col);
+        for (int d = 0; d < 4; d++) {
+            markDirty(row + STEP_ROW[d], col + STEP_COL[d]);
+        }
+    }
+    
+    private void markDirty(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return;
+        int cluster = (row / clusterSize) * clusterCols + col / clusterSize;
+        if (!dirty[cluster]) {
+            dirty[cluster] = true;
+            dirtyClusters[dirtyCount++] = cluster;
+        }
+    }
+    
+    private void rebuildDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            rebuildCluster(dirtyClusters[i]);
+            dirty[dirtyClusters[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+    
+    /**
+     * Recompute one cluster's entrances and distance matrix
+     * Border scans are symmetric, so the cluster across a border derives
+     * the matching entrances on its side. Time Complexity: O(E × size²)
+     */
+    private void rebuildCluster(int cluster) {
+        for (int cell : entrances[cluster]) {
+            entranceIndex[cell] = -1;
+        }
+        
+        int top = (cluster / clusterCols) * clusterSize;
+        int left = (cluster % clusterCols) * clusterSize;
+        int bottom = Math.min(rows, top + clusterSize);
+        int right = Math.min(cols, left + clusterSize);
+        int count = 0;
+        if (top > 0) count = scanBorder(top, left, 0, 1, right - left, 0, count);
+        if (bottom < rows) count = scanBorder(bottom - 1, left, 0, 1, right - left, 1, count);
+        if (left > 0) count = scanBorder(top, left, 1, 0, bottom - top, 2, count);
+        if (right < cols) count = scanBorder(top, right - 1, 1, 0, bottom - top, 3, count);
+        
+        int[] list = Arrays.copyOf(buildCells, count);
+        int[] distances = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            searchCluster(list[i], localDist, localParent);
+            for (int j = 0; j < count; j++) {
+                distances[i * count + j] = localDist[localIndex(list[j])];
+            }
+        }
+        entrances[cluster] = list;
+        entranceLinks[cluster] = Arrays.copyOf(buildLinks, count);
+        intraDistances[cluster] = distances;
+    }
+    
+    /**
+     * Place entrances along one border line of length cells
+     * A crossing is an open edge in the given direction; every crossing
+     * cell becomes an entrance
+     */
+    private int scanBorder(int row, int col, int stepRow, int stepCol, int length,
+                           int direction, int count) {
+        for (int i = 0; i < length; i++) {
+            int r = row + i * stepRow;
+            int c = col + i * stepCol;
+            if ((grid.getOpenMask(r, c) & DIRECTION_BITS[direction]) != 0) {
+                count = addEntrance(r, c, direction, count);
+            }
+        }
+        return count;
+    }
+    
+    private int addEntrance(int row, int col, int direction, int count) {
+        int cell = row * cols + col;
+        int index = entranceIndex[cell];
+        if (index >= 0) {
+            buildLinks[index] |= DIRECTION_BITS[direction];
+            return count;
+        }
+        entranceIndex[cell] = count;
+        buildCells[count] = cell;
+        buildLinks[count] = (byte) DIRECTION_BITS[direction];
+        return count + 1;
+    }
+    
+    // ========== CACHE FILE ==========
+    
+    /**
+     * Load a cached abstraction for graph, or build and cache it
+     */
+    public static HierarchicalPlanner loadOrBuild(Path path, MazeGraph graph, int clusterSize)
+            throws IOException {
+        if (Files.exists(path)) {
+            try {
+                HierarchicalPlanner planner = load(path, graph);
+                if (planner.clusterSize == clusterSize) return planner;
+            } catch (IOException stale) {
+                // Different maze or format: rebuild below
+            }
+        }
+        HierarchicalPlanner planner = new HierarchicalPlanner(graph, clusterSize);
+        planner.save(path);
+        return planner;
+    }
+    
+    /**
+     * Write the abstraction (little-endian, streamed in 64 KiB blocks)
+     */
+    public void save(Path path) throws IOException {
+        rebuildDirty();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer block = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            block.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols)
+                 .putInt(clusterSize).putInt(0).putLong(WallGrid.fingerprint(grid));
+            
+            for (int cluster = 0; cluster < entrances.length; cluster++) {
+                int[] list = entrances[cluster];
+                ensure(channel, block, 4);
+                block.putInt(list.length);
+                for (int i = 0; i < list.length; i++) {
+                    ensure(channel, block, 5);
+                    block.putInt(list[i]).put(entranceLinks[cluster][i]);
+                }
+                for (int d : intraDistances[cluster]) {
+                    ensure(channel, block, 4);
+                    block.putInt(d);
+                }
+            }
+            block.flip();
+            while (block.hasRemaining()) {
+                channel.write(block);
+            }
+        }
+    }
+    
+    private static void ensure(FileChannel channel, ByteBuffer block, int bytes)
+            throws IOException {
+        if (block.remaining() >= bytes) return;
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+    
+    /**
+     * Read a cached abstraction; fails if it was built for other walls
+     */
+    public static HierarchicalPlanner load(Path path, MazeGraph graph) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not an HPA* cache: " + path);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not an HPA* cache: " + path);
+            }
+            int rows = in.getInt();
+            int cols = in.getInt();
+            int clusterSize = in.getInt();
+            in.getInt();
+            long fingerprint = in.getLong();
+            if (rows != graph.getRows() || cols != graph.getCols() ||
+                fingerprint != WallGrid.fingerprint(graph.getGrid())) {
+                throw new IOException("HPA* cache does not match this maze: " + path);
+            }
+            
+            HierarchicalPlanner planner = new HierarchicalPlanner(graph, clusterSize, false);
+            try {
+                for (int cluster = 0; cluster < planner.entrances.length; cluster++) {
+                    int count = in.getInt();
+                    int[] list = new int[count];
+                    byte[] links = new byte[count];
+                    for (int i = 0; i < count; i++) {
+                        list[i] = in.getInt();
+                        links[i] = in.get();
+                        planner.entranceIndex[list[i]] = i;
+                    }
+                    int[] distances = new int[count * count];
+                    for (int i = 0; i < distances.length; i++) {
+                        distances[i] = in.getInt();
+                    }
+                    planner.entrances[cluster] = list;
+                    planner.entranceLinks[cluster] = links;
+                    planner.intraDistances[cluster] = distances;
+                }
+            } catch (RuntimeException truncated) {
+                throw new IOException("Corrupt HPA* cache: " + path, truncated);
+            }
+            return planner;
+        }
+    }
+    
+    // ========== HELPERS ==========
+    
+    private int clusterOf(int cell) {
+        return (cell / cols / clusterSize) * clusterCols + cell % cols / clusterSize;
+    }
+    
+    private int localIndex(int cell) {
+        return (cell / cols % clusterSize) * clusterSize + cell % cols % clusterSize;
+    }
+    
+    private int manhattan(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+    
+    /**
+     * Waypoints of the last query (start, entrances..., goal); null if none
+     */
+    public int[] getAbstractPath() { return abstractPath; }
+    public int getClusterSize() { return clusterSize; }
+    public int getClusterCount() { return entrances.length; }
+    
+    public int getEntranceCount() {
+        int total = 0;
+        for (int[] list : entrances) {
+            total += list.length;
+        }
+        return total;
+    }
+}
\ No newline at end of file
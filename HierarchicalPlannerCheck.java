@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * HIERARCHICAL PLANNER CHECK - Reference check for HierarchicalPlanner
+ * Random start / goal pairs on the built-in mazes and generated 101x101
+ * ones (every generator algorithm, four seeds). refinePath() must give
+ * a valid path exactly as long as a plain BFS over the wall grid, and
+ * findPath()'s first leg must start that path and report the full
+ * route's cost (the BFS distance). The same holds after
+ * walls are toggled and reported with cellChanged(), and for a planner
+ * reloaded from its cache file.
+ *
+ * Usage: java HierarchicalPlannerCheck [queries per maze]
+ * Exits with status 1 on the first failure.
+ */
+public class HierarchicalPlannerCheck {
+    
+    private static final int DEFAULT_QUERIES = 300;
+    private static final int CLUSTER_SIZE = 16;
+    private static final int WALL_TOGGLES = 40;
+    
+    public static void main(String[] args) throws IOException {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_QUERIES;
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty).packedGrid, queries);
+        }
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 4; seed++) {
+                failures += check("generated 101x101 " + algorithm + " seed " + seed,
+                                  MazeGenerator.generate(101, 101, algorithm, seed), queries);
+            }
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, PackedGrid grid, int queries) throws IOException {
+        MazeGraph graph = new MazeGraph(grid);
+        HierarchicalPlanner planner = new HierarchicalPlanner(graph, CLUSTER_SIZE);
+        SplittableRandom random = new SplittableRandom(name.hashCode());
+        
+        String problem = queries(planner, grid, graph, random, queries);
+        if (problem == null) {
+            Path cache = Files.createTempFile("hpa", ".bin");
+            try {
+                planner.save(cache);
+                problem = queries(HierarchicalPlanner.load(cache, graph), grid, graph, random, queries);
+                if (problem != null) problem = "reloaded: " + problem;
+            } finally {
+                Files.delete(cache);
+            }
+        }
+        if (problem == null) {
+            // Toggle interior cells (keeps the border closed), then replan
+            for (int t = 0; t < WALL_TOGGLES; t++) {
+                int row = 1 + random.nextInt(grid.getRows() - 2);
+                int col = 1 + random.nextInt(grid.getCols() - 2);
+                grid.setWall(row, col, !grid.isWall(row, col));
+                planner.cellChanged(row * grid.getCols() + col);
+            }
+            problem = queries(planner, grid, new MazeGraph(grid), random, queries);
+            if (problem != null) problem = "after wall changes: " + problem;
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d queries x 3%n", name, queries);
+        return 0;
+    }
+    
+    private static String queries(HierarchicalPlanner planner, PackedGrid grid, MazeGraph graph,
+                                  SplittableRandom random, int queries) {
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        for (int q = 0; q < queries; q++) {
+            int start = walkable[random.nextInt(walkable.length)];
+            int goal = walkable[random.nextInt(walkable.length)];
+            int expected = PathFinderCheck.referenceDistances(grid, start)[goal];
+            
+            int[] path = planner.refinePath(start, goal);
+            String problem = PathFinderCheck.problem(grid, path, start, goal, expected);
+            if (problem == null && path != null) {
+                PathFinder.Result first = planner.findPath(start, goal);
+                int[] leg = first.path;
+                if (first.cost != expected) problem = "first leg reports cost " + first.cost;
+                for (int i = 0; i < leg.length && problem == null; i++) {
+                    if (i >= path.length || leg[i] != path[i]) problem = "first leg leaves the full path";
+                }
+            }
+            if (problem != null) return start + " -> " + goal + ": " + problem;
+        }
+        return null;
+    }
+}
\ No newline at end of file
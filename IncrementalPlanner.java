@@ -0,0 +1,290 @@
+import java.util.Arrays;
+
+/**
+ * INCREMENTAL PLANNER - Moving-target D* Lite (LPA* core)
+ * Keeps its search state across turns and repairs it instead of
+ * replanning from scratch:
+ *
+ * - Target moves: keys are kept as lower bounds with the D* Lite km
+ *   offset (km += h(oldGoal, newGoal)), and the search only resumes
+ *   until the new goal is consistent.
+ * - AI (root) moves: g-values are stored relative to a root base. The
+ *   base is re-anchored at the new root's g, so the part of the search
+ *   tree below the new root stays consistent and only cells whose best
+ *   route went through the old root are repaired.
+ * - Wall changes: call cellChanged() after PackedGrid.setWall(); only the
+ *   cell and its four neighbors are re-queued.
+ *
+ * Adjacency is read from the live PackedGrid masks, so wall edits are
+ * picked up without rebuilding the graph. Not thread-safe.
+ */
+public class IncrementalPlanner implements PathPlanner {
+    
+    private static final int INF = Integer.MAX_VALUE / 2;
+    
+    private final WallGrid grid;
+    private final int cols;
+    private final int cells;
+    private final int[] g;
+    private final int[] rhs;
+    private final int[] keyPrimary;
+    private final int[] keySecondary;
+    private final int[] heapIndex;
+    private final int[] heap;
+    private int heapSize;
+    
+    private boolean initialized;
+    private int root;
+    private int goal;
+    private int rootBase;
+    private int km;
+    private int expanded;
+    
+    public IncrementalPlanner(MazeGraph graph) {
+        this.grid = graph.getGrid();
+        this.cols = graph.getCols();
+        this.cells = graph.getCellCount();
+        this.g = new int[cells];
+        this.rhs = new int[cells];
+        this.keyPrimary = new int[cells];
+        this.keySecondary = new int[cells];
+        this.heapIndex = new int[cells];
+        this.heap = new int[cells];
+    }
+    
+    /**
+     * Plan from start to goal, reusing the previous search
+     * expanded reports only the work done for this call
+     */
+    @Override
+    public PathFinder.Result findPath(int start, int target) {
+        expanded = 0;
+        if (!initialized || rootBase > INF / 4) {
+            initialize(start, target);
+        } else {
+            if (target != goal) {
+                km += manhattan(goal, target);
+                goal = target;
+            }
+            if (start != root) {
+                moveRoot(start);
+            }
+        }
+        
+        computeShortestPath();
+        
+        if (g[goal] >= INF) return new PathFinder.Result(null, expanded);
+        return new PathFinder.Result(extractPath(), expanded);
+    }
+    
+    /**
+     * Notify the planner that a cell's wall state changed in the grid
+     */
+    public void cellChanged(int cellId) {
+        if (!initialized) return;
+        
+        int row = cellId / cols;
+        int col = cellId % cols;
+        updateVertex(cellId);
+        if (row > 0) updateVertex(cellId - cols);
+        if (row < cells / cols - 1) updateVertex(cellId + cols);
+        if (col > 0) updateVertex(cellId - 1);
+        if (col < cols - 1) updateVertex(cellId + 1);
+    }
+    
+    /**
+     * Drop all search state; the next query starts from scratch
+     */
+    public void reset() {
+        initialized = false;
+    }
+    
+    // ========== LPA* CORE ==========
+    
+    private void initialize(int start, int target) {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        Arrays.fill(heapIndex, -1);
+        heapSize = 0;
+        root = start;
+        goal = target;
+        rootBase = 0;
+        km = 0;
+        rhs[root] = rootBase;
+        insert(root);
+        initialized = true;
+    }
+    
+    private void moveRoot(int newRoot) {
+        int oldRoot = root;
+        root = newRoot;
+        if (g[newRoot] < INF && g[newRoot] == rhs[newRoot]) {
+            rootBase = g[newRoot];
+        }
+        updateVertex(oldRoot);
+        updateVertex(newRoot);
+    }
+    
+    private void computeShortestPath() {
+        while (heapSize > 0 &&
+               (compareTop(goal) < 0 || rhs[goal] != g[goal])) {
+            int u = heap[0];
+            int oldPrimary = keyPrimary[u];
+            int oldSecondary = keySecondary[u];
+            int min = Math.min(g[u], rhs[u]);
+            int newPrimary = min + manhattan(u, goal) + km;
+            
+            if (oldPrimary < newPrimary || (oldPrimary == newPrimary && oldSecondary < min)) {
+                keyPrimary[u] = newPrimary;
+                keySecondary[u] = min;
+                siftDown(0);
+                continue;
+            }
+            
+            expanded++;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                remove(u);
+                updateNeighbors(u);
+            } else {
+                g[u] = INF;
+                updateVertex(u);
+                updateNeighbors(u);
+            }
+        }
+    }
+    
+    private void updateNeighbors(int u) {
+        int mask = grid.getOpenMask(u / cols, u % cols);
+        if ((mask & PackedGrid.UP) != 0) updateVertex(u - cols);
+        if ((mask & PackedGrid.DOWN) != 0) updateVertex(u + cols);
+        if ((mask & PackedGrid.LEFT) != 0) updateVertex(u - 1);
+        if ((mask & PackedGrid.RIGHT) != 0) updateVertex(u + 1);
+    }
+    
+    private void updateVertex(int u) {
+        if (u == root) {
+            rhs[u] = grid.isWall(u / cols, u % cols) ? INF : rootBase;
+        } else {
+            int best = INF;
+            int mask = grid.getOpenMask(u / cols, u % cols);
+            if ((mask & PackedGrid.UP) != 0) best = Math.min(best, g[u - cols] + 1);
+            if ((mask & PackedGrid.DOWN) != 0) best = Math.min(best, g[u + cols] + 1);
+            if ((mask & PackedGrid.LEFT) != 0) best = Math.min(best, g[u - 1] + 1);
+            if ((mask & PackedGrid.RIGHT) != 0) best = Math.min(best, g[u + 1] + 1);
+            rhs[u] = Math.min(best, INF);
+        }
+        
+        if (g[u] != rhs[u]) {
+            if (heapIndex[u] >= 0) {
+                int index = heapIndex[u];
+                setKey(u);
+                siftUp(index);
+                siftDown(heapIndex[u]);
+            } else {
+                insert(u);
+            }
+        } else if (heapIndex[u] >= 0) {
+            remove(u);
+        }
+    }
+    
+    /**
+     * Follow minimum-g predecessors from the goal back to the root
+     */
+    private int[] extractPath() {
+        int length = g[goal] - rootBase;
+        int[] path = new int[length + 1];
+        int cell = goal;
+        for (int index = length; index > 0; index--) {
+            path[index] = cell;
+            int best = -1;
+            int mask = grid.getOpenMask(cell / cols, cell % cols);
+            if ((mask & PackedGrid.UP) != 0) best = lowerG(best, cell - cols);
+            if ((mask & PackedGrid.DOWN) != 0) best = lowerG(best, cell + cols);
+            if ((mask & PackedGrid.LEFT) != 0) best = lowerG(best, cell - 1);
+            if ((mask & PackedGrid.RIGHT) != 0) best = lowerG(best, cell + 1);
+            cell = best;
+        }
+        path[0] = cell;
+        return path;
+    }
+    
+    private int lowerG(int best, int candidate) {
+        return (best < 0 || g[candidate] < g[best]) ? candidate : best;
+    }
+    
+    private int manhattan(int from, int to) {
+        return Math.abs(from / cols - to / cols) + Math.abs(from % cols - to % cols);
+    }
+    
+    // ========== INDEXED HEAP (lexicographic keys) ==========
+    
+    private void setKey(int u) {
+        int min = Math.min(g[u], rhs[u]);
+        keyPrimary[u] = min + manhattan(u, goal) + km;
+        keySecondary[u] = min;
+    }
+    
+    /**
+     * Compare the heap top's key with the freshly computed key of cell
+     */
+    private int compareTop(int cell) {
+        int top = heap[0];
+        int min = Math.min(g[cell], rhs[cell]);
+        int primary = min + manhattan(cell, goal) + km;
+        if (keyPrimary[top] != primary) return keyPrimary[top] < primary ? -1 : 1;
+        return Integer.compare(keySecondary[top], min);
+    }
+    
+    private boolean less(int a, int b) {
+        if (keyPrimary[a] != keyPrimary[b]) return keyPrimary[a] < keyPrimary[b];
+        return keySecondary[a] < keySecondary[b];
+    }
+    
+    private void insert(int u) {
+        setKey(u);
+        heap[heapSize] = u;
+        heapIndex[u] = heapSize;
+        siftUp(heapSize++);
+    }
+    
+    private void remove(int u) {
+        int index = heapIndex[u];
+        heapIndex[u] = -1;
+        int last = heap[--heapSize];
+        if (index == heapSize) return;
+        heap[index] = last;
+        heapIndex[last] = index;
+        siftUp(index);
+        siftDown(heapIndex[last]);
+    }
+    
+    private void siftUp(int index) {
+        int u = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(u, heap[parent])) break;
+            heap[index] = heap[parent];
+            heapIndex[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = u;
+        heapIndex[u] = index;
+    }
+    
+    private void siftDown(int index) {
+        int u = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], u)) break;
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = u;
+        heapIndex[u] = index;
+    }
+}
\ No newline at end of file
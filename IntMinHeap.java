@@ -0,0 +1,65 @@
+import java.util.Arrays;
+
+/**
+ * INT MIN HEAP - Binary heap of (int key, int value) pairs
+ * Primitive open set for the planners: no boxing, no per-push allocation.
+ * Stale entries are expected to be skipped by the caller (lazy deletion).
+ * Time Complexity: O(log n) push/pop
+ */
+public class IntMinHeap {
+    
+    private int[] keys;
+    private int[] values;
+    private int size;
+    
+    public IntMinHeap(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+    
+    public void push(int key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+    
+    /**
+     * Remove the minimum entry and return its value
+     */
+    public int pop() {
+        int top = values[0];
+        int key = keys[--size];
+        int value = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (key <= keys[child]) break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = key;
+        values[i] = value;
+        return top;
+    }
+    
+    public int peekKey() { return keys[0]; }
+    public int peekValue() { return values[0]; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+/**
+ * JUMP POINT SEARCH - A* with symmetry pruning for 4-connected grids
+ * Every MazeGraph is a uniform-cost 4-connected grid, so straight runs
+ * can be skipped ("jumped") until a forced neighbor, the goal, or a
+ * horizontal branch that leads somewhere is found. Only those jump
+ * points enter the open set.
+ *
+ * Rules (4-connected variant):
+ * - Moving horizontally: stop where a vertical neighbor is open but the
+ *   cell behind it is blocked; successors are both vertical cells and
+ *   the straight continuation.
+ * - Moving vertically: stop on the same forced-neighbor test, or when a
+ *   horizontal jump from the current cell finds a jump point;
+ *   successors are both horizontal cells and the straight continuation.
+ *
+ * Works directly on the PackedGrid wall bits; per-search state is kept
+ * in a SearchScratch. Not thread-safe.
+ */
+public class JumpPointSearch implements PathPlanner {
+    
+    private final MazeGraph graph;
+    private final WallGrid grid;
+    private final int cols;
+    private final SearchScratch scratch;
+    private final IntMinHeap open;
+    
+    public JumpPointSearch(MazeGraph graph) {
+        this.graph = graph;
+        this.grid = graph.getGrid();
+        this.cols = graph.getCols();
+        this.scratch = new SearchScratch(graph.getCellCount());
+        this.open = new IntMinHeap(256);
+    }
+    
+    /**
+     * Returns the full cell-by-cell path; expanded counts jump points
+     */
+    @Override
+    public PathFinder.Result findPath(int start, int goal) {
+        scratch.begin();
+        open.clear();
+        
+        int goalRow = goal / cols;
+        int goalCol = goal % cols;
+        
+        scratch.open(start, 0, -1);
+        open.push(manhattan(start, goal), start);
+        int expanded = 0;
+        
+        while (!open.isEmpty()) {
+            int f = open.peekKey();
+            int cell = open.pop();
+            if (scratch.isClosed(cell) || f != scratch.getG(cell) + manhattan(cell, goal)) {
+                continue;
+            }
+            scratch.close(cell);
+            expanded++;
+            if (cell == goal) {
+                return new PathFinder.Result(buildPath(start, goal), expanded);
+            }
+            
+            int row = cell / cols;
+            int col = cell % cols;
+            int dRow = 0;
+            int dCol = 0;
+            int from = scratch.getParent(cell);
+            if (from >= 0) {
+                dRow = Integer.signum(row - from / cols);
+                dCol = Integer.signum(col - from % cols);
+            }
+            
+            if (dRow == 0 && dCol == 0) {
+                relaxJump(cell, row, col, -1, 0, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 1, 0, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 0, -1, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 0, 1, goalRow, goalCol, goal);
+            } else if (dCol != 0) {
+                relaxJump(cell, row, col, -1, 0, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 1, 0, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 0, dCol, goalRow, goalCol, goal);
+            } else {
+                relaxJump(cell, row, col, 0, -1, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, 0, 1, goalRow, goalCol, goal);
+                relaxJump(cell, row, col, dRow, 0, goalRow, goalCol, goal);
+            }
+        }
+        return new PathFinder.Result(null, expanded);
+    }
+    
+    private void relaxJump(int cell, int row, int col, int dRow, int dCol,
+                           int goalRow, int goalCol, int goal) {
+        int jumpPoint = jump(row, col, dRow, dCol, goalRow, goalCol);
+        if (jumpPoint < 0 || scratch.isClosed(jumpPoint)) return;
+        
+        int nextG = scratch.getG(cell) + manhattan(cell, jumpPoint);
+        if (scratch.isUnseen(jumpPoint) || nextG < scratch.getG(jumpPoint)) {
+            scratch.open(jumpPoint, nextG, cell);
+            open.push(nextG + manhattan(jumpPoint, goal), jumpPoint);
+        }
+    }
+    
+    /**
+     * Scan from (row, col) in one direction; returns the jump point or -1
+     * Iterative, so long corridors cannot overflow the stack
+     */
+    private int jump(int row, int col, int dRow, int dCol, int goalRow, int goalCol) {
+        while (true) {
+            row += dRow;
+            col += dCol;
+            if (grid.isWall(row, col)) return -1;
+            if (row == goalRow && col == goalCol) return row * cols + col;
+            
+            if (dCol != 0) {
+                if ((grid.isOpen(row - 1, col) && grid.isWall(row - 1, col - dCol)) ||
+                    (grid.isOpen(row + 1, col) && grid.isWall(row + 1, col - dCol))) {
+                    return row * cols + col;
+                }
+            } else {
+                if ((grid.isOpen(row, col - 1) && grid.isWall(row - dRow, col - 1)) ||
+                    (grid.isOpen(row, col + 1) && grid.isWall(row - dRow, col + 1))) {
+                    return row * cols + col;
+                }
+                if (jump(row, col, 0, 1, goalRow, goalCol) >= 0 ||
+                    jump(row, col, 0, -1, goalRow, goalCol) >= 0) {
+                    return row * cols + col;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Expand the jump-point chain into consecutive cells
+     */
+    private int[] buildPath(int start, int goal) {
+        int[] path = new int[scratch.getG(goal) + 1];
+        int index = path.length - 1;
+        int cell = goal;
+        path[index--] = cell;
+        while (cell != start) {
+            int from = scratch.getParent(cell);
+            int step = (from / cols == cell / cols) ? Integer.signum(from - cell)
+                                                    : Integer.signum(from - cell) * cols;
+            for (int c = cell + step; c != from; c += step) {
+                path[index--] = c;
+            }
+            path[index--] = from;
+            cell = from;
+        }
+        return path;
+    }
+    
+    private int manhattan(int from, int to) {
+        return Math.abs(from / cols - to / cols) + Math.abs(from % cols - to % cols);
+    }
+    
+    public MazeGraph getGraph() {
+        return graph;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,340 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * MAZE BENCHMARK - Micro-benchmark suite for the hot paths
+ * Self-contained harness in the style of JMH: each benchmark gets timed
+ * warm-up and measurement iterations, results are consumed by a sink so
+ * the JIT cannot drop the work, and the report is mean ns/op with its
+ * standard deviation across iterations. Ops run in fixed-size batches
+ * (calibrated to about 100 µs each) with one clock read per batch, so
+ * System.nanoTime() does not swamp ops that take tens of nanoseconds.
+ *
+ * The same benchmarks run under JMH through prepare(): see
+ * jmh/bench/MazeBenchmarks.java and the "jmh" profile in pom.xml.
+ *
+ * Covered, for the three built-in mazes and generated large ones:
+ * - MazeGraph construction (NODES and COMPACT storage, sequential and
+ *   band-parallel)
+ * - GreedyAI decision latency per difficulty (decide and getGreedyMove)
+ * - SwarmAI turn (flow-field rebuild plus up to 1000 chasers)
+ * - MazeGraph.getAllWalkableNodes
+ * - Offscreen MazePanel / GraphPanel paint time (cached, and with the
+ *   static layer rebuilt), plus a fixed-size zoomed-out MazePanel view
+ *
+ * Usage: java MazeBenchmark [name filter] [-wi N] [-i N] [-ms millis]
+ * Runs headless; compile with javac -encoding UTF-8 *.java
+ */
+public class MazeBenchmark {
+    
+    private static final String[] DIFFICULTIES = {"easy", "medium", "hard"};
+    private static final int[] GENERATED_SIZES = {101, 401, 1001};
+    private static final int SWARM_SIZE = 1000;
+    
+    private static volatile int sink;
+    
+    // Calibrated batches take at least this long, so the clock read is noise
+    private static final long BATCH_NANOS = 100_000L;
+    
+    private int warmupIterations = 3;
+    private int measureIterations = 5;
+    private long iterationNanos = 200_000_000L;
+    private String filter = "";
+    
+    // prepare(): collect one benchmark's op instead of timing it
+    private String collectName;
+    private IntSupplier collected;
+    
+    /**
+     * One maze under test
+     */
+    private static class Scenario {
+        final String name;
+        final MazeConfigurations.MazeConfig config;
+        
+        Scenario(String name, MazeConfigurations.MazeConfig config) {
+            this.name = name;
+            this.config = config;
+        }
+    }
+    
+    /**
+     * Headless GameView over a prepared engine
+     */
+    private static class BenchView implements GameView {
+        private final GameEngine engine;
+        private final PackedGrid maze;
+        private final String difficulty;
+        
+        BenchView(GameEngine engine, PackedGrid maze, String difficulty) {
+            this.engine = engine;
+            this.maze = maze;
+            this.difficulty = difficulty;
+        }
+        
+        @Override public GameEngine getEngine() { return engine; }
+        @Override public PackedGrid getMaze() { return maze; }
+        @Override public MazeGraph getGraph() { return engine.getGraph(); }
+        @Override public String getDifficulty() { return difficulty; }
+        @Override public String getPlannerName() { return "Greedy (one step)"; }
+    }
+    
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        
+        MazeBenchmark benchmark = new MazeBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": benchmark.warmupIterations = Integer.parseInt(args[++i]); break;
+                case "-i": benchmark.measureIterations = Integer.parseInt(args[++i]); break;
+                case "-ms": benchmark.iterationNanos = Long.parseLong(args[++i]) * 1_000_000L; break;
+                default: benchmark.filter = args[i];
+            }
+        }
+        benchmark.runAll();
+    }
+    
+    private void runAll() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : DIFFICULTIES) {
+            scenarios.add(scenario(name));
+        }
+        for (int size : GENERATED_SIZES) {
+            scenarios.add(scenario("gen" + size));
+        }
+        
+        System.out.printf("%-36s %-9s %14s %12s%n", "Benchmark", "Maze", "ns/op", "stddev");
+        for (Scenario scenario : scenarios) {
+            benchmarkAll(scenario);
+        }
+    }
+    
+    private void benchmarkAll(Scenario scenario) {
+        benchmarkGraph(scenario);
+        benchmarkDecisions(scenario);
+        benchmarkSwarm(scenario);
+        benchmarkPaint(scenario);
+    }
+    
+    /**
+     * The op behind one benchmark, set up and ready to call, for running
+     * it under another harness (JMH)
+     * @param benchmark a name from the report, e.g. "ai.decide.hard"
+     * @param maze      "easy", "medium", "hard" or "gen" + odd size
+     */
+    public static IntSupplier prepare(String benchmark, String maze) {
+        System.setProperty("java.awt.headless", "true");
+        MazeBenchmark collector = new MazeBenchmark();
+        collector.collectName = benchmark;
+        collector.benchmarkAll(scenario(maze));
+        if (collector.collected == null) {
+            throw new IllegalArgumentException("No benchmark " + benchmark + " on maze " + maze);
+        }
+        return collector.collected;
+    }
+    
+    private static Scenario scenario(String name) {
+        if (name.startsWith("gen")) {
+            int size = Integer.parseInt(name.substring(3));
+            return new Scenario(name, MazeGenerator.generateConfig(
+                size, size, MazeGenerator.Algorithm.BACKTRACKER, 42));
+        }
+        return new Scenario(name, MazeConfigurations.getMaze(name));
+    }
+    
+    // ========== BENCHMARKS ==========
+    
+    private void benchmarkGraph(Scenario s) {
+        PackedGrid grid = s.config.packedGrid;
+        run("graph.build.nodes", s, () -> new MazeGraph(grid).getCellCount());
+        run("graph.build.compact", s,
+            () -> new MazeGraph(grid, MazeGraph.Storage.COMPACT).getCellCount());
+        run("graph.build.nodes.parallel", s,
+            () -> MazeGraph.buildParallel(grid, MazeGraph.Storage.NODES).getCellCount());
+        run("graph.build.compact.parallel", s,
+            () -> MazeGraph.buildParallel(grid, MazeGraph.Storage.COMPACT).getCellCount());
+        
+        MazeGraph graph = new MazeGraph(grid);
+        run("graph.allWalkableNodes", s, () -> graph.getAllWalkableNodes().length);
+    }
+    
+    private void benchmarkDecisions(Scenario s) {
+        MazeGraph graph = new MazeGraph(s.config.packedGrid);
+        int[] open = openCells(graph);
+        
+        for (String difficulty : DIFFICULTIES) {
+            GreedyAI ai = new GreedyAI(graph, difficulty);
+            GreedyAI.DecisionBuffer buffer = new GreedyAI.DecisionBuffer();
+            int[] cursor = new int[1];
+            
+            run("ai.decide." + difficulty, s, () -> {
+                cursor[0] = (cursor[0] + 1) % open.length;
+                int from = open[cursor[0]];
+                int to = open[(cursor[0] + open.length / 2) % open.length];
+                ai.decide(graph.getRowOf(from), graph.getColOf(from),
+                          graph.getRowOf(to), graph.getColOf(to), buffer);
+                return buffer.chosenCell;
+            });
+            run("ai.getGreedyMove." + difficulty, s, () -> {
+                cursor[0] = (cursor[0] + 1) % open.length;
+                int from = open[cursor[0]];
+                int to = open[(cursor[0] + open.length / 2) % open.length];
+                GreedyAI.Decision decision = ai.getGreedyMove(
+                    graph.getRowOf(from), graph.getColOf(from), graph.getRowOf(to), graph.getColOf(to));
+                return decision.candidates.size();
+            });
+        }
+    }
+    
+    /**
+     * One swarm turn (flow-field BFS plus every chaser's move) while the
+     * target walks through the open cells
+     */
+    private void benchmarkSwarm(Scenario s) {
+        MazeGraph graph = new MazeGraph(s.config.packedGrid, MazeGraph.Storage.COMPACT);
+        int[] open = openCells(graph);
+        SwarmAI swarm = new SwarmAI(graph);
+        swarm.spawnRandom(Math.min(SWARM_SIZE, open.length / 4), 42, -1, -1, 0);
+        int[] cursor = new int[1];
+        
+        run("swarm.step." + swarm.getChaserCount(), s, () -> {
+            cursor[0] = (cursor[0] + 1) % open.length;
+            swarm.step(open[cursor[0]]);
+            return swarm.getMovedLastTurn();
+        });
+    }
+    
+    private void benchmarkPaint(Scenario s) {
+        MazeGraph graph = new MazeGraph(s.config.packedGrid);
+        GreedyAI ai = new GreedyAI(graph, "hard");
+        GameEngine engine = new GameEngine(s.config, graph, ai);
+        
+        // Play one turn so GraphPanel has a decision to draw
+        for (int direction : new int[] {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT}) {
+            if (engine.movePlayer(direction)) break;
+        }
+        engine.stepAI();
+        BenchView view = new BenchView(engine, s.config.packedGrid, "hard");
+        
+        // At least 2 px per cell, so large mazes still draw every cell
+        int rows = graph.getRows();
+        int cols = graph.getCols();
+        int width = Math.max(800, 2 * cols + 40);
+        int height = Math.max(800, 2 * rows + 240);
+        
+        MazePanel mazePanel = new MazePanel();
+        mazePanel.setParent(view);
+        run("paint.mazePanel", s, () -> paint(mazePanel, width, height));
+        run("paint.mazePanel.rebuild", s, () -> {
+            mazePanel.invalidateStaticLayer();
+            return paint(mazePanel, width, height);
+        });
+        
+        // Fixed 800 x 800 view: large mazes show the density mipmap
+        MazePanel overview = new MazePanel();
+        overview.setParent(view);
+        run("paint.mazePanel.overview", s, () -> {
+            overview.invalidateStaticLayer();
+            return paint(overview, 800, 800);
+        });
+        
+        GraphPanel graphPanel = new GraphPanel();
+        graphPanel.setParent(view);
+        run("paint.graphPanel", s, () -> paint(graphPanel, width, height));
+        run("paint.graphPanel.rebuild", s, () -> {
+            graphPanel.invalidateEdgeLayer();
+            return paint(graphPanel, width, height);
+        });
+    }
+    
+    private static int paint(javax.swing.JComponent panel, int width, int height) {
+        panel.setSize(width, height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        panel.paint(g);
+        g.dispose();
+        return image.getRGB(width / 2, height / 2);
+    }
+    
+    // ========== HARNESS ==========
+    
+    /**
+     * Time op in fixed-length iterations; prints mean and stddev ns/op
+     */
+    private void run(String name, Scenario scenario, IntSupplier op) {
+        if (collectName != null) {
+            if (name.equals(collectName)) collected = op;
+            return;
+        }
+        if (!name.contains(filter) && !scenario.name.contains(filter)) return;
+        
+        int batch = calibrate(op);
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op, batch);
+        }
+        double[] nanosPerOp = new double[measureIterations];
+        for (int i = 0; i < measureIterations; i++) {
+            nanosPerOp[i] = iteration(op, batch);
+        }
+        
+        double mean = Arrays.stream(nanosPerOp).average().orElse(0);
+        double variance = Arrays.stream(nanosPerOp).map(x -> (x - mean) * (x - mean)).sum() /
+                          Math.max(1, nanosPerOp.length - 1);
+        System.out.printf("%-36s %-9s %14.1f %12.1f%n", name, scenario.name, mean, Math.sqrt(variance));
+    }
+    
+    /**
+     * Smallest power-of-two batch that takes at least BATCH_NANOS
+     * (1 for ops already that slow on their own)
+     */
+    private static int calibrate(IntSupplier op) {
+        int batch = 1;
+        while (batch < (1 << 30)) {
+            int consumed = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                consumed += op.getAsInt();
+            }
+            long elapsed = System.nanoTime() - start;
+            sink = consumed;
+            if (elapsed >= BATCH_NANOS) break;
+            batch <<= 1;
+        }
+        return batch;
+    }
+    
+    /**
+     * Runs whole batches of op until the iteration time is used up (at
+     * least one batch); the clock is read once per batch
+     */
+    private double iteration(IntSupplier op, int batch) {
+        long ops = 0;
+        int consumed = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                consumed += op.getAsInt();
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        sink = consumed;
+        return (double) elapsed / ops;
+    }
+    
+    // ========== MAZES ==========
+    
+    private static int[] openCells(MazeGraph graph) {
+        int count = 0;
+        int[] cells = new int[graph.getCellCount()];
+        for (int id = 0; id < cells.length; id++) {
+            if (!graph.isWall(id)) cells[count++] = id;
+        }
+        return Arrays.copyOf(cells, count);
+    }
+}
\ No newline at end of file
@@ -78,12 +78,29 @@ public class MazeConfigurations {
      */
     public static class MazeConfig {
         public final int[][] grid;
+        public final PackedGrid packedGrid;
+        public final WallGrid wallGrid;
         public final Point playerStart;
         public final Point aiStart;
         public final Point exit;
         
         public MazeConfig(int[][] grid, Point playerStart, Point aiStart, Point exit) {
             this.grid = grid;
+            this.packedGrid = new PackedGrid(grid);
+            this.wallGrid = packedGrid;
+            this.playerStart = playerStart;
+            this.aiStart = aiStart;
+            this.exit = exit;
+        }
+        
+        /**
+         * Configuration without an int[][] copy; grid is null, and
+         * packedGrid is null too unless the layout is a PackedGrid
+         */
+        public MazeConfig(WallGrid wallGrid, Point playerStart, Point aiStart, Point exit) {
+            this.grid = null;
+            this.packedGrid = (wallGrid instanceof PackedGrid) ? (PackedGrid) wallGrid : null;
+            this.wallGrid = wallGrid;
             this.playerStart = playerStart;
             this.aiStart = aiStart;
             this.exit = exit;
@@ -0,0 +1,248 @@
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MAZE FILE - Compact binary maze format, opened memory-mapped
+ *
+ * Layout (little-endian):
+ *   0  int  magic "MAZE" (0x4D415A45)
+ *   4  int  version (1)
+ *   8  int  rows, cols
+ *  16  int  player row, col; AI row, col; exit row, col
+ *  40  ...  zero padding up to HEADER_BYTES
+ *  64  long wall plane: bit (i & 63) of word (i >>> 6) is set when cell
+ *           i = row * cols + col is a wall (same packing as PackedGrid)
+ *
+ * open() maps the file with FileChannel.map and reads straight from the
+ * mapping: nothing is copied, so opening costs the same for any size,
+ * and the OS pages in only the parts of the wall plane that are touched.
+ * Direction masks are derived from the four neighbor bits on demand.
+ * Files above 1 GiB are mapped in 1 GiB chunks.
+ */
+public class MazeFile implements WallGrid {
+    
+    private static final int MAGIC = 0x4D415A45;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int CHUNK_SHIFT = 30;
+    private static final int BLOCK_BYTES = 1 << 16;
+    
+    private final int rows;
+    private final int cols;
+    private final Point playerStart;
+    private final Point aiStart;
+    private final Point exit;
+    private final MappedByteBuffer[] chunks;
+    private final int wordsPerChunkShift;
+    private final int chunkMask;
+    
+    private MazeFile(int rows, int cols, Point playerStart, Point aiStart, Point exit,
+                     MappedByteBuffer[] chunks, int chunkShift) {
+        this.rows = rows;
+        this.cols = cols;
+        this.playerStart = playerStart;
+        this.aiStart = aiStart;
+        this.exit = exit;
+        this.chunks = chunks;
+        this.wordsPerChunkShift = chunkShift - 3;
+        this.chunkMask = (1 << chunkShift) - 1;
+    }
+    
+    // ========== OPEN ==========
+    
+    /**
+     * Map a maze file read-only; O(1) in the file size
+     */
+    public static MazeFile open(Path path) throws IOException {
+        return open(path, CHUNK_SHIFT);
+    }
+    
+    /**
+     * Map in chunks of 2^chunkShift bytes (3 .. 30); small chunks let
+     * MazeFileCheck cross chunk boundaries without gigabyte files
+     */
+    static MazeFile open(Path path, int chunkShift) throws IOException {
+        if (chunkShift < 3 || chunkShift > CHUNK_SHIFT) {
+            throw new IllegalArgumentException("Chunk shift out of range: " + chunkShift);
+        }
+        long chunkBytes = 1L << chunkShift;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not a maze file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported maze file version " + version + ": " + path);
+            }
+            int rows = header.getInt();
+            int cols = header.getInt();
+            Point player = new Point(header.getInt(), header.getInt());
+            Point ai = new Point(header.getInt(), header.getInt());
+            Point exit = new Point(header.getInt(), header.getInt());
+            
+            long planeBytes = planeBytes(rows, cols);
+            if (rows <= 0 || cols <= 0 || channel.size() < HEADER_BYTES + planeBytes) {
+                throw new IOException("Truncated maze file: " + path);
+            }
+            
+            // The mapping stays valid after the channel is closed
+            int chunkCount = (int) ((planeBytes + chunkBytes - 1) >>> chunkShift);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long offset = (long) i << chunkShift;
+                long length = Math.min(chunkBytes, planeBytes - offset);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset, length);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MazeFile(rows, cols, player, ai, exit, chunks, chunkShift);
+        }
+    }
+    
+    /**
+     * Start/exit placement from the header, over the mapped layout
+     */
+    public MazeConfigurations.MazeConfig toConfig() {
+        return new MazeConfigurations.MazeConfig(this, playerStart, aiStart, exit);
+    }
+    
+    // ========== WRITE ==========
+    
+    public static void write(Path path, MazeConfigurations.MazeConfig config) throws IOException {
+        write(path, config.wallGrid, config.playerStart, config.aiStart, config.exit);
+    }
+    
+    /**
+     * Write any WallGrid; streams the wall plane in 64 KiB blocks
+     */
+    public static void write(Path path, WallGrid grid, Point playerStart,
+                             Point aiStart, Point exit) throws IOException {
+        write(path, grid, playerStart, aiStart, exit, BLOCK_BYTES);
+    }
+    
+    /**
+     * Write with a blockBytes buffer (a positive multiple of 8)
+     */
+    static void write(Path path, WallGrid grid, Point playerStart, Point aiStart,
+                      Point exit, int blockBytes) throws IOException {
+        if (blockBytes <= 0 || blockBytes % 8 != 0) {
+            throw new IllegalArgumentException("Block size must be a positive multiple of 8: " + blockBytes);
+        }
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols)
+                  .putInt(playerStart.x).putInt(playerStart.y)
+                  .putInt(aiStart.x).putInt(aiStart.y)
+                  .putInt(exit.x).putInt(exit.y);
+            header.clear();
+            writeFully(channel, header);
+            
+            ByteBuffer block = ByteBuffer.allocate(blockBytes).order(ByteOrder.LITTLE_ENDIAN);
+            long cells = (long) rows * cols;
+            long word = 0;
+            int row = 0;
+            int col = 0;
+            for (long index = 0; index < cells; index++) {
+                if (grid.isWall(row, col)) {
+                    word |= 1L << index;
+                }
+                if (++col == cols) {
+                    col = 0;
+                    row++;
+                }
+                if ((index & 63) == 63 || index == cells - 1) {
+                    block.putLong(word);
+                    word = 0;
+                    if (!block.hasRemaining()) {
+                        block.flip();
+                        writeFully(channel, block);
+                        block.clear();
+                    }
+                }
+            }
+            block.flip();
+            writeFully(channel, block);
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    private static long planeBytes(int rows, int cols) {
+        return (((long) rows * cols + 63) >>> 6) << 3;
+    }
+    
+    // ========== WALL GRID ==========
+    
+    @Override public int getRows() { return rows; }
+    @Override public int getCols() { return cols; }
+    
+    @Override
+    public boolean isWall(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return true;
+        long index = (long) row * cols + col;
+        long word = index >>> 6;
+        long bits = chunks[(int) (word >>> wordsPerChunkShift)]
+            .getLong((int) (word << 3) & chunkMask);
+        return (bits & (1L << index)) != 0;
+    }
+    
+    @Override
+    public int getOpenMask(int row, int col) {
+        if (isWall(row, col)) return 0;
+        int mask = 0;
+        if (!isWall(row - 1, col)) mask |= PackedGrid.UP;
+        if (!isWall(row + 1, col)) mask |= PackedGrid.DOWN;
+        if (!isWall(row, col - 1)) mask |= PackedGrid.LEFT;
+        if (!isWall(row, col + 1)) mask |= PackedGrid.RIGHT;
+        return mask;
+    }
+    
+    public Point getPlayerStart() { return playerStart; }
+    public Point getAiStart() { return aiStart; }
+    public Point getExit() { return exit; }
+    
+    // ========== COMMAND LINE ==========
+    
+    /**
+     * Export a built-in or generated maze:
+     * java MazeFile out.maze easy|medium|hard
+     * java MazeFile out.maze rows cols [backtracker|kruskal|wilson|braided] [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java MazeFile <out.maze> <easy|medium|hard | rows cols [algorithm] [seed]>");
+            return;
+        }
+        MazeConfigurations.MazeConfig config;
+        if (args.length == 2) {
+            config = MazeConfigurations.getMaze(args[1]);
+        } else {
+            MazeGenerator.Algorithm algorithm = args.length > 3
+                ? MazeGenerator.Algorithm.valueOf(args[3].toUpperCase())
+                : MazeGenerator.Algorithm.BACKTRACKER;
+            long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+            config = MazeGenerator.generateConfig(Integer.parseInt(args[1]),
+                                                  Integer.parseInt(args[2]), algorithm, seed);
+        }
+        write(Path.of(args[0]), config);
+        System.out.println("Wrote " + args[0] + " (" + config.wallGrid.getRows() + "x" +
+                           config.wallGrid.getCols() + ")");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * MAZE FILE CHECK - Round-trip check for MazeFile
+ * Built-in mazes, generated ones whose cell count is not a multiple of
+ * 64, and random noise grids (open cells on the border too) are written
+ * and mapped back; header fields, every wall bit and every open mask
+ * must match the source. Real chunks are 1 GiB, so each file is also
+ * written through an 8- and 64-byte buffer and mapped in 8-, 64- and
+ * 1024-byte chunks: writes and reads then cross many block and chunk
+ * boundaries, including words split at the end of the plane.
+ *
+ * Usage: java MazeFileCheck
+ * Exits with status 1 on a failure.
+ */
+public class MazeFileCheck {
+    
+    private static final int[] BLOCK_BYTES = {8, 64, 1 << 16};
+    private static final int[] CHUNK_SHIFTS = {3, 6, 10, 30};
+    
+    public static void main(String[] args) throws IOException {
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty));
+        }
+        failures += check("generated 101x37 KRUSKAL",
+                          MazeGenerator.generateConfig(101, 37, MazeGenerator.Algorithm.KRUSKAL, 3));
+        failures += check("generated 513x257 BRAIDED",
+                          MazeGenerator.generateConfig(513, 257, MazeGenerator.Algorithm.BRAIDED, 5));
+        for (int[] size : new int[][] {{1, 1}, {1, 64}, {7, 9}, {64, 64}, {129, 65}}) {
+            failures += check("noise " + size[0] + "x" + size[1], noise(size[0], size[1]));
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, MazeConfigurations.MazeConfig config) throws IOException {
+        WallGrid source = config.wallGrid;
+        String problem = null;
+        int reads = 0;
+        Path file = Files.createTempFile("maze", ".maze");
+        try {
+            for (int blockBytes : BLOCK_BYTES) {
+                MazeFile.write(file, source, config.playerStart, config.aiStart, config.exit, blockBytes);
+                for (int chunkShift : CHUNK_SHIFTS) {
+                    problem = compare(config, MazeFile.open(file, chunkShift));
+                    reads++;
+                    if (problem != null) {
+                        problem = blockBytes + "-byte writes, " + (1L << chunkShift) + "-byte chunks: " + problem;
+                        break;
+                    }
+                }
+                if (problem != null) break;
+            }
+        } finally {
+            Files.delete(file);
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d cells, %d write/read combinations%n",
+                          name, (long) source.getRows() * source.getCols(), reads);
+        return 0;
+    }
+    
+    private static String compare(MazeConfigurations.MazeConfig config, MazeFile file) {
+        WallGrid source = config.wallGrid;
+        if (file.getRows() != source.getRows() || file.getCols() != source.getCols()) {
+            return "size " + file.getRows() + "x" + file.getCols();
+        }
+        if (!file.getPlayerStart().equals(config.playerStart) || !file.getAiStart().equals(config.aiStart) ||
+            !file.getExit().equals(config.exit)) {
+            return "start or exit positions differ";
+        }
+        for (int r = 0; r < source.getRows(); r++) {
+            for (int c = 0; c < source.getCols(); c++) {
+                if (file.isWall(r, c) != source.isWall(r, c)) return "wall differs at " + r + "," + c;
+                if (file.getOpenMask(r, c) != source.getOpenMask(r, c)) return "mask differs at " + r + "," + c;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Random walls, border included, so no bit pattern is special
+     */
+    private static MazeConfigurations.MazeConfig noise(int rows, int cols) {
+        SplittableRandom random = new SplittableRandom((long) rows * cols);
+        PackedGrid grid = new PackedGrid(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid.setWall(r, c, random.nextBoolean());
+            }
+        }
+        return new MazeConfigurations.MazeConfig(grid, new Point(0, 0), new Point(rows - 1, cols - 1),
+                                                 new Point(rows / 2, cols / 2));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+import java.awt.Point;
+import java.util.SplittableRandom;
+
+/**
+ * MAZE GENERATOR - Seeded procedural mazes of any size
+ * Cells sit on odd coordinates and the walls between them on the even
+ * ones, so a rows x cols grid holds ((rows-1)/2) x ((cols-1)/2) cells.
+ * Everything is iterative (explicit stacks and arrays, no recursion)
+ * and carves straight into a PackedGrid (5 bits per cell), so a
+ * 10^8-cell maze takes about 63 MB plus the algorithm's working arrays.
+ *
+ * Algorithms:
+ * - BACKTRACKER: randomized depth-first search; long winding corridors
+ * - KRUSKAL: random spanning tree by union-find over shuffled walls
+ * - WILSON: loop-erased random walks; uniform spanning tree, unbiased
+ * - BRAIDED: backtracker, then most dead ends are knocked through
+ *   (creates loops, so the AI can be outmaneuvered)
+ *
+ * Same seed, size and algorithm always give the same maze.
+ */
+public class MazeGenerator {
+    
+    public enum Algorithm { BACKTRACKER, KRUSKAL, WILSON, BRAIDED }
+    
+    /**
+     * Receives one maze row at a time (1 = wall); the array is reused
+     */
+    public interface RowSink {
+        void accept(int row, int[] cells);
+    }
+    
+    // Share of dead ends removed by BRAIDED
+    private static final double BRAID_FRACTION = 0.9;
+    
+    // Cell-space steps, indexed like PackedGrid directions: up, down, left, right
+    private static final int[] STEP_ROW = {-1, 1, 0, 0};
+    private static final int[] STEP_COL = {0, 0, -1, 1};
+    
+    private final PackedGrid grid;
+    private final int cellRows;
+    private final int cellCols;
+    private final SplittableRandom random;
+    
+    private MazeGenerator(int rows, int cols, long seed) {
+        if (rows < 3 || cols < 3 || rows % 2 == 0 || cols % 2 == 0) {
+            throw new IllegalArgumentException("Maze size must be odd and at least 3x3: " +
+                                               rows + "x" + cols);
+        }
+        this.grid = new PackedGrid(rows, cols);
+        this.cellRows = (rows - 1) / 2;
+        this.cellCols = (cols - 1) / 2;
+        this.random = new SplittableRandom(seed);
+    }
+    
+    // ========== PUBLIC API ==========
+    
+    /**
+     * Generate a perfect (or braided) maze; rows and cols must be odd
+     */
+    public static PackedGrid generate(int rows, int cols, Algorithm algorithm, long seed) {
+        MazeGenerator generator = new MazeGenerator(rows, cols, seed);
+        switch (algorithm) {
+            case KRUSKAL: generator.kruskal(); break;
+            case WILSON: generator.wilson(); break;
+            case BRAIDED: generator.backtracker(); generator.braid(); break;
+            case BACKTRACKER:
+            default: generator.backtracker(); break;
+        }
+        generator.grid.refreshMasks();
+        return generator.grid;
+    }
+    
+    /**
+     * Generated maze with the built-in layout convention:
+     * player top-left, exit bottom-left, AI bottom-right
+     */
+    public static MazeConfigurations.MazeConfig generateConfig(int rows, int cols,
+                                                              Algorithm algorithm, long seed) {
+        if (rows < 5 || cols < 5) {
+            throw new IllegalArgumentException("Need at least 5x5 to place player, AI and exit: " +
+                                               rows + "x" + cols);
+        }
+        PackedGrid grid = generate(rows, cols, algorithm, seed);
+        return new MazeConfigurations.MazeConfig(grid,
+            new Point(1, 1),
+            new Point(rows - 2, cols - 2),
+            new Point(rows - 2, 1));
+    }
+    
+    /**
+     * Hand the grid to sink row by row, for mazes too large for int[][]
+     * Memory: one int[cols] buffer
+     */
+    public static void streamRows(PackedGrid grid, RowSink sink) {
+        int[] cells = new int[grid.getCols()];
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = grid.isWall(r, c) ? 1 : 0;
+            }
+            sink.accept(r, cells);
+        }
+    }
+    
+    // ========== ALGORITHMS ==========
+    
+    /**
+     * Randomized depth-first search with an explicit stack
+     * Time Complexity: O(cells)
+     */
+    private void backtracker() {
+        int[] stack = new int[cellRows * cellCols];
+        int top = 0;
+        stack[top++] = 0;
+        open(0);
+        
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int direction = randomClosedNeighbor(cell);
+            if (direction < 0) {
+                top--;
+                continue;
+            }
+            int next = step(cell, direction);
+            connect(cell, direction);
+            open(next);
+            stack[top++] = next;
+        }
+    }
+    
+    /**
+     * Kruskal: shuffle all inner walls, remove those joining two sets
+     * Time Complexity: O(cells * α(cells))
+     */
+    private void kruskal() {
+        int cells = cellRows * cellCols;
+        int horizontal = cellRows * (cellCols - 1);
+        int[] edges = new int[horizontal + (cellRows - 1) * cellCols];
+        for (int i = 0; i < edges.length; i++) {
+            edges[i] = i;
+        }
+        for (int i = edges.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = edges[i];
+            edges[i] = edges[j];
+            edges[j] = swap;
+        }
+        
+        int[] parent = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            parent[i] = i;
+            open(i);
+        }
+        
+        for (int edge : edges) {
+            int cell;
+            int direction;
+            if (edge < horizontal) {
+                cell = (edge / (cellCols - 1)) * cellCols + edge % (cellCols - 1);
+                direction = 3;
+            } else {
+                cell = edge - horizontal;
+                direction = 1;
+            }
+            int a = find(parent, cell);
+            int b = find(parent, step(cell, direction));
+            if (a != b) {
+                parent[a] = b;
+                connect(cell, direction);
+            }
+        }
+    }
+    
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+    
+    /**
+     * Wilson: loop-erased random walks into the growing tree
+     * Each walk remembers only the last exit taken from every cell, which
+     * erases loops implicitly. Time Complexity: expected O(cells log cells)
+     */
+    private void wilson() {
+        int cells = cellRows * cellCols;
+        byte[] exit = new byte[cells];
+        open(random.nextInt(cells));
+        
+        for (int start = 0; start < cells; start++) {
+            if (isOpen(start)) continue;
+            
+            // Walk until the tree is hit, recording exits
+            int cell = start;
+            while (!isOpen(cell)) {
+                int direction = randomDirection(cell);
+                exit[cell] = (byte) direction;
+                cell = step(cell, direction);
+            }
+            
+            // Carve the loop-erased path into the tree
+            cell = start;
+            while (!isOpen(cell)) {
+                open(cell);
+                connect(cell, exit[cell]);
+                cell = step(cell, exit[cell]);
+            }
+        }
+    }
+    
+    /**
+     * Knock dead ends through to a neighbor, preferring other dead ends
+     */
+    private void braid() {
+        int cells = cellRows * cellCols;
+        int[] candidates = new int[4];
+        
+        for (int cell = 0; cell < cells; cell++) {
+            if (passages(cell) != 1 || random.nextDouble() >= BRAID_FRACTION) continue;
+            
+            int count = 0;
+            int deadEnds = 0;
+            for (int d = 0; d < 4; d++) {
+                if (!inBounds(cell, d) || isConnected(cell, d)) continue;
+                if (passages(step(cell, d)) == 1) {
+                    // Dead-end neighbors go first
+                    candidates[count++] = candidates[deadEnds];
+                    candidates[deadEnds++] = d;
+                } else {
+                    candidates[count++] = d;
+                }
+            }
+            if (count == 0) continue;
+            int pool = deadEnds > 0 ? deadEnds : count;
+            connect(cell, candidates[random.nextInt(pool)]);
+        }
+    }
+    
+    // ========== CELL HELPERS ==========
+    
+    private int gridRow(int cell) { return 2 * (cell / cellCols) + 1; }
+    private int gridCol(int cell) { return 2 * (cell % cellCols) + 1; }
+    
+    private boolean isOpen(int cell) {
+        return grid.isOpen(gridRow(cell), gridCol(cell));
+    }
+    
+    private void open(int cell) {
+        grid.carve(gridRow(cell), gridCol(cell));
+    }
+    
+    /**
+     * Remove the wall between cell and its neighbor in direction
+     */
+    private void connect(int cell, int direction) {
+        grid.carve(gridRow(cell) + STEP_ROW[direction], gridCol(cell) + STEP_COL[direction]);
+    }
+    
+    private boolean isConnected(int cell, int direction) {
+        return grid.isOpen(gridRow(cell) + STEP_ROW[direction], gridCol(cell) + STEP_COL[direction]);
+    }
+    
+    private int passages(int cell) {
+        int count = 0;
+        for (int d = 0; d < 4; d++) {
+            if (isConnected(cell, d)) count++;
+        }
+        return count;
+    }
+    
+    private boolean inBounds(int cell, int direction) {
+        int row = cell / cellCols + STEP_ROW[direction];
+        int col = cell % cellCols + STEP_COL[direction];
+        return row >= 0 && row < cellRows && col >= 0 && col < cellCols;
+    }
+    
+    private int step(int cell, int direction) {
+        return cell + STEP_ROW[direction] * cellCols + STEP_COL[direction];
+    }
+    
+    private int randomDirection(int cell) {
+        int direction;
+        do {
+            direction = random.nextInt(4);
+        } while (!inBounds(cell, direction));
+        return direction;
+    }
+    
+    /**
+     * Random in-bounds neighbor that is not yet carved, or -1
+     */
+    private int randomClosedNeighbor(int cell) {
+        int choice = -1;
+        int seen = 0;
+        for (int d = 0; d < 4; d++) {
+            if (inBounds(cell, d) && !isOpen(step(cell, d)) && random.nextInt(++seen) == 0) {
+                choice = d;
+            }
+        }
+        return choice;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+/**
+ * MAZE GENERATOR CHECK - Structural check for MazeGenerator
+ * Every algorithm, several sizes (square, thin, minimal) and seeds:
+ * - Layout: closed border, every cell (odd, odd) open, every pillar
+ *   (even, even) a wall
+ * - Connectivity: a BFS from the first cell reaches every open cell
+ * - Perfectness: BACKTRACKER, KRUSKAL and WILSON carve exactly
+ *   cells - 1 passages (a spanning tree, so one path between any two
+ *   cells); BRAIDED keeps its backtracker maze and adds loops to it
+ * - Determinism: the same seed gives the same maze, another seed a
+ *   different one
+ *
+ * Usage: java MazeGeneratorCheck
+ * Exits with status 1 on a failure.
+ */
+public class MazeGeneratorCheck {
+    
+    private static final int[][] SIZES = {{3, 3}, {5, 5}, {7, 15}, {21, 21}, {101, 101}, {255, 131}};
+    private static final int SEEDS = 4;
+    
+    public static void main(String[] args) {
+        int failures = 0;
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (int[] size : SIZES) {
+                failures += check(algorithm, size[0], size[1]);
+            }
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(MazeGenerator.Algorithm algorithm, int rows, int cols) {
+        String problem = null;
+        int cells = ((rows - 1) / 2) * ((cols - 1) / 2);
+        long passages = 0;
+        for (long seed = 1; seed <= SEEDS && problem == null; seed++) {
+            PackedGrid grid = MazeGenerator.generate(rows, cols, algorithm, seed);
+            problem = layoutProblem(grid);
+            if (problem == null) problem = connectivityProblem(grid);
+            
+            int carved = countOpen(grid) - cells;
+            passages += carved;
+            if (problem == null && algorithm != MazeGenerator.Algorithm.BRAIDED && carved != cells - 1) {
+                problem = carved + " passages for " + cells + " cells (a tree has " + (cells - 1) + ")";
+            }
+            if (problem == null && algorithm == MazeGenerator.Algorithm.BRAIDED) {
+                PackedGrid tree = MazeGenerator.generate(rows, cols, MazeGenerator.Algorithm.BACKTRACKER, seed);
+                if (!contains(grid, tree)) problem = "braiding closed a backtracker passage";
+            }
+            if (problem == null && !same(grid, MazeGenerator.generate(rows, cols, algorithm, seed))) {
+                problem = "same seed gave a different maze";
+            }
+            if (problem == null && cells > 16 &&
+                same(grid, MazeGenerator.generate(rows, cols, algorithm, seed + SEEDS))) {
+                problem = "seeds " + seed + " and " + (seed + SEEDS) + " gave the same maze";
+            }
+            if (problem != null) problem = "seed " + seed + ": " + problem;
+        }
+        if (problem == null && algorithm == MazeGenerator.Algorithm.BRAIDED && cells > 16 &&
+            passages <= (long) SEEDS * (cells - 1)) {
+            problem = "no loops added";
+        }
+        
+        String name = algorithm + " " + rows + "x" + cols;
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d seeds, %.1f passages per maze for %d cells%n",
+                          name, SEEDS, (double) passages / SEEDS, cells);
+        return 0;
+    }
+    
+    private static String layoutProblem(PackedGrid grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                boolean border = r == 0 || c == 0 || r == rows - 1 || c == cols - 1;
+                if (border && !grid.isWall(r, c)) return "border open at " + r + "," + c;
+                if (r % 2 == 1 && c % 2 == 1 && grid.isWall(r, c)) return "cell walled at " + r + "," + c;
+                if (r % 2 == 0 && c % 2 == 0 && !grid.isWall(r, c)) return "pillar open at " + r + "," + c;
+            }
+        }
+        return null;
+    }
+    
+    private static String connectivityProblem(PackedGrid grid) {
+        int[] distance = PathFinderCheck.referenceDistances(grid, grid.getCols() + 1);
+        for (int id = 0; id < distance.length; id++) {
+            int r = id / grid.getCols();
+            int c = id % grid.getCols();
+            if (!grid.isWall(r, c) && distance[id] == Integer.MAX_VALUE) {
+                return "open cell " + r + "," + c + " unreachable";
+            }
+        }
+        return null;
+    }
+    
+    private static int countOpen(PackedGrid grid) {
+        int open = 0;
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getCols(); c++) {
+                if (!grid.isWall(r, c)) open++;
+            }
+        }
+        return open;
+    }
+    
+    /**
+     * Every open cell of inner is open in outer
+     */
+    private static boolean contains(PackedGrid outer, PackedGrid inner) {
+        for (int r = 0; r < inner.getRows(); r++) {
+            for (int c = 0; c < inner.getCols(); c++) {
+                if (!inner.isWall(r, c) && outer.isWall(r, c)) return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean same(PackedGrid a, PackedGrid b) {
+        return contains(a, b) && contains(b, a);
+    }
+}
\ No newline at end of file
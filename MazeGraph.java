@@ -1,92 +1,286 @@
+import java.util.AbstractList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * MAZE GRAPH CLASS - Manages graph representation of the maze
- * Time Complexity: O(R × C) for construction
+ * Time Complexity: O(R × C) for construction, split into row bands
+ * across a fork-join pool when one is supplied
+ *
+ * Cells are identified by int ids (row * cols + col) and adjacency is kept
+ * in compressed sparse row form: the neighbors of cell i are
+ * neighborTargets[neighborOffsets[i] .. neighborOffsets[i + 1]).
+ * NODES storage additionally materializes one Node per cell;
+ * COMPACT storage keeps only the flat arrays and hands out Node views.
  */
 public class MazeGraph {
     
+    /**
+     * Backing store selection
+     */
+    public enum Storage { NODES, COMPACT }
+    
+    // Neighbor order: up, down, left, right (PackedGrid bit order)
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    
+    // Parallel construction: band sizing and phases
+    private static final int MIN_BAND_ROWS = 64;
+    private static final int BANDS_PER_THREAD = 4;
+    private static final int PHASE_COUNT = 0;
+    private static final int PHASE_FILL = 1;
+    private static final int PHASE_LINK = 2;
+    
     private final Node[][] nodes;
-    private final int[][] mazeGrid;
+    private final WallGrid grid;
     private final int rows;
     private final int cols;
+    private final Storage storage;
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    
+    // Rows are cut into bandCount bands; bandBase[b] is the first edge
+    // index of band b once the per-band degree counts are summed
+    private final int bandCount;
+    private final int[] bandBase;
     
     public MazeGraph(int[][] mazeGrid) {
-        this.mazeGrid = mazeGrid;
-        this.rows = mazeGrid.length;
-        this.cols = mazeGrid[0].length;
-        this.nodes = new Node[rows][cols];
+        this(new PackedGrid(mazeGrid), Storage.NODES);
+    }
+    
+    public MazeGraph(int[][] mazeGrid, Storage storage) {
+        this(new PackedGrid(mazeGrid), storage);
+    }
+    
+    public MazeGraph(WallGrid grid) {
+        this(grid, Storage.NODES);
+    }
+    
+    public MazeGraph(WallGrid grid, Storage storage) {
+        this(grid, storage, null);
+    }
+    
+    /**
+     * Build with row bands spread over pool (null builds on this thread)
+     * The grid must be safe for concurrent reads (PackedGrid and MazeFile
+     * are; TiledMazeGraph is not). The result is identical to the
+     * sequential build.
+     */
+    public MazeGraph(WallGrid grid, Storage storage, ForkJoinPool pool) {
+        if ((long) grid.getRows() * grid.getCols() >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large for int cell ids: " +
+                                               grid.getRows() + "x" + grid.getCols());
+        }
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.storage = storage;
+        this.neighborOffsets = new int[rows * cols + 1];
+        
+        int bands = 1;
+        if (pool != null) {
+            bands = Math.max(1, Math.min((rows + MIN_BAND_ROWS - 1) / MIN_BAND_ROWS,
+                                         pool.getParallelism() * BANDS_PER_THREAD));
+        }
+        this.bandCount = bands;
+        this.bandBase = new int[bands + 1];
+        
+        // Step 1: Count degrees, as offsets relative to each band's start
+        runBands(pool, PHASE_COUNT);
+        for (int b = 0; b < bands; b++) {
+            bandBase[b + 1] += bandBase[b];
+        }
+        this.neighborTargets = new int[bandBase[bands]];
+        this.nodes = (storage == Storage.NODES) ? new Node[rows][cols] : null;
+        
+        // Step 2: Rebase offsets, fill edges and create nodes
+        runBands(pool, PHASE_FILL);
         
-        buildGraph();
+        // Step 3: Link nodes (needs every band's nodes to exist)
+        if (nodes != null) {
+            runBands(pool, PHASE_LINK);
+        }
     }
     
     /**
-     * Build graph from maze grid
-     * Creates nodes and connects adjacent walkable cells
+     * Parallel build on the common fork-join pool
      */
-    private void buildGraph() {
-        // Step 1: Create all nodes
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                boolean isWall = (mazeGrid[r][c] == 1);
-                nodes[r][c] = new Node(r, c, isWall);
+    public static MazeGraph buildParallel(WallGrid grid, Storage storage) {
+        return new MazeGraph(grid, storage, ForkJoinPool.commonPool());
+    }
+    
+    // ========== CONSTRUCTION ==========
+    
+    private void runBands(ForkJoinPool pool, int phase) {
+        if (pool == null || bandCount == 1) {
+            for (int b = 0; b < bandCount; b++) {
+                runBand(phase, b);
             }
+        } else {
+            pool.invoke(new BandRange(phase, 0, bandCount));
         }
+    }
+    
+    private int bandStartRow(int band) {
+        return (int) ((long) rows * band / bandCount);
+    }
+    
+    /**
+     * One phase over rows [bandStartRow(band), bandStartRow(band + 1))
+     * Bands write disjoint offset, edge and node ranges, so no locking
+     * Time Complexity: O(band cells)
+     */
+    private void runBand(int phase, int band) {
+        int firstRow = bandStartRow(band);
+        int endRow = bandStartRow(band + 1);
         
-        // Step 2: Build adjacency lists (edges)
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-        
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Node currentNode = nodes[r][c];
-                
-                if (currentNode.isWall()) continue;
-                
-                for (int[] dir : directions) {
-                    int newRow = r + dir[0];
-                    int newCol = c + dir[1];
-                    
-                    if (isValidPosition(newRow, newCol)) {
-                        Node neighbor = nodes[newRow][newCol];
-                        
-                        if (!neighbor.isWall()) {
-                            currentNode.addNeighbor(neighbor);
+        if (phase == PHASE_COUNT) {
+            int edges = 0;
+            for (int r = firstRow; r < endRow; r++) {
+                for (int c = 0; c < cols; c++) {
+                    edges += Integer.bitCount(grid.getOpenMask(r, c));
+                    neighborOffsets[r * cols + c + 1] = edges;
+                }
+            }
+            bandBase[band + 1] = edges;
+        } else if (phase == PHASE_FILL) {
+            int base = bandBase[band];
+            int next = base;
+            for (int r = firstRow; r < endRow; r++) {
+                for (int c = 0; c < cols; c++) {
+                    neighborOffsets[r * cols + c + 1] += base;
+                    int mask = grid.getOpenMask(r, c);
+                    for (int d = 0; d < DIRECTIONS.length; d++) {
+                        if ((mask & (1 << d)) != 0) {
+                            neighborTargets[next++] = (r + DIRECTIONS[d][0]) * cols + c + DIRECTIONS[d][1];
                         }
                     }
+                    if (nodes != null) {
+                        nodes[r][c] = new Node(r, c, grid.isWall(r, c));
+                    }
+                }
+            }
+        } else {
+            for (int id = firstRow * cols; id < endRow * cols; id++) {
+                Node currentNode = nodes[id / cols][id % cols];
+                for (int e = neighborOffsets[id]; e < neighborOffsets[id + 1]; e++) {
+                    int target = neighborTargets[e];
+                    currentNode.addNeighbor(nodes[target / cols][target % cols]);
                 }
             }
         }
     }
     
+    /**
+     * Fork-join split over a range of bands
+     */
+    private class BandRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int phase;
+        private final int from;
+        private final int to;
+        
+        BandRange(int phase, int from, int to) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BandRange(phase, from, mid), new BandRange(phase, mid, to));
+                return;
+            }
+            runBand(phase, from);
+        }
+    }
+    
     private boolean isValidPosition(int row, int col) {
         return row >= 0 && row < rows && col >= 0 && col < cols;
     }
     
+    /**
+     * Returns the node at (row, col)
+     * In COMPACT mode a lightweight view is created on each call
+     */
     public Node getNode(int row, int col) {
         if (!isValidPosition(row, col)) return null;
-        return nodes[row][col];
-    }
-    
-    public void resetAllNodes() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (nodes[r][c] != null) {
-                    nodes[r][c].reset();
-                }
-            }
-        }
+        if (nodes != null) return nodes[row][col];
+        return new Node(row, col, grid.isWall(row, col),
+                        new NeighborView(row * cols + col));
     }
     
     public Node[] getAllWalkableNodes() {
         java.util.List<Node> walkableNodes = new java.util.ArrayList<>();
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                if (!nodes[r][c].isWall()) {
-                    walkableNodes.add(nodes[r][c]);
+                if (grid.isOpen(r, c)) {
+                    walkableNodes.add(getNode(r, c));
                 }
             }
         }
         return walkableNodes.toArray(new Node[0]);
     }
     
+    // ========== INT-ID ACCESS ==========
+    
+    public int getCellId(int row, int col) { return row * cols + col; }
+    public int getRowOf(int cellId) { return cellId / cols; }
+    public int getColOf(int cellId) { return cellId % cols; }
+    public int getCellCount() { return rows * cols; }
+    
+    public boolean isWall(int cellId) {
+        return grid.isWall(cellId / cols, cellId % cols);
+    }
+    
+    public int getDegree(int cellId) {
+        return neighborOffsets[cellId + 1] - neighborOffsets[cellId];
+    }
+    
+    /**
+     * CSR offsets, length getCellCount() + 1. Shared, do not modify.
+     */
+    public int[] getNeighborOffsets() { return neighborOffsets; }
+    
+    /**
+     * CSR edge targets as cell ids. Shared, do not modify.
+     */
+    public int[] getNeighborTargets() { return neighborTargets; }
+    
+    public WallGrid getGrid() { return grid; }
+    public Storage getStorage() { return storage; }
     public int getRows() { return rows; }
     public int getCols() { return cols; }
+    
+    /**
+     * Row bands the build was split into (1 for a sequential build)
+     */
+    int getBandCount() { return bandCount; }
+    
+    /**
+     * Read-only neighbor list backed by the CSR arrays
+     */
+    private class NeighborView extends AbstractList<Node> {
+        private final int cellId;
+        
+        NeighborView(int cellId) {
+            this.cellId = cellId;
+        }
+        
+        @Override
+        public Node get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Neighbor index: " + index);
+            }
+            int target = neighborTargets[neighborOffsets[cellId] + index];
+            return getNode(target / cols, target % cols);
+        }
+        
+        @Override
+        public int size() {
+            return getDegree(cellId);
+        }
+    }
 }
\ No newline at end of file
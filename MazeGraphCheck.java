@@ -0,0 +1,114 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * MAZE GRAPH CHECK - Parallel band build against the sequential build
+ * For NODES and COMPACT storage, on grids smaller than one band
+ * (MIN_BAND_ROWS = 64 rows), just over one band, and many bands tall,
+ * plus random noise with open border cells: the graph built on a
+ * 4-thread pool and on the common pool must have exactly the sequential
+ * build's getNeighborOffsets() and getNeighborTargets(), and every
+ * node's neighbor list in the same order.
+ *
+ * Usage: java MazeGraphCheck
+ * Exits with status 1 on a failure.
+ */
+public class MazeGraphCheck {
+    
+    private static final int POOL_THREADS = 4;
+    
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(POOL_THREADS);
+        int failures = 0;
+        failures += check("generated 31x31 (one band)",
+                          MazeGenerator.generate(31, 31, MazeGenerator.Algorithm.BACKTRACKER, 1), pool, 1);
+        failures += check("generated 63x201 (one band)",
+                          MazeGenerator.generate(63, 201, MazeGenerator.Algorithm.KRUSKAL, 2), pool, 1);
+        failures += check("generated 65x65 (two bands)",
+                          MazeGenerator.generate(65, 65, MazeGenerator.Algorithm.WILSON, 3), pool, 2);
+        failures += check("generated 1001x257",
+                          MazeGenerator.generate(1001, 257, MazeGenerator.Algorithm.BRAIDED, 4), pool, 4);
+        failures += check("generated 2001x5",
+                          MazeGenerator.generate(2001, 5, MazeGenerator.Algorithm.BACKTRACKER, 5), pool, 4);
+        failures += check("noise 700x300", noise(700, 300), pool, 4);
+        pool.shutdown();
+        if (failures > 0) System.exit(1);
+    }
+    
+    /**
+     * @param minBands bands the 4-thread build must use at least
+     */
+    private static int check(String name, PackedGrid grid, ForkJoinPool pool, int minBands) {
+        String problem = null;
+        int bands = 0;
+        for (MazeGraph.Storage storage : MazeGraph.Storage.values()) {
+            MazeGraph sequential = new MazeGraph(grid, storage);
+            MazeGraph[] parallel = {new MazeGraph(grid, storage, pool),
+                                    MazeGraph.buildParallel(grid, storage)};
+            bands = parallel[0].getBandCount();
+            if (sequential.getBandCount() != 1) {
+                problem = "sequential build used " + sequential.getBandCount() + " bands";
+            } else if (bands < minBands || (minBands == 1 && bands != 1)) {
+                problem = POOL_THREADS + "-thread build used " + bands + " bands, expected " +
+                          (minBands == 1 ? "1" : "at least " + minBands);
+            }
+            for (int i = 0; i < parallel.length && problem == null; i++) {
+                problem = difference(sequential, parallel[i]);
+                if (problem != null) problem = (i == 0 ? POOL_THREADS + "-thread pool" : "common pool") + ": " + problem;
+            }
+            if (problem != null) {
+                problem = storage + " " + problem;
+                break;
+            }
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: NODES and COMPACT identical, %d bands on %d threads%n",
+                          name, bands, POOL_THREADS);
+        return 0;
+    }
+    
+    private static String difference(MazeGraph expected, MazeGraph actual) {
+        if (!Arrays.equals(expected.getNeighborOffsets(), actual.getNeighborOffsets())) {
+            return "neighbor offsets differ";
+        }
+        if (!Arrays.equals(expected.getNeighborTargets(), actual.getNeighborTargets())) {
+            return "neighbor targets differ";
+        }
+        for (int r = 0; r < expected.getRows(); r++) {
+            for (int c = 0; c < expected.getCols(); c++) {
+                Node a = expected.getNode(r, c);
+                Node b = actual.getNode(r, c);
+                if (a.isWall() != b.isWall()) return "node " + r + "," + c + " wall flag differs";
+                List<Node> na = a.getNeighbors();
+                List<Node> nb = b.getNeighbors();
+                if (na.size() != nb.size()) return "node " + r + "," + c + " neighbor count differs";
+                for (int i = 0; i < na.size(); i++) {
+                    if (na.get(i).getRow() != nb.get(i).getRow() || na.get(i).getCol() != nb.get(i).getCol()) {
+                        return "node " + r + "," + c + " neighbor " + i + " differs";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Random walls, border included
+     */
+    private static PackedGrid noise(int rows, int cols) {
+        SplittableRandom random = new SplittableRandom((long) rows * cols);
+        PackedGrid grid = new PackedGrid(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid.setWall(r, c, random.nextInt(3) == 0);
+            }
+        }
+        return grid;
+    }
+}
\ No newline at end of file
@@ -1,20 +1,54 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * MAZE PANEL - Visual representation of the maze
+ * Walls, paths, grid lines and the exit never change during a game, so
+ * they are drawn once into a cached image (rebuilt when the view or
+ * maze changes). A paint is one image blit plus the player, AI and
+ * chasers. repaintActors() queues repaints of only the cells the actors
+ * left and entered, and a paint skips the actors outside its clip.
+ *
+ * Zoom and pan with the mouse (MazeViewport). The cached image is
+ * rasterized per pixel by DensityMipmap: cells when zoomed in, wall
+ * density when zoomed out past one pixel per cell, so a rebuild costs
+ * O(visible pixels) whatever the maze size. Small cells drop the grid
+ * lines and emoji; actors stay visible as markers.
  */
 class MazePanel extends JPanel {
     
-    private GameWindow parent;
+    private GameView parent;
     
     private static final Color WALL_COLOR = new Color(30, 41, 59);
     private static final Color PATH_COLOR = new Color(51, 65, 85);
     private static final Color PLAYER_COLOR = new Color(59, 130, 246);
     private static final Color AI_COLOR = new Color(239, 68, 68);
+    private static final Color CHASER_COLOR = new Color(185, 28, 28);
     private static final Color EXIT_COLOR = new Color(34, 197, 94);
     private static final Color GRID_LINE_COLOR = new Color(15, 23, 42);
     
+    // Level of detail thresholds (pixels per cell)
+    private static final int GRID_FROM = 4;
+    private static final int EMOJI_FROM = 12;
+    private static final int MIN_MARKER = 5;
+    
+    private final MazeViewport viewport = new MazeViewport(this);
+    private DensityMipmap mipmap;
+    
+    // Static layer and the view it was built for
+    private BufferedImage staticLayer;
+    private PackedGrid layerMaze;
+    private int layerVersion;
+    private Font emojiFont;
+    
+    // Actor cells as last painted, for dirty-cell repaints
+    private int paintedPlayer = -1;
+    private int paintedAi = -1;
+    private int[] paintedChasers = new int[0];
+    private int paintedChaserCount;
+    
     public MazePanel() {
         setBackground(new Color(15, 23, 42));
         setBorder(BorderFactory.createCompoundBorder(
@@ -23,71 +57,178 @@ class MazePanel extends JPanel {
         ));
     }
     
-    public void setParent(GameWindow parent) {
+    public void setParent(GameView parent) {
         this.parent = parent;
+        invalidateStaticLayer();
+    }
+    
+    /**
+     * Force the static layer to be redrawn (e.g. after wall changes)
+     */
+    public void invalidateStaticLayer() {
+        staticLayer = null;
     }
     
+    public MazeViewport getViewport() { return viewport; }
+    
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         
-        if (parent == null || parent.currentMaze == null) return;
+        if (parent == null || parent.getEngine() == null) return;
+        GameEngine engine = parent.getEngine();
+        SwarmAI swarm = engine.getSwarm();
+        
+        ensureStaticLayer();
         
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.clipRect(viewport.getAreaX(), viewport.getAreaY(),
+                     viewport.getAreaWidth(), viewport.getAreaHeight());
+        g2d.drawImage(staticLayer, viewport.getAreaX(), viewport.getAreaY(), null);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                             RenderingHints.VALUE_ANTIALIAS_ON);
         
-        int rows = parent.currentMaze.length;
-        int cols = parent.currentMaze[0].length;
+        // Actors in priority order: later ones win a shared cell
+        int cols = parent.getMaze().getCols();
+        paintedPlayer = engine.getPlayerRow() * cols + engine.getPlayerCol();
+        drawCell(g2d, paintedPlayer, PLAYER_COLOR, "👤", 0, 0);
         
-        int panelWidth = getWidth() - 20;
-        int panelHeight = getHeight() - 20;
-        int cellSize = Math.min(panelWidth / cols, panelHeight / rows);
+        paintedChaserCount = 0;
+        if (swarm != null) {
+            if (paintedChasers.length < swarm.getChaserCount()) {
+                paintedChasers = new int[swarm.getChaserCount()];
+            }
+            for (int i = 0; i < swarm.getChaserCount(); i++) {
+                int cell = swarm.getChaserCell(i);
+                paintedChasers[paintedChaserCount++] = cell;
+                drawCell(g2d, cell, CHASER_COLOR, "👾", 0, 0);
+            }
+        }
         
-        int offsetX = (panelWidth - cellSize * cols) / 2 + 10;
-        int offsetY = (panelHeight - cellSize * rows) / 2 + 10;
+        paintedAi = engine.getAiRow() * cols + engine.getAiCol();
+        drawCell(g2d, paintedAi, AI_COLOR, "🤖", 0, 0);
+        g2d.dispose();
+    }
+    
+    /**
+     * Queue repaints of the cells actors left or entered since the last
+     * paint; the RepaintManager coalesces them into one paint, which
+     * draws only the actors inside its clip
+     * Falls back to a full repaint when the view has changed
+     * Time Complexity: O(actors)
+     */
+    public void repaintActors() {
+        if (staticLayer == null || parent == null || parent.getEngine() == null ||
+            viewport.getVersion() != layerVersion ||
+            getWidth() - 20 != viewport.getAreaWidth() || getHeight() - 20 != viewport.getAreaHeight()) {
+            repaint();
+            return;
+        }
+        GameEngine engine = parent.getEngine();
+        SwarmAI swarm = engine.getSwarm();
+        int cols = parent.getMaze().getCols();
         
-        // Draw maze cells
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                int x = offsetX + c * cellSize;
-                int y = offsetY + r * cellSize;
-                
-                Color cellColor = PATH_COLOR;
-                String emoji = "";
-                
-                if (parent.currentMaze[r][c] == 1) {
-                    cellColor = WALL_COLOR;
-                } else if (r == parent.exitPos.x && c == parent.exitPos.y) {
-                    cellColor = EXIT_COLOR;
-                    emoji = "🏁";
-                }
-                
-                if (r == parent.playerPos.x && c == parent.playerPos.y) {
-                    cellColor = PLAYER_COLOR;
-                    emoji = "👤";
-                }
-                
-                if (r == parent.aiPos.x && c == parent.aiPos.y) {
-                    cellColor = AI_COLOR;
-                    emoji = "🤖";
-                }
-                
-                g2d.setColor(cellColor);
-                g2d.fillRect(x, y, cellSize, cellSize);
-                
-                g2d.setColor(GRID_LINE_COLOR);
-                g2d.drawRect(x, y, cellSize, cellSize);
-                
-                if (!emoji.isEmpty()) {
-                    g2d.setFont(new Font("Segoe UI Emoji", Font.PLAIN, cellSize * 2 / 3));
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int emojiX = x + (cellSize - fm.stringWidth(emoji)) / 2;
-                    int emojiY = y + ((cellSize - fm.getHeight()) / 2) + fm.getAscent();
-                    g2d.setColor(Color.WHITE);
-                    g2d.drawString(emoji, emojiX, emojiY);
-                }
+        repaintCell(paintedPlayer);
+        repaintCell(paintedAi);
+        for (int i = 0; i < paintedChaserCount; i++) {
+            repaintCell(paintedChasers[i]);
+        }
+        repaintCell(engine.getPlayerRow() * cols + engine.getPlayerCol());
+        repaintCell(engine.getAiRow() * cols + engine.getAiCol());
+        if (swarm != null) {
+            for (int i = 0; i < swarm.getChaserCount(); i++) {
+                repaintCell(swarm.getChaserCell(i));
             }
         }
     }
+    
+    private void repaintCell(int cell) {
+        if (cell < 0) return;
+        Rectangle bounds = cellBounds(cell, 0, 0);
+        repaint(bounds.x, bounds.y, bounds.width + 1, bounds.height + 1);
+    }
+    
+    // ========== STATIC LAYER ==========
+    
+    /**
+     * Rebuild the cached walls / paths / exit image if the view or maze changed
+     * Time Complexity: O(visible pixels), only on a rebuild
+     */
+    private void ensureStaticLayer() {
+        PackedGrid maze = parent.getMaze();
+        viewport.layout(10, 10, getWidth() - 20, getHeight() - 20, maze.getRows(), maze.getCols());
+        if (staticLayer != null && maze == layerMaze && viewport.getVersion() == layerVersion) {
+            return;
+        }
+        layerMaze = maze;
+        layerVersion = viewport.getVersion();
+        if (mipmap == null || mipmap.getGrid() != maze) {
+            mipmap = new DensityMipmap(maze);
+        }
+        
+        int width = viewport.getAreaWidth();
+        int height = viewport.getAreaHeight();
+        if (staticLayer == null || staticLayer.getWidth() != width || staticLayer.getHeight() != height) {
+            staticLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        int[] pixels = ((DataBufferInt) staticLayer.getRaster().getDataBuffer()).getData();
+        java.util.Arrays.fill(pixels, getBackground().getRGB());
+        mipmap.render(pixels, width, height, viewport, WALL_COLOR.getRGB(), PATH_COLOR.getRGB(),
+                      GRID_LINE_COLOR.getRGB(), GRID_FROM);
+        
+        int cellSize = viewport.getCellSpan();
+        emojiFont = new Font("Segoe UI Emoji", Font.PLAIN, Math.max(1, cellSize * 2 / 3));
+        
+        Graphics2D g2d = staticLayer.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                            RenderingHints.VALUE_ANTIALIAS_ON);
+        GameEngine engine = parent.getEngine();
+        drawCell(g2d, engine.getExitRow() * maze.getCols() + engine.getExitCol(), EXIT_COLOR, "🏁",
+                 -viewport.getAreaX(), -viewport.getAreaY());
+        g2d.dispose();
+    }
+    
+    // ========== CELLS ==========
+    
+    /**
+     * Screen box of a cell, or of its marker when cells are too small to see
+     */
+    private Rectangle cellBounds(int cell, int shiftX, int shiftY) {
+        int cols = parent.getMaze().getCols();
+        int cellSize = viewport.getCellSpan();
+        int x = viewport.cellX(cell % cols) + shiftX;
+        int y = viewport.cellY(cell / cols) + shiftY;
+        if (cellSize >= MIN_MARKER) return new Rectangle(x, y, cellSize, cellSize);
+        
+        int inset = (MIN_MARKER - cellSize) / 2;
+        return new Rectangle(x - inset, y - inset, MIN_MARKER, MIN_MARKER);
+    }
+    
+    /**
+     * One cell: fill, grid border and centered emoji, as far as the zoom
+     * allows; nothing if the cell is outside the clip
+     */
+    private void drawCell(Graphics2D g2d, int cell, Color color, String emoji,
+                          int shiftX, int shiftY) {
+        Rectangle bounds = cellBounds(cell, shiftX, shiftY);
+        int cellSize = bounds.width;
+        if (!g2d.hitClip(bounds.x, bounds.y, cellSize + 1, cellSize + 1)) return;
+        
+        g2d.setColor(color);
+        g2d.fillRect(bounds.x, bounds.y, cellSize, cellSize);
+        
+        if (viewport.getCellSpan() >= GRID_FROM) {
+            g2d.setColor(GRID_LINE_COLOR);
+            g2d.drawRect(bounds.x, bounds.y, cellSize, cellSize);
+        }
+        
+        if (viewport.getCellSpan() >= EMOJI_FROM) {
+            g2d.setFont(emojiFont);
+            FontMetrics fm = g2d.getFontMetrics();
+            int emojiX = bounds.x + (cellSize - fm.stringWidth(emoji)) / 2;
+            int emojiY = bounds.y + ((cellSize - fm.getHeight()) / 2) + fm.getAscent();
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(emoji, emojiX, emojiY);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+
+/**
+ * MAZE VIEWPORT - Zoom and pan state shared by the maze views
+ * Zoom is either a whole number of pixels per cell, or (zoomed out
+ * past one pixel per cell) a shrink level k with 2^k × 2^k cells per
+ * pixel, matching DensityMipmap's levels. Pan is in world pixels: the
+ * world pixel at the left / top edge of the drawing area.
+ *
+ * Until the user zooms or pans, the view fits the whole maze and refits
+ * on resize. Mouse wheel zooms around the cursor, dragging pans and a
+ * double click goes back to fitting.
+ */
+class MazeViewport extends MouseAdapter {
+    
+    private static final int MAX_PIXELS_PER_CELL = 64;
+    
+    private final JComponent panel;
+    
+    // Drawing area in panel coordinates and the maze it shows
+    private int areaX;
+    private int areaY;
+    private int areaWidth;
+    private int areaHeight;
+    private int rows;
+    private int cols;
+    
+    private int pixelsPerCell = 1;
+    private int shrink;
+    private int panX;
+    private int panY;
+    private boolean fitted = true;
+    private int version;
+    
+    private Point dragStart;
+    
+    MazeViewport(JComponent panel) {
+        this.panel = panel;
+        panel.addMouseListener(this);
+        panel.addMouseMotionListener(this);
+        panel.addMouseWheelListener(this);
+    }
+    
+    /**
+     * Set the drawing area and maze size before each paint; refits when
+     * the user has not taken over. Bumps the version on any change.
+     */
+    public void layout(int x, int y, int width, int height, int mazeRows, int mazeCols) {
+        if (x == areaX && y == areaY && width == areaWidth && height == areaHeight &&
+            mazeRows == rows && mazeCols == cols) {
+            return;
+        }
+        areaX = x;
+        areaY = y;
+        areaWidth = Math.max(1, width);
+        areaHeight = Math.max(1, height);
+        rows = mazeRows;
+        cols = mazeCols;
+        if (fitted) fit();
+        clampPan();
+        version++;
+    }
+    
+    /**
+     * Largest zoom that shows the whole maze, centered
+     */
+    private void fit() {
+        shrink = 0;
+        pixelsPerCell = Math.max(1, Math.min(areaWidth / cols, areaHeight / rows));
+        while (((cols - 1) >> shrink) + 1 > areaWidth || ((rows - 1) >> shrink) + 1 > areaHeight) {
+            shrink++;
+        }
+        panX = 0;
+        panY = 0;
+    }
+    
+    /**
+     * Center the world when it is smaller than the area, else keep the
+     * area inside it
+     */
+    private void clampPan() {
+        panX = clampAxis(panX, getWorldWidth(), areaWidth);
+        panY = clampAxis(panY, getWorldHeight(), areaHeight);
+    }
+    
+    private static int clampAxis(int pan, int world, int area) {
+        if (world <= area) return -(area - world) / 2;
+        return Math.max(0, Math.min(pan, world - area));
+    }
+    
+    // ========== MAPPING ==========
+    
+    public int getPixelsPerCell() { return pixelsPerCell; }
+    public int getShrink() { return shrink; }
+    public int getPanX() { return panX; }
+    public int getPanY() { return panY; }
+    public int getAreaX() { return areaX; }
+    public int getAreaY() { return areaY; }
+    public int getAreaWidth() { return areaWidth; }
+    public int getAreaHeight() { return areaHeight; }
+    
+    /**
+     * Changes whenever the zoom, pan or area does; caches key on it
+     */
+    public int getVersion() { return version; }
+    
+    public int getWorldWidth() {
+        return shrink > 0 ? ((cols - 1) >> shrink) + 1 : cols * pixelsPerCell;
+    }
+    
+    public int getWorldHeight() {
+        return shrink > 0 ? ((rows - 1) >> shrink) + 1 : rows * pixelsPerCell;
+    }
+    
+    /**
+     * On-screen size of a cell: pixelsPerCell, or 1 when zoomed out
+     */
+    public int getCellSpan() { return shrink > 0 ? 1 : pixelsPerCell; }
+    
+    /** Panel x of the cell column's left edge */
+    public int cellX(int col) {
+        return areaX - panX + (shrink > 0 ? col >> shrink : col * pixelsPerCell);
+    }
+    
+    /** Panel y of the cell row's top edge */
+    public int cellY(int row) {
+        return areaY - panY + (shrink > 0 ? row >> shrink : row * pixelsPerCell);
+    }
+    
+    /** Cell column under panel x (may be out of range) */
+    public int colAt(int x) {
+        int world = x - areaX + panX;
+        return shrink > 0 ? world << shrink : Math.floorDiv(world, pixelsPerCell);
+    }
+    
+    /** Cell row under panel y (may be out of range) */
+    public int rowAt(int y) {
+        int world = y - areaY + panY;
+        return shrink > 0 ? world << shrink : Math.floorDiv(world, pixelsPerCell);
+    }
+    
+    public int getFirstVisibleCol() { return Math.max(0, colAt(areaX)); }
+    public int getFirstVisibleRow() { return Math.max(0, rowAt(areaY)); }
+    
+    public int getLastVisibleCol() {
+        return Math.min(cols - 1, colAt(areaX + areaWidth - 1) + (1 << shrink) - 1);
+    }
+    
+    public int getLastVisibleRow() {
+        return Math.min(rows - 1, rowAt(areaY + areaHeight - 1) + (1 << shrink) - 1);
+    }
+    
+    // ========== ZOOM AND PAN ==========
+    
+    /**
+     * One zoom step in (steps > 0) or out, keeping the cell under
+     * (anchorX, anchorY) in place
+     */
+    public void zoom(int steps, int anchorX, int anchorY) {
+        // Anchor in cells (fractional), so it can be put back after the zoom
+        double cellX = (anchorX - areaX + panX) * cellsPerPixel();
+        double cellY = (anchorY - areaY + panY) * cellsPerPixel();
+        
+        int maxShrink = 0;
+        while ((1 << maxShrink) < Math.max(rows, cols)) maxShrink++;
+        int maxPixels = Math.max(MAX_PIXELS_PER_CELL, pixelsPerCell);
+        for (int i = 0; i < Math.abs(steps); i++) {
+            if (steps > 0) {
+                if (shrink > 0) shrink--;
+                else pixelsPerCell = Math.min(maxPixels, Math.max(pixelsPerCell + 1, pixelsPerCell * 5 / 4));
+            } else {
+                if (pixelsPerCell > 1) pixelsPerCell = Math.max(1, Math.min(pixelsPerCell - 1, pixelsPerCell * 4 / 5));
+                else shrink = Math.min(maxShrink, shrink + 1);
+            }
+        }
+        
+        panX = (int) Math.round(cellX / cellsPerPixel()) - (anchorX - areaX);
+        panY = (int) Math.round(cellY / cellsPerPixel()) - (anchorY - areaY);
+        fitted = false;
+        changed();
+    }
+    
+    public void pan(int dx, int dy) {
+        panX -= dx;
+        panY -= dy;
+        fitted = false;
+        changed();
+    }
+    
+    /**
+     * Back to showing the whole maze
+     */
+    public void reset() {
+        fitted = true;
+        fit();
+        changed();
+    }
+    
+    private double cellsPerPixel() {
+        return shrink > 0 ? (1 << shrink) : 1.0 / pixelsPerCell;
+    }
+    
+    private void changed() {
+        clampPan();
+        version++;
+        panel.repaint();
+    }
+    
+    // ========== MOUSE ==========
+    
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        zoom(-e.getWheelRotation(), e.getX(), e.getY());
+    }
+    
+    @Override
+    public void mousePressed(MouseEvent e) {
+        dragStart = e.getPoint();
+    }
+    
+    @Override
+    public void mouseDragged(MouseEvent e) {
+        if (dragStart == null) return;
+        pan(e.getX() - dragStart.x, e.getY() - dragStart.y);
+        dragStart = e.getPoint();
+    }
+    
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        dragStart = null;
+    }
+    
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        if (e.getClickCount() == 2) reset();
+    }
+}
\ No newline at end of file
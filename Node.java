@@ -1,8 +1,12 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * NODE CLASS - Represents a single cell in the maze graph
+ * Immutable once the graph is built: search state (visited marks,
+ * costs) lives in SearchScratch, so one graph can be shared by any
+ * number of searches and threads.
  */
 public class Node {
     
@@ -10,16 +14,26 @@ public class Node {
     private final int col;
     private final boolean isWall;
     private final List<Node> neighbors;
-    private double heuristicCost;
-    private boolean visited;
+    private final List<Node> neighborsView;
     
     public Node(int row, int col, boolean isWall) {
         this.row = row;
         this.col = col;
         this.isWall = isWall;
         this.neighbors = new ArrayList<>();
-        this.visited = false;
-        this.heuristicCost = Double.MAX_VALUE;
+        this.neighborsView = Collections.unmodifiableList(neighbors);
+    }
+    
+    /**
+     * View constructor used by compact graphs
+     * Neighbors are resolved lazily through the supplied list
+     */
+    Node(int row, int col, boolean isWall, List<Node> neighbors) {
+        this.row = row;
+        this.col = col;
+        this.isWall = isWall;
+        this.neighbors = neighbors;
+        this.neighborsView = neighbors;
     }
     
     /**
@@ -27,32 +41,23 @@ public class Node {
      * Formula: |x₁ - x₂| + |y₁ - y₂|
      */
     public int calculateManhattanDistance(Node target) {
-        this.heuristicCost = Math.abs(this.row - target.row) + 
-                             Math.abs(this.col - target.col);
-        return (int) this.heuristicCost;
-    }
-    
-    public void addNeighbor(Node neighbor) {
-        if (!neighbors.contains(neighbor)) {
-            neighbors.add(neighbor);
-        }
+        return Math.abs(this.row - target.row) + 
+               Math.abs(this.col - target.col);
     }
     
-    public void reset() {
-        this.visited = false;
-        this.heuristicCost = Double.MAX_VALUE;
+    /**
+     * Only MazeGraph links nodes, while the graph is being built
+     * No duplicate check: the CSR arrays hold each edge exactly once
+     */
+    void addNeighbor(Node neighbor) {
+        neighbors.add(neighbor);
     }
     
     // Getters
     public int getRow() { return row; }
     public int getCol() { return col; }
     public boolean isWall() { return isWall; }
-    public List<Node> getNeighbors() { return neighbors; }
-    public double getHeuristicCost() { return heuristicCost; }
-    public boolean isVisited() { return visited; }
-    
-    // Setters
-    public void setVisited(boolean visited) { this.visited = visited; }
+    public List<Node> getNeighbors() { return neighborsView; }
     
     @Override
     public boolean equals(Object obj) {
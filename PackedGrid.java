@@ -0,0 +1,152 @@
+/**
+ * PACKED GRID - Bit-packed maze layout
+ * One bit per cell for walls plus a 4-bit open-direction mask per cell
+ * (two masks per byte), so neighbor checks become bit tests.
+ * Memory: 5 bits per cell instead of a 32-bit int
+ */
+public class PackedGrid implements WallGrid {
+    
+    // Direction bits, in the same order MazeGraph lists neighbors
+    public static final int UP = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 4;
+    public static final int RIGHT = 8;
+    
+    private final int rows;
+    private final int cols;
+    private final long[] walls;
+    private final byte[] masks;
+    
+    /**
+     * Create a grid of the given size with every cell a wall
+     */
+    public PackedGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        int cells = rows * cols;
+        this.walls = new long[(cells + 63) >>> 6];
+        this.masks = new byte[(cells + 1) >>> 1];
+        java.util.Arrays.fill(walls, -1L);
+    }
+    
+    /**
+     * Pack a 0/1 grid (1 = wall)
+     */
+    public PackedGrid(int[][] grid) {
+        this(grid.length, grid[0].length);
+        
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (grid[r][c] != 1) {
+                    clearWallBit(r * cols + c);
+                }
+            }
+        }
+        refreshMasks();
+    }
+    
+    // ========== QUERIES ==========
+    
+    /**
+     * Out-of-bounds cells count as walls
+     */
+    @Override
+    public boolean isWall(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return true;
+        int index = row * cols + col;
+        return (walls[index >>> 6] & (1L << index)) != 0;
+    }
+    
+    @Override
+    public boolean isOpen(int row, int col) {
+        return !isWall(row, col);
+    }
+    
+    /**
+     * Open directions out of (row, col) as UP | DOWN | LEFT | RIGHT bits
+     */
+    @Override
+    public int getOpenMask(int row, int col) {
+        int index = row * cols + col;
+        return (masks[index >>> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+    
+    @Override
+    public boolean canMove(int row, int col, int direction) {
+        return (getOpenMask(row, col) & direction) != 0;
+    }
+    
+    @Override public int getRows() { return rows; }
+    @Override public int getCols() { return cols; }
+    
+    // ========== UPDATES ==========
+    
+    /**
+     * Change a single cell and keep the masks around it consistent
+     * Only this grid is updated: a MazeGraph built from it keeps its old
+     * CSR arrays and Node neighbor lists, so rebuild the graph (and tell
+     * IncrementalPlanner / HierarchicalPlanner via cellChanged()) afterwards
+     */
+    public void setWall(int row, int col, boolean wall) {
+        int index = row * cols + col;
+        if (wall) {
+            walls[index >>> 6] |= 1L << index;
+        } else {
+            clearWallBit(index);
+        }
+        refreshMask(row, col);
+        if (row > 0) refreshMask(row - 1, col);
+        if (row < rows - 1) refreshMask(row + 1, col);
+        if (col > 0) refreshMask(row, col - 1);
+        if (col < cols - 1) refreshMask(row, col + 1);
+    }
+    
+    /**
+     * Bulk carving: open a cell without refreshing masks
+     * Call refreshMasks() once when done
+     */
+    void carve(int row, int col) {
+        clearWallBit(row * cols + col);
+    }
+    
+    /**
+     * Recompute every direction mask from the wall bits
+     */
+    void refreshMasks() {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                refreshMask(r, c);
+            }
+        }
+    }
+    
+    public int[][] toArray() {
+        int[][] grid = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid[r][c] = isWall(r, c) ? 1 : 0;
+            }
+        }
+        return grid;
+    }
+    
+    private void clearWallBit(int index) {
+        walls[index >>> 6] &= ~(1L << index);
+    }
+    
+    private void refreshMask(int row, int col) {
+        int mask = 0;
+        if (!isWall(row, col)) {
+            if (!isWall(row - 1, col)) mask |= UP;
+            if (!isWall(row + 1, col)) mask |= DOWN;
+            if (!isWall(row, col - 1)) mask |= LEFT;
+            if (!isWall(row, col + 1)) mask |= RIGHT;
+        }
+        int index = row * cols + col;
+        int shift = (index & 1) << 2;
+        masks[index >>> 1] = (byte) ((masks[index >>> 1] & ~(0xF << shift)) | (mask << shift));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+/**
+ * PATH FINDER - Full-path planning over MazeGraph
+ * BFS, A* and bidirectional A* on int cell ids and the CSR adjacency.
+ *
+ * All per-search state (g-scores, parents, open/closed marks) lives in
+ * SearchScratch arrays that are allocated once and reused, so the graph
+ * is only read. Not thread-safe; use one PathFinder per thread.
+ */
+public class PathFinder {
+    
+    /**
+     * Search outcome: the path as cell ids (start..goal) plus effort
+     */
+    public static class Result {
+        public final int[] path;
+        public final int expanded;
+        // Steps from start to goal; more than length() when path is only
+        // the first leg of the route (HierarchicalPlanner)
+        public final int cost;
+        
+        public Result(int[] path, int expanded) {
+            this(path, expanded, path == null ? -1 : path.length - 1);
+        }
+        
+        public Result(int[] path, int expanded, int cost) {
+            this.path = path;
+            this.expanded = expanded;
+            this.cost = cost;
+        }
+        
+        public boolean found() { return path != null; }
+        public int length() { return path == null ? -1 : path.length - 1; }
+    }
+    
+    private final MazeGraph graph;
+    private final int cols;
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    
+    // Forward search state
+    private final SearchScratch scratch;
+    private final IntMinHeap open;
+    
+    // Reverse search state, allocated on first bidirectional query
+    private SearchScratch scratchReverse;
+    private IntMinHeap openReverse;
+    
+    private int[] queue;
+    
+    // Optional precomputed distances used as the A* heuristic
+    private DistanceOracle oracle;
+    
+    public PathFinder(MazeGraph graph) {
+        this.graph = graph;
+        this.cols = graph.getCols();
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        this.scratch = new SearchScratch(graph.getCellCount());
+        this.open = new IntMinHeap(1024);
+    }
+    
+    // ========== BFS ==========
+    
+    /**
+     * Breadth-first search; optimal on the unit-cost maze
+     */
+    public Result bfs(int start, int goal) {
+        if (queue == null) queue = new int[graph.getCellCount()];
+        scratch.begin();
+        
+        int head = 0;
+        int tail = 0;
+        scratch.open(start, 0, -1);
+        queue[tail++] = start;
+        int expanded = 0;
+        
+        while (head < tail) {
+            int cell = queue[head++];
+            expanded++;
+            if (cell == goal) {
+                return new Result(scratch.pathTo(goal), expanded);
+            }
+            int nextG = scratch.getG(cell) + 1;
+            for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                int neighbor = neighborTargets[e];
+                if (scratch.isUnseen(neighbor)) {
+                    scratch.open(neighbor, nextG, cell);
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return new Result(null, expanded);
+    }
+    
+    // ========== A* ==========
+    
+    /**
+     * A* with the Manhattan heuristic (consistent on a 4-connected grid)
+     */
+    public Result aStar(int start, int goal) {
+        scratch.begin();
+        open.clear();
+        
+        scratch.open(start, 0, -1);
+        open.push(heuristic(start, goal), start);
+        int expanded = 0;
+        
+        while (!open.isEmpty()) {
+            int f = open.peekKey();
+            int cell = open.pop();
+            if (scratch.isClosed(cell) || f != scratch.getG(cell) + heuristic(cell, goal)) {
+                continue;
+            }
+            scratch.close(cell);
+            expanded++;
+            if (cell == goal) {
+                return new Result(scratch.pathTo(goal), expanded);
+            }
+            
+            int nextG = scratch.getG(cell) + 1;
+            for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                int neighbor = neighborTargets[e];
+                if (scratch.isUnseen(neighbor) ||
+                    (scratch.isOpen(neighbor) && nextG < scratch.getG(neighbor))) {
+                    scratch.open(neighbor, nextG, cell);
+                    open.push(nextG + heuristic(neighbor, goal), neighbor);
+                }
+            }
+        }
+        return new Result(null, expanded);
+    }
+    
+    // ========== BIDIRECTIONAL A* ==========
+    
+    /**
+     * Bidirectional A* with averaged potentials
+     * Both searches use p(v) = (h_goal(v) - h_start(v)) / 2, which keeps the
+     * reduced edge costs non-negative and identical in both directions, so
+     * the bidirectional Dijkstra stopping rule applies: stop once
+     * topForward + topReverse >= best path found. Keys are doubled to stay
+     * in integers.
+     */
+    public Result bidirectionalAStar(int start, int goal) {
+        if (scratchReverse == null) {
+            scratchReverse = new SearchScratch(graph.getCellCount());
+            openReverse = new IntMinHeap(1024);
+        }
+        if (start == goal) return new Result(new int[] {start}, 0);
+        
+        scratch.begin();
+        scratchReverse.begin();
+        open.clear();
+        openReverse.clear();
+        
+        scratch.open(start, 0, -1);
+        open.push(forwardKey(start, 0, start, goal), start);
+        
+        scratchReverse.open(goal, 0, -1);
+        openReverse.push(reverseKey(goal, 0, start, goal), goal);
+        
+        int best = Integer.MAX_VALUE;
+        int meet = -1;
+        int expanded = 0;
+        
+        while (!open.isEmpty() && !openReverse.isEmpty()) {
+            if (best != Integer.MAX_VALUE &&
+                (long) open.peekKey() + openReverse.peekKey() >= 2L * best) {
+                break;
+            }
+            
+            boolean forward = open.peekKey() <= openReverse.peekKey();
+            IntMinHeap heap = forward ? open : openReverse;
+            SearchScratch side = forward ? scratch : scratchReverse;
+            SearchScratch other = forward ? scratchReverse : scratch;
+            
+            int key = heap.peekKey();
+            int cell = heap.pop();
+            int expectedKey = forward ? forwardKey(cell, side.getG(cell), start, goal)
+                                      : reverseKey(cell, side.getG(cell), start, goal);
+            if (side.isClosed(cell) || key != expectedKey) continue;
+            side.close(cell);
+            expanded++;
+            
+            int nextG = side.getG(cell) + 1;
+            for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+                int neighbor = neighborTargets[e];
+                if (side.isUnseen(neighbor) ||
+                    (side.isOpen(neighbor) && nextG < side.getG(neighbor))) {
+                    side.open(neighbor, nextG, cell);
+                    heap.push(forward ? forwardKey(neighbor, nextG, start, goal)
+                                      : reverseKey(neighbor, nextG, start, goal), neighbor);
+                }
+                if (!other.isUnseen(neighbor) && nextG + other.getG(neighbor) < best) {
+                    best = nextG + other.getG(neighbor);
+                    meet = neighbor;
+                }
+            }
+        }
+        
+        if (meet < 0) return new Result(null, expanded);
+        
+        int[] path = new int[scratch.getG(meet) + scratchReverse.getG(meet) + 1];
+        int index = scratch.getG(meet);
+        for (int cell = meet; cell != -1; cell = scratch.getParent(cell)) {
+            path[index--] = cell;
+        }
+        index = scratch.getG(meet);
+        for (int cell = scratchReverse.getParent(meet); cell != -1;
+             cell = scratchReverse.getParent(cell)) {
+            path[++index] = cell;
+        }
+        return new Result(path, expanded);
+    }
+    
+    // ========== HELPERS ==========
+    
+    public int manhattan(int from, int to) {
+        return Math.abs(from / cols - to / cols) + Math.abs(from % cols - to % cols);
+    }
+    
+    /**
+     * Manhattan, tightened by the oracle's lower bound when one is set
+     * The max of two consistent heuristics stays consistent; unreachable
+     * is capped at the cell count so keys cannot overflow
+     */
+    private int heuristic(int from, int to) {
+        int h = manhattan(from, to);
+        if (oracle != null) {
+            h = Math.max(h, Math.min(oracle.lowerBound(from, to), graph.getCellCount()));
+        }
+        return h;
+    }
+    
+    private int forwardKey(int cell, int g, int start, int goal) {
+        return 2 * g + heuristic(cell, goal) - heuristic(cell, start);
+    }
+    
+    private int reverseKey(int cell, int g, int start, int goal) {
+        return 2 * g + heuristic(cell, start) - heuristic(cell, goal);
+    }
+    
+    /**
+     * Use precomputed distances as the heuristic (null for Manhattan)
+     * With an all-pairs oracle A* expands only cells on a shortest path
+     */
+    public void setOracle(DistanceOracle oracle) {
+        this.oracle = oracle;
+    }
+    
+    public MazeGraph getGraph() {
+        return graph;
+    }
+}
\ No newline at end of file
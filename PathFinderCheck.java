@@ -0,0 +1,141 @@
+import java.util.SplittableRandom;
+
+/**
+ * PATH FINDER CHECK - Reference check for the full-path planners
+ * Random start / goal pairs on the built-in mazes and generated ones
+ * (every generator algorithm). Each planner's path must be valid (starts
+ * and ends right, every step is an open move) and exactly as long as a
+ * plain BFS over the wall grid; unreachable goals must give no path.
+ *
+ * Planners: PathFinder BFS, A*, bidirectional A*, JumpPointSearch and
+ * IncrementalPlanner (D* Lite).
+ *
+ * Usage: java PathFinderCheck [queries per maze]
+ * Exits with status 1 on the first failure.
+ */
+public class PathFinderCheck {
+    
+    private static final int DEFAULT_QUERIES = 300;
+    private static final String[] PLANNERS = {"BFS", "A*", "bidirectional A*", "JPS", "D* Lite"};
+    
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_QUERIES;
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty).packedGrid, queries);
+        }
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 2; seed++) {
+                failures += check("generated 81x81 " + algorithm + " seed " + seed,
+                                  MazeGenerator.generate(81, 81, algorithm, seed), queries);
+            }
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, PackedGrid grid, int queries) {
+        MazeGraph graph = new MazeGraph(grid);
+        PathFinder finder = new PathFinder(graph);
+        JumpPointSearch jps = new JumpPointSearch(graph);
+        IncrementalPlanner dStarLite = new IncrementalPlanner(graph);
+        int[] walkable = walkableCells(graph);
+        SplittableRandom random = new SplittableRandom(name.hashCode());
+        
+        for (int q = 0; q < queries; q++) {
+            int start = walkable[random.nextInt(walkable.length)];
+            int goal = walkable[random.nextInt(walkable.length)];
+            int expected = referenceDistances(grid, start)[goal];
+            
+            PathFinder.Result[] results = {
+                finder.bfs(start, goal),
+                finder.aStar(start, goal),
+                finder.bidirectionalAStar(start, goal),
+                jps.findPath(start, goal),
+                dStarLite.findPath(start, goal)
+            };
+            for (int p = 0; p < results.length; p++) {
+                String problem = problem(grid, results[p].path, start, goal, expected);
+                if (problem != null) {
+                    System.out.printf("FAIL %s: %s %d -> %d: %s%n",
+                                      name, PLANNERS[p], start, goal, problem);
+                    return 1;
+                }
+            }
+        }
+        System.out.printf("ok   %s: %d queries%n", name, queries);
+        return 0;
+    }
+    
+    /**
+     * What is wrong with a path, or null if it is valid and optimal
+     */
+    static String problem(PackedGrid grid, int[] path, int start, int goal, int expected) {
+        if (expected == Integer.MAX_VALUE) {
+            return path == null ? null : "found a path to an unreachable goal";
+        }
+        if (path == null) return "no path, BFS length " + expected;
+        if (path[0] != start || path[path.length - 1] != goal) return "wrong endpoints";
+        for (int i = 1; i < path.length; i++) {
+            if (!adjacent(grid, path[i - 1], path[i])) {
+                return "invalid step " + path[i - 1] + " -> " + path[i];
+            }
+        }
+        if (path.length - 1 != expected) {
+            return "length " + (path.length - 1) + ", BFS length " + expected;
+        }
+        return null;
+    }
+    
+    private static boolean adjacent(PackedGrid grid, int from, int to) {
+        int cols = grid.getCols();
+        int row = from / cols;
+        int col = from % cols;
+        if (to == from - cols) return grid.canMove(row, col, PackedGrid.UP);
+        if (to == from + cols) return grid.canMove(row, col, PackedGrid.DOWN);
+        if (to == from - 1) return col > 0 && grid.canMove(row, col, PackedGrid.LEFT);
+        if (to == from + 1) return col < cols - 1 && grid.canMove(row, col, PackedGrid.RIGHT);
+        return false;
+    }
+    
+    static int[] walkableCells(MazeGraph graph) {
+        int count = 0;
+        for (int id = 0; id < graph.getCellCount(); id++) {
+            if (!graph.isWall(id)) count++;
+        }
+        int[] cells = new int[count];
+        count = 0;
+        for (int id = 0; id < graph.getCellCount(); id++) {
+            if (!graph.isWall(id)) cells[count++] = id;
+        }
+        return cells;
+    }
+    
+    /**
+     * BFS straight over PackedGrid moves (independent of MazeGraph's CSR);
+     * Integer.MAX_VALUE for unreachable cells
+     */
+    static int[] referenceDistances(PackedGrid grid, int root) {
+        int cols = grid.getCols();
+        int[] distance = new int[grid.getRows() * cols];
+        int[] queue = new int[distance.length];
+        java.util.Arrays.fill(distance, Integer.MAX_VALUE);
+        distance[root] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        int[] directions = {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT};
+        int[] offsets = {-cols, cols, -1, 1};
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                if (!grid.canMove(cell / cols, cell % cols, directions[d])) continue;
+                int next = cell + offsets[d];
+                if (distance[next] == Integer.MAX_VALUE) {
+                    distance[next] = distance[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+}
\ No newline at end of file
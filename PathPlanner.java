@@ -0,0 +1,13 @@
+/**
+ * PATH PLANNER - Full-path pursuit strategy
+ * Implemented by JumpPointSearch or bound to a PathFinder method,
+ * e.g. finder::aStar. The AI follows the second cell of the path.
+ */
+@FunctionalInterface
+public interface PathPlanner {
+    
+    /**
+     * Plan from start to goal (cell ids); path is null when unreachable
+     */
+    PathFinder.Result findPath(int start, int goal);
+}
\ No newline at end of file
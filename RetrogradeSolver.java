@@ -0,0 +1,494 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * RETROGRADE SOLVER - Perfect play for the whole chase, solved offline
+ * A state is (AI cell, player cell, side to move), so a maze with n
+ * walkable cells has 2n² states: small enough to solve outright for the
+ * built-in and medium mazes (MAX_WALKABLE_CELLS = 2048 is 8M states).
+ *
+ * Retrograde analysis works backwards from the decided states:
+ * - Seeds: the mover can capture / escape at once (win in 1), or every
+ *   move walks into the AI (loss in 1)
+ * - Level by level, a state with a successor lost for its opponent is a
+ *   win; a state whose every successor is won by the opponent is a loss
+ *   (a per-state counter of undecided moves)
+ * - Whatever is never reached is a draw: neither side can force an end
+ * Each level's frontier is split over a fork-join pool; claims and
+ * counter updates are CAS on one packed int per state.
+ *
+ * The result is one byte per state (outcome + best move index into the
+ * CSR neighbors), so a perfect move is a single array read. Wins are
+ * taken as fast as possible, losses dragged out, draws held. save()
+ * caches the table per layout and exit.
+ */
+public class RetrogradeSolver {
+    
+    public enum Outcome { DRAW, AI_WINS, PLAYER_WINS }
+    
+    public static final int MAX_WALKABLE_CELLS = 2048;
+    
+    // Table byte: bits 0-1 move index, bits 2-3 outcome, bit 4 no move (stay)
+    private static final int MOVE_MASK = 3;
+    private static final int OUTCOME_SHIFT = 2;
+    private static final int STAY = 1 << 4;
+    
+    // Work word while solving: bits 0-2 undecided moves, 3-4 result for
+    // the mover, 5+ plies to the end
+    private static final int OPEN = 0;
+    private static final int WIN = 1;
+    private static final int LOSS = 2;
+    private static final int TERMINAL = 3;
+    private static final int STATES_PER_TASK = 4096;
+    
+    // Cache file: "RET1", version, rows, cols, exit cell, walkable cells, wall fingerprint
+    private static final int MAGIC = 0x52455431;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    
+    private final MazeGraph graph;
+    private final int exitCell;
+    private final int[] denseIndex;
+    private final int[] cellOf;
+    private final int[] denseOffsets;
+    private final int[] denseTargets;
+    private final int walkable;
+    private final int exit;
+    private final byte[] table;
+    
+    // Solve-time state, dropped once the table is written
+    private AtomicIntegerArray work;
+    private int[] queue;
+    private AtomicInteger tail;
+    
+    private RetrogradeSolver(MazeGraph graph, int exitCell) {
+        this.graph = graph;
+        this.exitCell = exitCell;
+        this.denseIndex = new int[graph.getCellCount()];
+        
+        int count = 0;
+        for (int id = 0; id < denseIndex.length; id++) {
+            denseIndex[id] = graph.isWall(id) ? -1 : count++;
+        }
+        if (count > MAX_WALKABLE_CELLS) {
+            throw new IllegalArgumentException("Too many walkable cells to solve: " +
+                                               count + " > " + MAX_WALKABLE_CELLS);
+        }
+        if (exitCell < 0 || exitCell >= denseIndex.length || denseIndex[exitCell] < 0) {
+            throw new IllegalArgumentException("Exit is not a walkable cell: " + exitCell);
+        }
+        this.walkable = count;
+        this.exit = denseIndex[exitCell];
+        this.cellOf = new int[count];
+        for (int id = 0; id < denseIndex.length; id++) {
+            if (denseIndex[id] >= 0) cellOf[denseIndex[id]] = id;
+        }
+        
+        // Adjacency renumbered to dense ids, same order as the graph CSR
+        int[] neighborOffsets = graph.getNeighborOffsets();
+        int[] neighborTargets = graph.getNeighborTargets();
+        this.denseOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int cell = cellOf[i];
+            denseOffsets[i + 1] = denseOffsets[i] + neighborOffsets[cell + 1] - neighborOffsets[cell];
+        }
+        this.denseTargets = new int[denseOffsets[count]];
+        for (int i = 0; i < count; i++) {
+            int cell = cellOf[i];
+            for (int e = neighborOffsets[cell], k = denseOffsets[i]; e < neighborOffsets[cell + 1]; e++, k++) {
+                denseTargets[k] = denseIndex[neighborTargets[e]];
+            }
+        }
+        this.table = new byte[2 * count * count];
+    }
+    
+    // ========== SOLVE ==========
+    
+    /**
+     * Solve every state, frontier levels spread over the common fork-join pool
+     */
+    public static RetrogradeSolver solve(MazeGraph graph, int exitCell) {
+        return solve(graph, exitCell, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Time Complexity: O(states × degree), each state settled once
+     */
+    public static RetrogradeSolver solve(MazeGraph graph, int exitCell, ForkJoinPool pool) {
+        RetrogradeSolver solver = new RetrogradeSolver(graph, exitCell);
+        int states = solver.table.length;
+        solver.work = new AtomicIntegerArray(states);
+        solver.queue = new int[states];
+        solver.tail = new AtomicInteger();
+        
+        pool.invoke(solver.new StateRange(Phase.SEED, 0, states, 0));
+        int head = 0;
+        for (int ply = 1; head < solver.tail.get(); ply++) {
+            int end = solver.tail.get();
+            pool.invoke(solver.new StateRange(Phase.PROPAGATE, head, end, ply));
+            head = end;
+        }
+        pool.invoke(solver.new StateRange(Phase.EXTRACT, 0, states, 0));
+        
+        solver.work = null;
+        solver.queue = null;
+        solver.tail = null;
+        return solver;
+    }
+    
+    private enum Phase { SEED, PROPAGATE, EXTRACT }
+    
+    // State index: (turn × n + ai) × n + player; turn 0 = AI to move
+    private int stateOf(int turn, int ai, int player) {
+        return (turn * walkable + ai) * walkable + player;
+    }
+    
+    private static int word(int result, int plies) {
+        return (plies << 5) | (result << 3);
+    }
+    
+    private static int resultOf(int word) { return (word >>> 3) & 3; }
+    private static int pliesOf(int word) { return word >>> 5; }
+    
+    private boolean isTerminal(int ai, int player) {
+        return ai == player || player == exit;
+    }
+    
+    /**
+     * Count the undecided moves, or settle a win / loss in one ply
+     */
+    private void seed(int state) {
+        int turn = state / (walkable * walkable);
+        int ai = (state / walkable) % walkable;
+        int player = state % walkable;
+        if (isTerminal(ai, player)) {
+            work.set(state, word(TERMINAL, 0));
+            return;
+        }
+        
+        int mover = (turn == 0) ? ai : player;
+        int moves = 0;
+        for (int e = denseOffsets[mover]; e < denseOffsets[mover + 1]; e++) {
+            int to = denseTargets[e];
+            if (turn == 0 ? to == player : to == exit) {
+                work.set(state, word(WIN, 1));
+                queue[tail.getAndIncrement()] = state;
+                return;
+            }
+            if (turn == 1 && to == ai) continue;
+            moves++;
+        }
+        if (denseOffsets[mover] == denseOffsets[mover + 1]) {
+            moves = 1;
+        }
+        
+        if (moves == 0) {
+            work.set(state, word(LOSS, 1));
+            queue[tail.getAndIncrement()] = state;
+        } else {
+            work.set(state, moves);
+        }
+    }
+    
+    /**
+     * Push a settled state's result to every state that can move into it
+     */
+    private void propagate(int state, int ply) {
+        boolean moverLost = resultOf(work.get(state)) == LOSS;
+        int turn = state / (walkable * walkable);
+        int ai = (state / walkable) % walkable;
+        int player = state % walkable;
+        
+        // The side that moved into this state is the other one
+        int previousTurn = 1 - turn;
+        int moved = (previousTurn == 0) ? ai : player;
+        for (int e = denseOffsets[moved]; e < denseOffsets[moved + 1]; e++) {
+            int from = denseTargets[e];
+            int a = (previousTurn == 0) ? from : ai;
+            int p = (previousTurn == 0) ? player : from;
+            if (isTerminal(a, p)) continue;
+            settle(stateOf(previousTurn, a, p), moverLost, ply + 1);
+        }
+        if (denseOffsets[moved] == denseOffsets[moved + 1]) {
+            settle(stateOf(previousTurn, ai, player), moverLost, ply + 1);
+        }
+    }
+    
+    /**
+     * Opponent lost: this is a win. Opponent won: one fewer way out,
+     * a loss once none are left
+     */
+    private void settle(int state, boolean opponentLost, int plies) {
+        while (true) {
+            int current = work.get(state);
+            if (resultOf(current) != OPEN) return;
+            int next;
+            if (opponentLost) {
+                next = word(WIN, plies);
+            } else {
+                next = ((current & 7) == 1) ? word(LOSS, plies) : current - 1;
+            }
+            if (work.compareAndSet(state, current, next)) {
+                if (resultOf(next) != OPEN) {
+                    queue[tail.getAndIncrement()] = state;
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Write the table byte: outcome and the best move
+     * Fastest win, else a draw (closest to / farthest from the other
+     * side), else the slowest loss
+     */
+    private void extract(int state) {
+        int turn = state / (walkable * walkable);
+        int ai = (state / walkable) % walkable;
+        int player = state % walkable;
+        int current = work.get(state);
+        int result = resultOf(current);
+        
+        if (result == TERMINAL) {
+            Outcome outcome = (ai == player) ? Outcome.AI_WINS : Outcome.PLAYER_WINS;
+            table[state] = (byte) (STAY | outcome.ordinal() << OUTCOME_SHIFT);
+            return;
+        }
+        Outcome outcome = (result == OPEN) ? Outcome.DRAW
+                        : (result == WIN) == (turn == 0) ? Outcome.AI_WINS : Outcome.PLAYER_WINS;
+        
+        int mover = (turn == 0) ? ai : player;
+        int other = (turn == 0) ? player : ai;
+        int bestIndex = -1;
+        long bestRank = Long.MIN_VALUE;
+        for (int e = denseOffsets[mover], i = 0; e < denseOffsets[mover + 1]; e++, i++) {
+            int to = denseTargets[e];
+            long rank;
+            if (turn == 0 ? to == player : to == exit) {
+                rank = rank(WIN, 1, 0);
+            } else if (turn == 1 && to == ai) {
+                rank = rank(LOSS, 1, 0);
+            } else {
+                int next = work.get(turn == 0 ? stateOf(1, to, player) : stateOf(0, ai, to));
+                int nextResult = resultOf(next);
+                int mine = (nextResult == WIN) ? LOSS : (nextResult == LOSS) ? WIN : OPEN;
+                int gap = manhattan(to, other);
+                rank = rank(mine, pliesOf(next) + 1, (turn == 0) ? -gap : gap);
+            }
+            if (rank > bestRank) {
+                bestRank = rank;
+                bestIndex = i;
+            }
+        }
+        int move = (bestIndex < 0) ? STAY : bestIndex;
+        table[state] = (byte) (move | outcome.ordinal() << OUTCOME_SHIFT);
+    }
+    
+    private static long rank(int result, int plies, int tieBreak) {
+        switch (result) {
+            case WIN: return (2L << 32) - plies;
+            case LOSS: return plies;
+            default: return (1L << 32) + tieBreak;
+        }
+    }
+    
+    private int manhattan(int a, int b) {
+        int cols = graph.getCols();
+        int cellA = cellOf[a];
+        int cellB = cellOf[b];
+        return Math.abs(cellA / cols - cellB / cols) + Math.abs(cellA % cols - cellB % cols);
+    }
+    
+    /**
+     * Fork-join split over a range of state indices (or of the queue
+     * while propagating)
+     */
+    private class StateRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final Phase phase;
+        private final int from;
+        private final int to;
+        private final int ply;
+        
+        StateRange(Phase phase, int from, int to, int ply) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+            this.ply = ply;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > STATES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new StateRange(phase, from, mid, ply), new StateRange(phase, mid, to, ply));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                switch (phase) {
+                    case SEED: seed(i); break;
+                    case PROPAGATE: propagate(queue[i], ply); break;
+                    case EXTRACT: extract(i); break;
+                }
+            }
+        }
+    }
+    
+    // ========== QUERIES (one array read) ==========
+    
+    /**
+     * Perfect AI move: the cell to step onto, aiCell to stay, -1 if
+     * either cell is a wall
+     */
+    public int bestAiMove(int aiCell, int playerCell) {
+        return moveFrom(0, aiCell, playerCell, aiCell);
+    }
+    
+    /**
+     * Perfect player move, same conventions
+     */
+    public int bestPlayerMove(int aiCell, int playerCell) {
+        return moveFrom(1, aiCell, playerCell, playerCell);
+    }
+    
+    private int moveFrom(int turn, int aiCell, int playerCell, int mover) {
+        int a = denseIndex[aiCell];
+        int p = denseIndex[playerCell];
+        if (a < 0 || p < 0) return -1;
+        int entry = table[stateOf(turn, a, p)];
+        if ((entry & STAY) != 0) return mover;
+        return graph.getNeighborTargets()[graph.getNeighborOffsets()[mover] + (entry & MOVE_MASK)];
+    }
+    
+    /**
+     * Result under perfect play from both sides, or null for walls
+     */
+    public Outcome outcome(int aiCell, int playerCell, boolean aiToMove) {
+        int a = denseIndex[aiCell];
+        int p = denseIndex[playerCell];
+        if (a < 0 || p < 0) return null;
+        return Outcome.values()[(table[stateOf(aiToMove ? 0 : 1, a, p)] >> OUTCOME_SHIFT) & 3];
+    }
+    
+    public int getExitCell() { return exitCell; }
+    public int getWalkableCount() { return walkable; }
+    public int getStateCount() { return table.length; }
+    public long getTableBytes() { return table.length; }
+    
+    // ========== CACHE FILE ==========
+    
+    /**
+     * Load the table cached for this layout and exit, or solve and cache it
+     */
+    public static RetrogradeSolver loadOrBuild(Path path, MazeGraph graph, int exitCell)
+            throws IOException {
+        if (Files.exists(path)) {
+            try {
+                return load(path, graph, exitCell);
+            } catch (IOException stale) {
+                // Different maze, exit or format: solve below
+            }
+        }
+        RetrogradeSolver solver = solve(graph, exitCell);
+        solver.save(path);
+        return solver;
+    }
+    
+    /**
+     * Write the table (little-endian header, streamed in 64 KiB blocks)
+     */
+    public void save(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer block = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            block.putInt(MAGIC).putInt(VERSION).putInt(graph.getRows()).putInt(graph.getCols())
+                 .putInt(exitCell).putInt(walkable)
+                 .putLong(WallGrid.fingerprint(graph.getGrid()));
+            
+            for (int offset = 0; offset < table.length; ) {
+                if (!block.hasRemaining()) flush(channel, block);
+                int chunk = Math.min(block.remaining(), table.length - offset);
+                block.put(table, offset, chunk);
+                offset += chunk;
+            }
+            flush(channel, block);
+        }
+    }
+    
+    private static void flush(FileChannel channel, ByteBuffer block) throws IOException {
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear();
+    }
+    
+    /**
+     * Read a cached table; fails if it was built for other walls or another exit
+     */
+    public static RetrogradeSolver load(Path path, MazeGraph graph, int exitCell) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a solved pursuit table: " + path);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a solved pursuit table: " + path);
+            }
+            int rows = in.getInt();
+            int cols = in.getInt();
+            int exit = in.getInt();
+            int walkable = in.getInt();
+            long fingerprint = in.getLong();
+            if (rows != graph.getRows() || cols != graph.getCols() || exit != exitCell ||
+                fingerprint != WallGrid.fingerprint(graph.getGrid())) {
+                throw new IOException("Solved table does not match this maze: " + path);
+            }
+            
+            RetrogradeSolver solver = new RetrogradeSolver(graph, exitCell);
+            if (walkable != solver.walkable) {
+                throw new IOException("Corrupt solved pursuit table: " + path);
+            }
+            try {
+                in.get(solver.table);
+            } catch (RuntimeException truncated) {
+                throw new IOException("Corrupt solved pursuit table: " + path, truncated);
+            }
+            return solver;
+        }
+    }
+    
+    // ========== COMMAND LINE ==========
+    
+    /**
+     * Solve and cache a maze file for one exit:
+     * java RetrogradeSolver maze.maze out.solved exitRow exitCol
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: java RetrogradeSolver <maze.maze> <out.solved> <exitRow> <exitCol>");
+            return;
+        }
+        MazeGraph graph = MazeGraph.buildParallel(MazeFile.open(Path.of(args[0])),
+                                                  MazeGraph.Storage.COMPACT);
+        int exitCell = graph.getCellId(Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        long start = System.nanoTime();
+        RetrogradeSolver solver = solve(graph, exitCell);
+        solver.save(Path.of(args[1]));
+        System.out.printf("Solved %d states (%d walkable cells), %d KB, in %.1f ms%n",
+                          solver.getStateCount(), solver.walkable, solver.getTableBytes() >> 10,
+                          (System.nanoTime() - start) / 1e6);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * RETROGRADE SOLVER CHECK - Reference check for RetrogradeSolver
+ * On the built-in mazes and a small braided one (loops make draws):
+ * - Outcomes: every non-terminal state must match a naive fixpoint
+ *   solver that sweeps all states until nothing changes (a side wins if
+ *   some move reaches a won state, loses if every move reaches a lost one)
+ * - Best moves: the table's move for the side to move must keep its
+ *   outcome (a win stays a win, a draw stays a draw)
+ * - Cache: save() then load() must give the same table
+ *
+ * Usage: java RetrogradeSolverCheck
+ * Exits with status 1 on a failure.
+ */
+public class RetrogradeSolverCheck {
+    
+    // Naive results
+    private static final byte UNKNOWN = 0;
+    private static final byte AI = 1;
+    private static final byte PLAYER = 2;
+    
+    public static void main(String[] args) throws IOException {
+        int failures = 0;
+        for (String difficulty : new String[] {"easy", "medium", "hard"}) {
+            failures += check(difficulty, MazeConfigurations.getMaze(difficulty));
+        }
+        failures += check("generated 21x21 BRAIDED",
+                          MazeGenerator.generateConfig(21, 21, MazeGenerator.Algorithm.BRAIDED, 7));
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, MazeConfigurations.MazeConfig config) throws IOException {
+        MazeGraph graph = new MazeGraph(config.wallGrid);
+        int exit = graph.getCellId(config.exit.x, config.exit.y);
+        RetrogradeSolver solver = RetrogradeSolver.solve(graph, exit);
+        byte[][][] expected = naiveSolve(graph, exit);
+        
+        int n = graph.getCellCount();
+        int states = 0;
+        int outcomeMismatches = 0;
+        int badMoves = 0;
+        for (int turn = 0; turn < 2; turn++) {
+            for (int ai = 0; ai < n; ai++) {
+                for (int player = 0; player < n; player++) {
+                    if (graph.isWall(ai) || graph.isWall(player) || ai == player || player == exit) continue;
+                    states++;
+                    RetrogradeSolver.Outcome outcome = solver.outcome(ai, player, turn == 0);
+                    if (outcome != toOutcome(expected[turn][ai][player])) outcomeMismatches++;
+                    if (!keepsOutcome(solver, turn == 0, ai, player, exit, outcome)) badMoves++;
+                }
+            }
+        }
+        
+        int reloadDiffs = 0;
+        Path cache = Files.createTempFile("retrograde", ".solved");
+        try {
+            solver.save(cache);
+            RetrogradeSolver loaded = RetrogradeSolver.load(cache, graph, exit);
+            for (int ai = 0; ai < n; ai++) {
+                for (int player = 0; player < n; player++) {
+                    if (graph.isWall(ai) || graph.isWall(player)) continue;
+                    if (loaded.bestAiMove(ai, player) != solver.bestAiMove(ai, player) ||
+                        loaded.bestPlayerMove(ai, player) != solver.bestPlayerMove(ai, player) ||
+                        loaded.outcome(ai, player, true) != solver.outcome(ai, player, true) ||
+                        loaded.outcome(ai, player, false) != solver.outcome(ai, player, false)) {
+                        reloadDiffs++;
+                    }
+                }
+            }
+        } finally {
+            Files.delete(cache);
+        }
+        
+        boolean ok = outcomeMismatches == 0 && badMoves == 0 && reloadDiffs == 0;
+        System.out.printf("%s %s: %d states, %d outcome mismatches, %d bad moves, %d reload diffs%n",
+                          ok ? "ok  " : "FAIL", name, states, outcomeMismatches, badMoves, reloadDiffs);
+        return ok ? 0 : 1;
+    }
+    
+    /**
+     * The best move for the side to move must not give its outcome away
+     */
+    private static boolean keepsOutcome(RetrogradeSolver solver, boolean aiToMove, int ai, int player,
+                                        int exit, RetrogradeSolver.Outcome outcome) {
+        if (aiToMove) {
+            int to = solver.bestAiMove(ai, player);
+            if (to == player) return outcome == RetrogradeSolver.Outcome.AI_WINS;
+            return outcome == RetrogradeSolver.Outcome.PLAYER_WINS ||
+                   solver.outcome(to, player, false) == outcome;
+        }
+        int to = solver.bestPlayerMove(ai, player);
+        if (to == exit) return outcome == RetrogradeSolver.Outcome.PLAYER_WINS;
+        if (to == ai) return outcome == RetrogradeSolver.Outcome.AI_WINS;
+        return outcome == RetrogradeSolver.Outcome.AI_WINS ||
+               solver.outcome(ai, to, true) == outcome;
+    }
+    
+    private static RetrogradeSolver.Outcome toOutcome(byte result) {
+        return result == AI ? RetrogradeSolver.Outcome.AI_WINS
+             : result == PLAYER ? RetrogradeSolver.Outcome.PLAYER_WINS
+             : RetrogradeSolver.Outcome.DRAW;
+    }
+    
+    /**
+     * result[turn][ai][player], turn 0 = AI to move; UNKNOWN left over
+     * is a draw
+     * Time Complexity: O(sweeps × states × degree)
+     */
+    private static byte[][][] naiveSolve(MazeGraph graph, int exit) {
+        int n = graph.getCellCount();
+        int[] offsets = graph.getNeighborOffsets();
+        int[] targets = graph.getNeighborTargets();
+        byte[][][] result = new byte[2][n][n];
+        
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int turn = 0; turn < 2; turn++) {
+                byte mine = turn == 0 ? AI : PLAYER;
+                byte theirs = turn == 0 ? PLAYER : AI;
+                for (int ai = 0; ai < n; ai++) {
+                    for (int player = 0; player < n; player++) {
+                        if (graph.isWall(ai) || graph.isWall(player) || ai == player || player == exit ||
+                            result[turn][ai][player] != UNKNOWN) continue;
+                        
+                        int mover = turn == 0 ? ai : player;
+                        boolean win = false;
+                        boolean allLost = true;
+                        for (int e = offsets[mover]; e < offsets[mover + 1]; e++) {
+                            int to = targets[e];
+                            byte next;
+                            if (turn == 0) {
+                                next = to == player ? AI : result[1][to][player];
+                            } else {
+                                next = to == exit ? PLAYER : to == ai ? AI : result[0][ai][to];
+                            }
+                            if (next == mine) win = true;
+                            if (next != theirs) allLost = false;
+                        }
+                        if (offsets[mover] == offsets[mover + 1]) {
+                            // No moves: the turn passes
+                            byte next = result[1 - turn][ai][player];
+                            win = next == mine;
+                            allLost = next == theirs;
+                        }
+                        
+                        byte settled = win ? mine : allLost ? theirs : UNKNOWN;
+                        if (settled != UNKNOWN) {
+                            result[turn][ai][player] = settled;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
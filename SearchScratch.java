@@ -0,0 +1,79 @@
+import java.util.Arrays;
+
+/**
+ * SEARCH SCRATCH - Per-search cell state kept outside the graph
+ * g-scores, parents and open/closed marks live in int arrays indexed by
+ * cell id, so MazeGraph and its Nodes stay immutable and can be shared
+ * by any number of searches and threads.
+ *
+ * begin() starts a new search in O(1) by bumping a generation counter:
+ * marks left by earlier searches read as unseen, so a search only ever
+ * writes the cells it touches. Not thread-safe; one instance per search.
+ */
+public class SearchScratch {
+    
+    private static final int OPEN = 1;
+    private static final int CLOSED = 2;
+    
+    private final int[] stamp;
+    private final int[] gScore;
+    private final int[] parent;
+    private int generation;
+    
+    public SearchScratch(int cellCount) {
+        this.stamp = new int[cellCount];
+        this.gScore = new int[cellCount];
+        this.parent = new int[cellCount];
+    }
+    
+    /**
+     * Invalidate the previous search; O(1) except on counter wrap-around
+     */
+    public void begin() {
+        generation += 4;
+        if (generation < 0) {
+            Arrays.fill(stamp, 0);
+            generation = 4;
+        }
+    }
+    
+    // ========== MARKS ==========
+    
+    public boolean isUnseen(int cell) { return stamp[cell] < generation; }
+    public boolean isOpen(int cell) { return stamp[cell] == generation + OPEN; }
+    public boolean isClosed(int cell) { return stamp[cell] == generation + CLOSED; }
+    
+    /**
+     * Record (or improve) a cell reached with cost g from parent
+     */
+    public void open(int cell, int g, int from) {
+        stamp[cell] = generation + OPEN;
+        gScore[cell] = g;
+        parent[cell] = from;
+    }
+    
+    public void close(int cell) {
+        stamp[cell] = generation + CLOSED;
+    }
+    
+    // ========== VALUES ==========
+    
+    public int getG(int cell) { return gScore[cell]; }
+    public int getParent(int cell) { return parent[cell]; }
+    
+    /**
+     * Cells from start to cell by following parents (start has parent -1)
+     */
+    public int[] pathTo(int cell) {
+        int length = 1;
+        for (int c = parent[cell]; c != -1; c = parent[c]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int index = length - 1;
+        for (int c = cell; c != -1; c = parent[c]) {
+            path[index--] = c;
+        }
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+import java.util.SplittableRandom;
+
+/**
+ * SWARM AI - Many chasers driven by one shared FlowField
+ * Chaser state is kept as structure-of-arrays (cell ids in one int[],
+ * move order in another) rather than one object per chaser, so a turn
+ * for thousands of chasers is a linear scan over flat arrays.
+ *
+ * Each turn the field is re-rooted at the player (one BFS), then the
+ * chasers move front to back: a chaser steps onto its flow-field cell,
+ * or onto another cell that is also one step closer when that one is
+ * taken, or waits. Cells hold at most one chaser unless stacking is
+ * allowed. The move order is kept sorted by distance with an insertion
+ * sort, which is near-linear because the order barely changes per turn.
+ *
+ * Not thread-safe.
+ */
+public class SwarmAI {
+    
+    private final MazeGraph graph;
+    private final FlowField field;
+    private final int[] neighborOffsets;
+    private final int[] neighborTargets;
+    private final boolean allowStacking;
+    
+    // Structure of arrays: chaser i sits on cells[i]; order lists chaser
+    // indices front (closest to the player) to back
+    private int[] cells;
+    private int[] order;
+    private int count;
+    
+    // Chasers per cell
+    private final int[] occupancy;
+    
+    private int moved;
+    
+    public SwarmAI(MazeGraph graph) {
+        this(graph, false);
+    }
+    
+    public SwarmAI(MazeGraph graph, boolean allowStacking) {
+        this.graph = graph;
+        this.field = new FlowField(graph);
+        this.neighborOffsets = graph.getNeighborOffsets();
+        this.neighborTargets = graph.getNeighborTargets();
+        this.allowStacking = allowStacking;
+        this.cells = new int[16];
+        this.order = new int[16];
+        this.occupancy = new int[graph.getCellCount()];
+    }
+    
+    // ========== CHASERS ==========
+    
+    /**
+     * Add a chaser; returns its index, or -1 if the cell is a wall or taken
+     */
+    public int add(int row, int col) {
+        int cell = graph.getCellId(row, col);
+        if (graph.isWall(cell) || (!allowStacking && occupancy[cell] > 0)) return -1;
+        if (count == cells.length) {
+            cells = java.util.Arrays.copyOf(cells, count * 2);
+            order = java.util.Arrays.copyOf(order, count * 2);
+        }
+        cells[count] = cell;
+        order[count] = count;
+        occupancy[cell]++;
+        return count++;
+    }
+    
+    /**
+     * Place up to n chasers on random free cells at least minDistance
+     * (Manhattan) away from (avoidRow, avoidCol); returns how many were placed
+     */
+    public int spawnRandom(int n, long seed, int avoidRow, int avoidCol, int minDistance) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cellCount = graph.getCellCount();
+        int placed = 0;
+        for (int attempt = 0; placed < n && attempt < 50 * n; attempt++) {
+            int cell = random.nextInt(cellCount);
+            int row = graph.getRowOf(cell);
+            int col = graph.getColOf(cell);
+            if (Math.abs(row - avoidRow) + Math.abs(col - avoidCol) < minDistance) continue;
+            if (add(row, col) >= 0) placed++;
+        }
+        return placed;
+    }
+    
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            occupancy[cells[i]]--;
+        }
+        count = 0;
+    }
+    
+    // ========== TURN ==========
+    
+    /**
+     * Move every chaser one step toward the player's cell
+     * Time Complexity: O(cells) for the BFS (only if the player moved)
+     * plus O(chasers)
+     * @return true if a chaser is on the player's cell afterwards
+     */
+    public boolean step(int playerCell) {
+        field.update(playerCell);
+        sortOrder();
+        moved = 0;
+        
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            int cell = cells[i];
+            int d = field.distanceTo(cell);
+            if (d == 0 || d == FlowField.UNREACHABLE) continue;
+            
+            int target = field.nextCell(cell);
+            if (!allowStacking && occupancy[target] > 0 && target != playerCell) {
+                target = freeDownhill(cell, d - 1);
+            }
+            if (target < 0) continue;
+            
+            occupancy[cell]--;
+            occupancy[target]++;
+            cells[i] = target;
+            moved++;
+        }
+        return occupancy[playerCell] > 0;
+    }
+    
+    /**
+     * Free neighbor at distance want from the player, or -1
+     */
+    private int freeDownhill(int cell, int want) {
+        for (int e = neighborOffsets[cell]; e < neighborOffsets[cell + 1]; e++) {
+            int neighbor = neighborTargets[e];
+            if (occupancy[neighbor] == 0 && field.distanceTo(neighbor) == want) {
+                return neighbor;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Insertion sort of the move order by distance to the player
+     * Near-linear: last turn's order is almost sorted already
+     */
+    private void sortOrder() {
+        for (int k = 1; k < count; k++) {
+            int chaser = order[k];
+            int d = field.distanceTo(cells[chaser]);
+            int j = k - 1;
+            while (j >= 0 && field.distanceTo(cells[order[j]]) > d) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = chaser;
+        }
+    }
+    
+    // ========== QUERIES ==========
+    
+    public boolean isOccupied(int cell) { return occupancy[cell] > 0; }
+    public int getOccupancy(int cell) { return occupancy[cell]; }
+    public int getChaserCount() { return count; }
+    public int getChaserCell(int index) { return cells[index]; }
+    public int getMovedLastTurn() { return moved; }
+    public FlowField getField() { return field; }
+    
+    /**
+     * Maze distance from the closest chaser to the field's root
+     */
+    public int getClosestDistance() {
+        int best = FlowField.UNREACHABLE;
+        for (int i = 0; i < count; i++) {
+            best = Math.min(best, field.distanceTo(cells[i]));
+        }
+        return best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+import java.util.SplittableRandom;
+
+/**
+ * SWARM AI CHECK - Per-turn invariants of SwarmAI
+ * Seeded games: chasers spawned at random, the player takes a random
+ * step (or waits) each turn, the swarm steps. After every turn, against
+ * a plain BFS from the player's cell (PathFinderCheck.referenceDistances):
+ * - Moves: a chaser that moved stepped to a neighbor exactly one step
+ *   closer to the player; one that waited was on the player, cut off
+ *   from it, or (stacking off) had every closer neighbor taken
+ * - Cells: with stacking off no two chasers share a cell, except the
+ *   player's cell (several can catch the player in the same turn)
+ * - Occupancy: getOccupancy() matches the chasers' cells everywhere,
+ *   getMovedLastTurn() the moves counted, step() the capture
+ * - clear(): every cell reads empty and the cells can be taken again
+ * Mazes: a braided maze (loops) and random noise (separate components,
+ * so some chasers never reach the player), with and without stacking.
+ *
+ * Usage: java SwarmAICheck [turns per game]
+ * Exits with status 1 on a failure.
+ */
+public class SwarmAICheck {
+    
+    private static final int DEFAULT_TURNS = 400;
+    private static final int[] CHASER_COUNTS = {20, 300};
+    private static final long SEEDS = 3;
+    
+    public static void main(String[] args) {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TURNS;
+        int failures = 0;
+        PackedGrid[] grids = {MazeGenerator.generate(41, 41, MazeGenerator.Algorithm.BRAIDED, 11), noise(40, 40)};
+        String[] names = {"generated 41x41 BRAIDED", "noise 40x40"};
+        for (int g = 0; g < grids.length; g++) {
+            for (boolean stacking : new boolean[] {false, true}) {
+                for (int chasers : CHASER_COUNTS) {
+                    failures += check(names[g] + ", " + chasers + " chasers" + (stacking ? ", stacking" : ""),
+                                      grids[g], stacking, chasers, turns);
+                }
+            }
+        }
+        if (failures > 0) System.exit(1);
+    }
+    
+    private static int check(String name, PackedGrid grid, boolean stacking, int chasers, int turns) {
+        MazeGraph graph = new MazeGraph(grid);
+        int[] walkable = PathFinderCheck.walkableCells(graph);
+        int[] offsets = graph.getNeighborOffsets();
+        int[] targets = graph.getNeighborTargets();
+        String problem = null;
+        long moves = 0;
+        long captures = 0;
+        
+        for (long seed = 1; seed <= SEEDS && problem == null; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            SwarmAI swarm = new SwarmAI(graph, stacking);
+            int player = walkable[random.nextInt(walkable.length)];
+            swarm.spawnRandom(chasers, seed, graph.getRowOf(player), graph.getColOf(player), 5);
+            int count = swarm.getChaserCount();
+            int[] before = new int[count];
+            
+            for (int turn = 0; turn < turns && problem == null; turn++) {
+                int degree = offsets[player + 1] - offsets[player];
+                int pick = random.nextInt(degree + 1);
+                if (pick < degree) player = targets[offsets[player] + pick];
+                
+                for (int i = 0; i < count; i++) before[i] = swarm.getChaserCell(i);
+                boolean caught = swarm.step(player);
+                int[] distance = PathFinderCheck.referenceDistances(grid, player);
+                
+                int movedHere = 0;
+                for (int i = 0; i < count && problem == null; i++) {
+                    int from = before[i];
+                    int to = swarm.getChaserCell(i);
+                    if (to != from) {
+                        movedHere++;
+                        if (!adjacent(offsets, targets, from, to) || distance[to] != distance[from] - 1) {
+                            problem = "chaser " + i + " moved " + from + " -> " + to + " (distance " +
+                                      distance[from] + " -> " + distance[to] + ")";
+                        }
+                    } else if (distance[from] != 0 && distance[from] != Integer.MAX_VALUE &&
+                               (stacking || freeCloser(swarm, offsets, targets, distance, from, player))) {
+                        problem = "chaser " + i + " waited at " + from + " (distance " + distance[from] + ")";
+                    }
+                }
+                if (problem == null) problem = occupancyProblem(swarm, graph, stacking, player);
+                if (problem == null && movedHere != swarm.getMovedLastTurn()) {
+                    problem = "getMovedLastTurn() " + swarm.getMovedLastTurn() + ", counted " + movedHere;
+                }
+                if (problem == null && caught != swarm.isOccupied(player)) {
+                    problem = "step() returned " + caught + " with the player's cell " +
+                              (caught ? "empty" : "taken");
+                }
+                if (problem != null) problem = "seed " + seed + ", turn " + turn + ": " + problem;
+                moves += movedHere;
+                if (caught) captures++;
+            }
+            
+            if (problem == null) {
+                for (int i = 0; i < count; i++) before[i] = swarm.getChaserCell(i);
+                swarm.clear();
+                for (int cell = 0; cell < graph.getCellCount() && problem == null; cell++) {
+                    if (swarm.getOccupancy(cell) != 0) problem = "seed " + seed + ": cell " + cell + " taken after clear()";
+                }
+                if (problem == null && swarm.getChaserCount() != 0) problem = "seed " + seed + ": chasers left after clear()";
+                for (int i = 0; i < count && problem == null; i++) {
+                    int cell = before[i];
+                    if (swarm.getOccupancy(cell) == 0 && swarm.add(graph.getRowOf(cell), graph.getColOf(cell)) < 0) {
+                        problem = "seed " + seed + ": cell " + cell + " refused after clear()";
+                    }
+                }
+            }
+        }
+        
+        if (problem != null) {
+            System.out.printf("FAIL %s: %s%n", name, problem);
+            return 1;
+        }
+        System.out.printf("ok   %s: %d turns x %d seeds, %d moves, %d turns with a capture%n",
+                          name, turns, SEEDS, moves, captures);
+        return 0;
+    }
+    
+    /**
+     * Cell counts rebuilt from the chasers' positions must match
+     */
+    private static String occupancyProblem(SwarmAI swarm, MazeGraph graph, boolean stacking, int player) {
+        int[] expected = new int[graph.getCellCount()];
+        for (int i = 0; i < swarm.getChaserCount(); i++) {
+            int cell = swarm.getChaserCell(i);
+            if (graph.isWall(cell)) return "chaser " + i + " on a wall";
+            expected[cell]++;
+        }
+        for (int cell = 0; cell < expected.length; cell++) {
+            if (swarm.getOccupancy(cell) != expected[cell]) {
+                return "cell " + cell + " occupancy " + swarm.getOccupancy(cell) + ", chasers " + expected[cell];
+            }
+            if (!stacking && expected[cell] > 1 && cell != player) {
+                return expected[cell] + " chasers share cell " + cell;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * A closer neighbor the waiting chaser could have taken (free now,
+     * or the player's own cell)
+     */
+    private static boolean freeCloser(SwarmAI swarm, int[] offsets, int[] targets, int[] distance,
+                                      int cell, int player) {
+        for (int e = offsets[cell]; e < offsets[cell + 1]; e++) {
+            int next = targets[e];
+            if (distance[next] == distance[cell] - 1 && (next == player || !swarm.isOccupied(next))) return true;
+        }
+        return false;
+    }
+    
+    private static boolean adjacent(int[] offsets, int[] targets, int from, int to) {
+        for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+            if (targets[e] == to) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Random walls with a closed border: many separate components
+     */
+    private static PackedGrid noise(int rows, int cols) {
+        SplittableRandom random = new SplittableRandom((long) rows * cols);
+        PackedGrid grid = new PackedGrid(rows, cols);
+        for (int r = 1; r < rows - 1; r++) {
+            for (int c = 1; c < cols - 1; c++) {
+                grid.setWall(r, c, random.nextInt(5) < 2);
+            }
+        }
+        return grid;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TILED MAZE GRAPH - Lazily materialized adjacency for huge mazes
+ * The maze is split into TILE_SIZE x TILE_SIZE tiles. A tile's direction
+ * masks are computed from the backing WallGrid (usually a memory-mapped
+ * MazeFile) the first time a search or the AI touches it, and the least
+ * recently used tiles are evicted once more than maxResidentTiles are
+ * loaded. Heap use is therefore bounded by the tile budget, not by the
+ * maze size, and cells are addressed by (row, col) so the maze may
+ * exceed 2^31 cells.
+ *
+ * Implements WallGrid, so anything that only reads masks (the windowed
+ * chase planner, GameEngine moves) works on it unchanged.
+ * Not thread-safe.
+ */
+public class TiledMazeGraph implements WallGrid {
+    
+    public static final int TILE_SHIFT = 8;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    
+    // Bit 4 of a tile byte marks an open cell; bits 0-3 are the direction mask
+    private static final int OPEN_BIT = 16;
+    
+    // Tile keys are never negative
+    private static final long NO_TILE = -1L;
+    
+    private final WallGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int maxResidentTiles;
+    private final LinkedHashMap<Long, byte[]> tiles;
+    
+    // Most recently used tile: hits on it skip the boxed map lookup
+    private long lastKey = NO_TILE;
+    private byte[] lastTile;
+    
+    private long tileLoads;
+    private long tileEvictions;
+    
+    public TiledMazeGraph(WallGrid grid, int maxResidentTiles) {
+        if (maxResidentTiles < 1) {
+            throw new IllegalArgumentException("Tile budget must be positive: " + maxResidentTiles);
+        }
+        this.grid = grid;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.maxResidentTiles = maxResidentTiles;
+        this.tiles = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                if (size() <= TiledMazeGraph.this.maxResidentTiles) return false;
+                if (eldest.getKey() == lastKey) forgetLastTile();
+                tileEvictions++;
+                return true;
+            }
+        };
+    }
+    
+    // ========== WALL GRID ==========
+    
+    @Override public int getRows() { return rows; }
+    @Override public int getCols() { return cols; }
+    
+    @Override
+    public boolean isWall(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return true;
+        return (tile(row, col)[cellIndex(row, col)] & OPEN_BIT) == 0;
+    }
+    
+    @Override
+    public int getOpenMask(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return 0;
+        return tile(row, col)[cellIndex(row, col)] & 0xF;
+    }
+    
+    // ========== TILE CACHE ==========
+    
+    /**
+     * The tile holding a cell
+     * Consecutive lookups in the same tile return it straight from the
+     * one-entry cache. Only a change of tile goes through the
+     * access-ordered map, which keeps the LRU order exact: the last tile
+     * is already the most recent entry, so touching it again would not
+     * move anything.
+     */
+    private byte[] tile(int row, int col) {
+        long key = ((long) (row >>> TILE_SHIFT) << 32) | (col >>> TILE_SHIFT);
+        if (key == lastKey) return lastTile;
+        
+        byte[] tile = tiles.get(key);
+        if (tile == null) {
+            tile = load(row >>> TILE_SHIFT, col >>> TILE_SHIFT);
+            tiles.put(key, tile);
+        }
+        lastKey = key;
+        lastTile = tile;
+        return tile;
+    }
+    
+    private void forgetLastTile() {
+        lastKey = NO_TILE;
+        lastTile = null;
+    }
+    
+    /**
+     * Materialize one tile's masks from the backing grid
+     * Time Complexity: O(TILE_SIZE^2)
+     */
+    private byte[] load(int tileRow, int tileCol) {
+        tileLoads++;
+        byte[] tile = new byte[TILE_SIZE * TILE_SIZE];
+        int top = tileRow << TILE_SHIFT;
+        int left = tileCol << TILE_SHIFT;
+        int bottom = Math.min(rows, top + TILE_SIZE);
+        int right = Math.min(cols, left + TILE_SIZE);
+        for (int r = top; r < bottom; r++) {
+            for (int c = left; c < right; c++) {
+                if (grid.isWall(r, c)) continue;
+                tile[cellIndex(r, c)] = (byte) (OPEN_BIT | grid.getOpenMask(r, c));
+            }
+        }
+        return tile;
+    }
+    
+    private static int cellIndex(int row, int col) {
+        return ((row & TILE_MASK) << TILE_SHIFT) | (col & TILE_MASK);
+    }
+    
+    /**
+     * Drop every resident tile (e.g. after the backing grid changed)
+     */
+    public void evictAll() {
+        tiles.clear();
+        forgetLastTile();
+    }
+    
+    public int getResidentTiles() { return tiles.size(); }
+    public int getMaxResidentTiles() { return maxResidentTiles; }
+    public long getTileLoads() { return tileLoads; }
+    public long getTileEvictions() { return tileEvictions; }
+    public WallGrid getBackingGrid() { return grid; }
+    
+    // ========== CHASE DEMO ==========
+    
+    /**
+     * Chase across a maze file with bounded memory:
+     * java TiledMazeGraph maze.maze [tile budget] [window radius] [max turns]
+     * The player random-walks; the AI follows windowed A* plans.
+     */
+    public static void main(String[] args) throws java.io.IOException {
+        MazeFile file = MazeFile.open(java.nio.file.Path.of(args[0]));
+        int budget = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int radius = args.length > 2 ? Integer.parseInt(args[2]) : 128;
+        long maxTurns = args.length > 3 ? Long.parseLong(args[3]) : 10_000_000L;
+        
+        TiledMazeGraph graph = new TiledMazeGraph(file, budget);
+        WindowedAStar planner = new WindowedAStar(graph, radius);
+        java.util.SplittableRandom random = new java.util.SplittableRandom(1);
+        int[] directions = {PackedGrid.UP, PackedGrid.DOWN, PackedGrid.LEFT, PackedGrid.RIGHT};
+        
+        int playerRow = file.getPlayerStart().x;
+        int playerCol = file.getPlayerStart().y;
+        int aiRow = file.getAiStart().x;
+        int aiCol = file.getAiStart().y;
+        int[] plan = new int[0];
+        int planIndex = 0;
+        long plans = 0;
+        long turn = 0;
+        long start = System.nanoTime();
+        
+        while (turn < maxTurns && (aiRow != playerRow || aiCol != playerCol)) {
+            turn++;
+            
+            // Player: random legal step
+            int mask = graph.getOpenMask(playerRow, playerCol);
+            int direction = directions[random.nextInt(4)];
+            if ((mask & direction) != 0) {
+                playerRow += direction == PackedGrid.UP ? -1 : direction == PackedGrid.DOWN ? 1 : 0;
+                playerCol += direction == PackedGrid.LEFT ? -1 : direction == PackedGrid.RIGHT ? 1 : 0;
+            }
+            
+            // AI: replan when the plan runs out or the target is close
+            int distance = Math.abs(aiRow - playerRow) + Math.abs(aiCol - playerCol);
+            if (planIndex >= plan.length || distance <= radius) {
+                plan = planner.findPath(aiRow, aiCol, playerRow, playerCol);
+                planIndex = 0;
+                plans++;
+            }
+            if (planIndex < plan.length) {
+                direction = plan[planIndex++];
+                aiRow += direction == PackedGrid.UP ? -1 : direction == PackedGrid.DOWN ? 1 : 0;
+                aiCol += direction == PackedGrid.LEFT ? -1 : direction == PackedGrid.RIGHT ? 1 : 0;
+            }
+            
+            if (turn % 100_000 == 0 || (aiRow == playerRow && aiCol == playerCol)) {
+                Runtime runtime = Runtime.getRuntime();
+                System.out.printf("turn %d: AI (%d,%d) player (%d,%d), plans %d, tiles %d/%d " +
+                                  "(loads %d, evictions %d), heap %d MB%n",
+                                  turn, aiRow, aiCol, playerRow, playerCol, plans,
+                                  graph.getResidentTiles(), budget, graph.getTileLoads(),
+                                  graph.getTileEvictions(),
+                                  (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+            }
+        }
+        System.out.printf("%s after %d turns in %.1f s%n",
+                          aiRow == playerRow && aiCol == playerCol ? "Caught" : "Not caught",
+                          turn, (System.nanoTime() - start) / 1e9);
+    }
+}
\ No newline at end of file
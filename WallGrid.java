@@ -0,0 +1,48 @@
+/**
+ * WALL GRID - Read-only maze layout that graphs and planners walk
+ * Implemented by PackedGrid (in memory) and MazeFile (memory-mapped).
+ * Direction bits are the PackedGrid constants UP, DOWN, LEFT, RIGHT.
+ */
+public interface WallGrid {
+    
+    int getRows();
+    
+    int getCols();
+    
+    /**
+     * Out-of-bounds cells count as walls
+     */
+    boolean isWall(int row, int col);
+    
+    /**
+     * Open directions out of (row, col) as UP | DOWN | LEFT | RIGHT bits
+     */
+    int getOpenMask(int row, int col);
+    
+    default boolean isOpen(int row, int col) {
+        return !isWall(row, col);
+    }
+    
+    default boolean canMove(int row, int col, int direction) {
+        return (getOpenMask(row, col) & direction) != 0;
+    }
+    
+    /**
+     * 64-bit FNV-1a over the wall bits, row by row
+     * Keys caches (HPA* abstraction, distance tables) to one layout
+     */
+    static long fingerprint(WallGrid grid) {
+        long hash = 0xcbf29ce484222325L;
+        for (int r = 0; r < grid.getRows(); r++) {
+            long word = 0;
+            for (int c = 0; c < grid.getCols(); c++) {
+                if (grid.isWall(r, c)) word |= 1L << (c & 63);
+                if ((c & 63) == 63 || c == grid.getCols() - 1) {
+                    hash = (hash ^ word) * 0x100000001b3L;
+                    word = 0;
+                }
+            }
+        }
+        return hash;
+    }
+}
\ No newline at end of file
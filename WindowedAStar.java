@@ -0,0 +1,117 @@
+/**
+ * WINDOWED A* - Bounded-memory chase planning on any WallGrid
+ * Searches only a (2 * radius + 1)^2 window centered on the start, with
+ * SearchScratch arrays sized to the window rather than the maze, so a
+ * chase across a 100k x 100k TiledMazeGraph needs a few MB of search
+ * state. If the target lies outside the window (or cannot be reached
+ * inside it), the path leads to the settled cell closest to the target
+ * by Manhattan distance, and the caller replans once it gets there.
+ * Like any bounded lookahead it can stall in a dead-end pocket wider
+ * than the window; size the radius to the maze's corridor structure.
+ *
+ * Paths are returned as PackedGrid directions from the start.
+ * Not thread-safe.
+ */
+public class WindowedAStar {
+    
+    private final WallGrid grid;
+    private final int radius;
+    private final int side;
+    private final SearchScratch scratch;
+    private final IntMinHeap open;
+    private int expanded;
+    
+    public WindowedAStar(WallGrid grid, int radius) {
+        this.grid = grid;
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.scratch = new SearchScratch(side * side);
+        this.open = new IntMinHeap(1024);
+    }
+    
+    /**
+     * Moves from (startRow, startCol) toward (targetRow, targetCol)
+     * @return directions to follow; empty when already there or boxed in
+     */
+    public int[] findPath(int startRow, int startCol, int targetRow, int targetCol) {
+        int top = startRow - radius;
+        int left = startCol - radius;
+        int start = radius * side + radius;
+        
+        scratch.begin();
+        open.clear();
+        expanded = 0;
+        scratch.open(start, 0, -1);
+        open.push(distance(startRow, startCol, targetRow, targetCol), start);
+        
+        int best = start;
+        int bestH = distance(startRow, startCol, targetRow, targetCol);
+        
+        while (!open.isEmpty()) {
+            int f = open.peekKey();
+            int cell = open.pop();
+            int row = top + cell / side;
+            int col = left + cell % side;
+            int h = distance(row, col, targetRow, targetCol);
+            if (scratch.isClosed(cell) || f != scratch.getG(cell) + h) continue;
+            scratch.close(cell);
+            expanded++;
+            
+            if (h < bestH) {
+                best = cell;
+                bestH = h;
+            }
+            if (h == 0) break;
+            
+            int mask = grid.getOpenMask(row, col);
+            int nextG = scratch.getG(cell) + 1;
+            if ((mask & PackedGrid.UP) != 0 && row - 1 >= top) {
+                relax(cell - side, nextG, cell, row - 1, col, targetRow, targetCol);
+            }
+            if ((mask & PackedGrid.DOWN) != 0 && row + 1 < top + side) {
+                relax(cell + side, nextG, cell, row + 1, col, targetRow, targetCol);
+            }
+            if ((mask & PackedGrid.LEFT) != 0 && col - 1 >= left) {
+                relax(cell - 1, nextG, cell, row, col - 1, targetRow, targetCol);
+            }
+            if ((mask & PackedGrid.RIGHT) != 0 && col + 1 < left + side) {
+                relax(cell + 1, nextG, cell, row, col + 1, targetRow, targetCol);
+            }
+        }
+        
+        return directions(best);
+    }
+    
+    private void relax(int neighbor, int nextG, int cell, int row, int col,
+                       int targetRow, int targetCol) {
+        if (scratch.isUnseen(neighbor) ||
+            (scratch.isOpen(neighbor) && nextG < scratch.getG(neighbor))) {
+            scratch.open(neighbor, nextG, cell);
+            open.push(nextG + distance(row, col, targetRow, targetCol), neighbor);
+        }
+    }
+    
+    /**
+     * Convert the parent chain ending at cell into directions
+     */
+    private int[] directions(int cell) {
+        int[] path = new int[scratch.getG(cell)];
+        for (int index = path.length - 1; index >= 0; index--) {
+            int from = scratch.getParent(cell);
+            int delta = cell - from;
+            path[index] = delta == -side ? PackedGrid.UP
+                        : delta == side ? PackedGrid.DOWN
+                        : delta == -1 ? PackedGrid.LEFT
+                        : PackedGrid.RIGHT;
+            cell = from;
+        }
+        return path;
+    }
+    
+    private static int distance(int row, int col, int targetRow, int targetCol) {
+        return Math.abs(row - targetRow) + Math.abs(col - targetCol);
+    }
+    
+    public int getExpanded() { return expanded; }
+    public int getRadius() { return radius; }
+}
\ No newline at end of file
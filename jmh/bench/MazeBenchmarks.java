@@ -0,0 +1,57 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MAZE BENCHMARKS - JMH entry point for MazeBenchmark's benchmarks
+ * JMH will not generate benchmarks in the default package the game lives
+ * in, so this class sits in its own package and fetches the op through
+ * MazeBenchmark.prepare() by reflection (default-package classes cannot
+ * be imported). Each @Param pair is one row of MazeBenchmark's report;
+ * any other name from the report can be passed with -p benchmark=...
+ *
+ * Build and run (Maven "jmh" profile):
+ *   mvn -P jmh package
+ *   java -jar target/benchmarks.jar -p benchmark=ai.decide.hard -p maze=gen101
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeBenchmarks {
+    
+    @Param({"graph.build.nodes", "graph.build.compact", "ai.decide.easy", "ai.decide.hard",
+            "paint.mazePanel"})
+    public String benchmark;
+    
+    @Param({"easy", "hard", "gen101"})
+    public String maze;
+    
+    private IntSupplier op;
+    
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        op = (IntSupplier) Class.forName("MazeBenchmark")
+            .getMethod("prepare", String.class, String.class)
+            .invoke(null, benchmark, maze);
+    }
+    
+    @Benchmark
+    public int run() {
+        return op.getAsInt();
+    }
+}
\ No newline at end of file